@@ -44,6 +44,9 @@ void draw() {
 void mouseMoved() {
   quantizedMouse.x = quantize(mouseX, 0, cellSqrt);
   quantizedMouse.y = quantize(mouseY, 0, cellSqrt);
+  
+  //the track keeps a copy of the mouse's coordinates, so its last vertex has to be moved along with the mouse
+  currTrack.setVertex(currTrack.getVertexCount()-1, quantizedMouse);
 }
 
 void mousePressed() {
@@ -0,0 +1,36 @@
+package tests;
+
+/**
+ * Helpers shared by the tests, each of which runs from its own main() method and prints a line per check.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class Checks {
+
+    private Checks() {}
+
+    /**
+     * Prints whether the check of the given name passed.
+     *
+     * @param name The name of the check
+     * @param passed Whether the check passed
+     * @return 1 if the check failed and 0 if it passed, to be added up into a count of failures
+     */
+    public static int check(String name, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name);
+        return passed ? 0 : 1;
+    }
+
+    /**
+     * Tells whether two coordinates are within 0.001 of each other, or within a thousandth of the larger of
+     * the two if that is larger. The batch methods may round differently than the single-point methods.
+     *
+     * @param a A coordinate
+     * @param b Another coordinate
+     * @return Whether they are close enough to count as the same
+     */
+    public static boolean closeEnough(float a, float b) {
+        return Math.abs(a - b) <= 0.001f * Math.max(1, Math.max(Math.abs(a), Math.abs(b)));
+    }
+}
@@ -0,0 +1,79 @@
+package tests.bake;
+
+import processing.core.PApplet;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.BakedPath;
+import tracer.paths.Path;
+
+/**
+ * Bakes each type of Path and checks that the BakedPath traces close to the original, that translating
+ * it moves every point without moving a copy, and that reversing it traces its points, arc lengths
+ * and gaps backward.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class BakedPathTest {
+
+    static int sampleCount = 2000;
+    static float bakeTolerance = 0.05f;
+
+    public static void main(String[] args) {
+        int failures = 0;
+
+        for (Path path : Path.getOneOfEachPathType(100)) {
+            String name = path.getClass().getSimpleName();
+            BakedPath baked = new BakedPath(path, bakeTolerance);
+            Point expected = new Point(0, 0);
+            Point actual = new Point(0, 0);
+
+            boolean close = true;
+            for (int i=0; i<sampleCount; i++) {
+                float u = (float) i / sampleCount;
+                if (path.isGap(u - 0.001f, u + 0.001f)) {
+                    continue;
+                }
+                path.trace(expected, u);
+                baked.trace(actual, u);
+                close &= PApplet.dist(expected.x, expected.y, actual.x, actual.y) <= 2 * bakeTolerance;
+            }
+            failures += Checks.check(name + ", baked", close);
+
+            BakedPath copy = baked.clone();
+            baked.translate(30, -20);
+            boolean translated = true;
+            for (int i=0; i<sampleCount; i++) {
+                float u = (float) i / sampleCount;
+                copy.trace(expected, u);
+                baked.trace(actual, u);
+                translated &= Checks.closeEnough(expected.x + 30, actual.x)
+                        && Checks.closeEnough(expected.y - 20, actual.y);
+            }
+            failures += Checks.check(name + ", translated apart from its copy", translated);
+
+            baked.reverse();
+            boolean reversed = baked.isReversed() && baked.getGapCount() == copy.getGapCount();
+            for (int i=1; i<sampleCount; i++) {
+                float u = (float) i / sampleCount;
+                copy.trace(expected, 1 - u);
+                baked.trace(actual, u);
+                reversed &= Checks.closeEnough(expected.x + 30, actual.x)
+                        && Checks.closeEnough(expected.y - 20, actual.y);
+
+                copy.trace(expected, copy.mapArcLength(1 - u));
+                baked.trace(actual, baked.mapArcLength(u));
+                reversed &= PApplet.dist(expected.x + 30, expected.y - 20, actual.x, actual.y) <= bakeTolerance;
+            }
+            for (int i=0; i<copy.getGapCount(); i++) {
+                float gap = copy.getGap(i);
+                reversed &= baked.isGap((gap == 0) ? 0 : 1 - gap);
+            }
+            failures += Checks.check(name + ", reversed", reversed);
+        }
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
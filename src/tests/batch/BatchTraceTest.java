@@ -0,0 +1,60 @@
+package tests.batch;
+
+import java.util.Random;
+
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Path;
+
+/**
+ * Traces each type of Path in a batch and checks the results against tracing one point at a time,
+ * forward and reversed, with 1D coordinates in order, out of order and outside [0, 1).
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class BatchTraceTest {
+
+    static int sampleCount = 1000;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        float[] us = new float[sampleCount];
+        for (int i=0; i<sampleCount; i++) {
+            us[i] = (i % 3 == 0) ? 3 * random.nextFloat() - 1 : (float) i / sampleCount;
+        }
+
+        int failures = 0;
+        for (Path path : Path.getOneOfEachPathType(100)) {
+            for (int r=0; r<2; r++) {
+                if (r == 1) {
+                    path.reverse();
+                }
+
+                float[] xs = new float[sampleCount];
+                float[] ys = new float[sampleCount];
+                path.trace(us, xs, ys);
+
+                Point pt = new Point(0, 0);
+                boolean passed = true;
+                for (int i=0; i<sampleCount; i++) {
+                    //a Path that traces nothing at u leaves the target as it was, so start from the batch result
+                    pt.x = xs[i];
+                    pt.y = ys[i];
+                    path.trace(pt, us[i]);
+                    passed &= Checks.closeEnough(pt.x, xs[i]) && Checks.closeEnough(pt.y, ys[i]);
+                }
+
+                String name = path.getClass().getSimpleName() + (path.isReversed() ? ", reversed" : "");
+                System.out.println((passed ? "PASS " : "FAIL ") + name);
+                if (!passed) {
+                    failures++;
+                }
+            }
+        }
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
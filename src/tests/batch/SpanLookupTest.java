@@ -0,0 +1,72 @@
+package tests.batch;
+
+import java.util.Random;
+
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Gesture;
+import tracer.paths.Path;
+import tracer.paths.Plot;
+import tracer.paths.Shape;
+
+/**
+ * Traces Shapes, Plots and Gestures, forward and reversed, in a batch with the 1D coordinates in
+ * ascending order, descending order, random order and in small steps that wrap around past 1, and
+ * checks the results against tracing one point at a time. Their batch traces check the span they found
+ * for the last point first, so this covers both that shortcut and the binary search it falls back on.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class SpanLookupTest {
+
+    static int sampleCount = 3000;
+
+    public static void main(String[] args) {
+        int n = sampleCount;
+        Random random = new Random(0);
+        float[][] orders = new float[4][n];
+        String[] orderNames = {"ascending", "descending", "random", "wrapping"};
+        for (int i=0; i<n; i++) {
+            orders[0][i] = (float) i / n;
+            orders[1][i] = (float) (n - 1 - i) / n;
+            orders[2][i] = random.nextFloat();
+            orders[3][i] = 0.9f + 0.0005f * i;
+        }
+
+        int failures = 0;
+        for (Path path : Path.getOneOfEachPathType(100)) {
+            if (!(path instanceof Shape || path instanceof Plot || path instanceof Gesture)) {
+                continue;
+            }
+
+            for (int k=0; k<2*orders.length; k++) {
+                if (k == orders.length) {
+                    path.reverse();
+                }
+                float[] us = orders[k % orders.length];
+                float[] xs = new float[n];
+                float[] ys = new float[n];
+                path.trace(us, xs, ys, n);
+
+                Point pt = new Point(0, 0);
+                boolean passed = true;
+                for (int i=0; i<n; i++) {
+                    path.trace(pt, us[i]);
+                    passed &= Checks.closeEnough(pt.x, xs[i]) && Checks.closeEnough(pt.y, ys[i]);
+                }
+
+                String name = path.getClass().getSimpleName() + ", " + orderNames[k % orders.length]
+                        + (path.isReversed() ? ", reversed" : "");
+                System.out.println((passed ? "PASS " : "FAIL ") + name);
+                if (!passed) {
+                    failures++;
+                }
+            }
+        }
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package tests.batch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import processing.core.PConstants;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Blender;
+import tracer.paths.Circle;
+import tracer.paths.Path;
+import tracer.paths.Rect;
+import tracer.paths.Segment;
+import tracer.paths.TranslatedPath;
+
+/**
+ * Checks that the batch trace of Segments, TranslatedPaths and Blenders, which folds nested
+ * wrappers together, gives the same points as tracing one point at a time, and that so does
+ * the Path that optimize() gives for each.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class WrapperBatchTraceTest {
+
+    static int sampleCount = 1000;
+
+    public static void main(String[] args) {
+        Map<String, Path> paths = new LinkedHashMap<String, Path>();
+        Path rect = new Rect(0, 0, 100, 60, PConstants.CORNER);
+        Path circle = new Circle(50, 50, 40);
+
+        paths.put("Segment", new Segment(rect, 0.2f, 0.7f));
+        paths.put("wrapping Segment", new Segment(rect, 0.8f, 0.3f));
+        paths.put("degenerate Segment", new Segment(rect, 0.4f, 0.4f));
+        paths.put("Segment of a Segment", new Segment(new Segment(rect, 0.1f, 0.6f), 0.2f, 0.7f));
+        paths.put("Segment of a wrapping Segment", new Segment(new Segment(rect, 0.7f, 0.2f), 0.1f, 0.9f));
+        paths.put("wrapping Segment of a Segment", new Segment(new Segment(rect, 0.1f, 0.6f), 0.8f, 0.3f));
+        paths.put("degenerate Segment of a Segment", new Segment(new Segment(rect, 0.1f, 0.6f), 0.5f, 0.5f));
+        paths.put("Segment of a degenerate Segment", new Segment(new Segment(rect, 0.3f, 0.3f), 0.2f, 0.9f));
+        paths.put("TranslatedPath of a TranslatedPath",
+                new TranslatedPath<Path>(10, 20, new TranslatedPath<Path>(-5, 7, circle)));
+
+        for (float blendAmt : new float[] {0, 0.5f, 1}) {
+            Blender<Path, Path> blender = new Blender<Path, Path>(circle, rect, blendAmt, 200);
+            paths.put("Blender at " + blendAmt, blender);
+            Blender<Path, Path> reversed = new Blender<Path, Path>(circle, rect, blendAmt, 200);
+            reversed.reverse();
+            paths.put("reversed Blender at " + blendAmt, reversed);
+        }
+
+        float[] us = new float[sampleCount];
+        for (int i=0; i<sampleCount; i++) {
+            us[i] = (float) i / sampleCount;
+        }
+
+        int failures = 0;
+        for (Map.Entry<String, Path> entry : paths.entrySet()) {
+            Path path = entry.getValue();
+            failures += check(entry.getKey(), path, path, us);
+            failures += check(entry.getKey() + ", optimized", path, path.optimize(), us);
+        }
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Traces the expected Path one point at a time and the actual Path in a batch, and compares the results.
+     */
+    private static int check(String name, Path expected, Path actual, float[] us) {
+        int n = us.length;
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        actual.trace(us, xs, ys, n);
+
+        Point pt = new Point(0, 0);
+        boolean passed = true;
+        for (int i=0; i<n; i++) {
+            expected.trace(pt, us[i]);
+            if (!Checks.closeEnough(pt.x, xs[i]) || !Checks.closeEnough(pt.y, ys[i])) {
+                passed = false;
+                break;
+            }
+        }
+
+        return Checks.check(name, passed);
+    }
+}
@@ -0,0 +1,107 @@
+package tests.caching;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import processing.core.PApplet;
+import processing.core.PConstants;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Circle;
+import tracer.paths.CubicBezier;
+import tracer.paths.Ellipse;
+import tracer.paths.Line;
+import tracer.paths.Path;
+import tracer.paths.Rect;
+
+/**
+ * Checks that traceArcLength(u) gives the point a fraction u of the way along a Path by length, measured
+ * by walking the Path in fine steps, and that it still does once the Path has changed shape, whether
+ * through one of its own methods or through a Point it holds by reference followed by a call to
+ * invalidate(), so the arc-length table is rebuilt. Also checks the batch traceArcLength() against
+ * the single-point one.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class ArcLengthTest {
+
+    static int stepCount = 100;
+    static int walkStepCount = 5000;
+    static float tolerance = 0.01f; //of the length of the Path
+
+    public static void main(String[] args) {
+        Circle circle = new Circle(0, 0, 100);
+        Point control = new Point(300, -200);
+        CubicBezier bezier = new CubicBezier(new Point(0, 0), control, new Point(-100, 300), new Point(50, 50));
+
+        Map<String, Path> paths = new LinkedHashMap<String, Path>();
+        paths.put("Circle", circle);
+        paths.put("Ellipse", new Ellipse(0, 0, 300, 100, PConstants.CENTER));
+        paths.put("CubicBezier", bezier);
+        paths.put("Line", new Line(0, 0, 100, 30));
+        paths.put("Rect", new Rect(0, 0, 100, 60, PConstants.CORNER));
+
+        int failures = 0;
+        for (Map.Entry<String, Path> entry : paths.entrySet()) {
+            failures += check(entry.getKey(), entry.getValue());
+        }
+
+        circle.setRadius(40);
+        failures += check("Circle, after setRadius()", circle);
+
+        control.x = -300;
+        control.y = 400;
+        bezier.invalidate();
+        failures += check("CubicBezier, after moving a control point", bezier);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int check(String name, Path path) {
+        float length = walk(path, Path.ALMOST_ONE);
+        float[] us = new float[stepCount];
+        for (int i=0; i<stepCount; i++) {
+            us[i] = (float) i / stepCount;
+        }
+        float[] xs = new float[stepCount];
+        float[] ys = new float[stepCount];
+        path.traceArcLength(us, xs, ys, stepCount);
+
+        boolean proportional = true;
+        boolean batchMatches = true;
+        Point pt = new Point(0, 0);
+        Point mapped = new Point(0, 0);
+        for (int i=0; i<stepCount; i++) {
+            path.traceArcLength(pt, us[i]);
+            batchMatches &= Math.abs(pt.x - xs[i]) <= 0.01f && Math.abs(pt.y - ys[i]) <= 0.01f;
+
+            float v = path.mapArcLength(us[i]);
+            path.trace(mapped, v);
+            proportional &= PApplet.dist(pt.x, pt.y, mapped.x, mapped.y) <= 0.01f
+                    && Math.abs(walk(path, v) - us[i] * length) <= tolerance * length;
+        }
+
+        boolean passed = proportional && batchMatches;
+        return Checks.check(name, passed);
+    }
+
+    /**
+     * Measures the length of the Path from 0 to v by summing the distances between many closely spaced points.
+     */
+    private static float walk(Path path, float v) {
+        int n = (int) Math.ceil(v * walkStepCount);
+        Point prev = path.trace(0);
+        Point pt = new Point(0, 0);
+        float length = 0;
+        for (int i=1; i<=n; i++) {
+            path.trace(pt, Math.min(v, (float) i / walkStepCount));
+            length += PApplet.dist(prev.x, prev.y, pt.x, pt.y);
+            prev.x = pt.x;
+            prev.y = pt.y;
+        }
+        return length;
+    }
+}
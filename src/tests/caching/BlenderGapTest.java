@@ -0,0 +1,71 @@
+package tests.caching;
+
+import tests.Checks;
+import tracer.paths.Blender;
+import tracer.paths.MultiShape;
+
+/**
+ * Blends two MultiShapes with gaps in different places and checks that the Blender has a gap wherever
+ * either of them does, without repeats, forward and reversed. Then gives one of the MultiShapes another
+ * gap, and replaces it with setB(), and checks that the Blender's gaps follow.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class BlenderGapTest {
+
+    public static void main(String[] args) {
+        MultiShape a = pieces(3);
+        MultiShape b = pieces(2);
+        Blender<MultiShape, MultiShape> blender = new Blender<MultiShape, MultiShape>(a, b, 0.5f);
+
+        int failures = 0;
+        failures += Checks.check("Gaps of both", hasGaps(blender, 0, 1 / 3f, 0.5f, 2 / 3f));
+
+        //a third piece twice as long as the others puts b's gaps at 0, 0.25 and 0.5
+        b.addGap();
+        b.addVertex(0, 100);
+        b.addVertex(20, 100);
+        failures += Checks.check("Gaps, after a gap is added", hasGaps(blender, 0, 0.25f, 1 / 3f, 0.5f, 2 / 3f));
+
+        blender.reverse();
+        failures += Checks.check("Gaps, reversed", hasGaps(blender, 0, 1 / 3f, 0.5f, 2 / 3f, 0.75f));
+        blender.reverse();
+
+        blender.setB(pieces(4));
+        failures += Checks.check("Gaps, after setB()", hasGaps(blender, 0, 0.25f, 1 / 3f, 0.5f, 2 / 3f, 0.75f));
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Makes a MultiShape of the given number of horizontal pieces, each 10 long, so that its gaps
+     * fall at 0, 1/n, 2/n and so on.
+     */
+    private static MultiShape pieces(int n) {
+        MultiShape multiShape = new MultiShape();
+        for (int i=0; i<n; i++) {
+            if (i > 0) {
+                multiShape.addGap();
+            }
+            multiShape.addVertex(0, 10 * i);
+            multiShape.addVertex(10, 10 * i);
+        }
+        return multiShape;
+    }
+
+    private static boolean hasGaps(Blender<MultiShape, MultiShape> blender, float... gaps) {
+        if (blender.getGapCount() != gaps.length || blender.isGap(0.1f)) {
+            return false;
+        }
+        for (int i=0; i<gaps.length; i++) {
+            float gap = blender.getGap(i);
+            if (Math.abs(gap - gaps[i]) > 0.0001f || !blender.isGap(gap)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,109 @@
+package tests.caching;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import processing.core.PConstants;
+import processing.core.PGraphics;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Blender;
+import tracer.paths.Circle;
+import tracer.paths.Path;
+import tracer.paths.Rect;
+
+/**
+ * Draws a Blender with its morph cache on, replaces one of the Paths it blends with setA() and setB(),
+ * and checks that every vertex it then draws lies on the Path that it traces. Then blends two Circles
+ * that share a center and moves the center without calling invalidate(), and checks the same of a
+ * Blender with its morph cache off.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class BlenderSetPathTest {
+
+    static int traceCount = 20000;
+    static float tolerance = 0.5f;
+
+    public static void main(String[] args) {
+        final List<float[]> drawn = new ArrayList<float[]>();
+        PGraphics g = new PGraphics() {
+            @Override
+            public void vertex(float x, float y) {
+                drawn.add(new float[] {x, y});
+            }
+
+            @Override
+            public void vertex(float[] v) {
+                vertex(v[0], v[1]);
+            }
+
+            @Override
+            public void beginShape(int kind) {}
+
+            @Override
+            public void endShape(int mode) {}
+        };
+
+        //the new Paths are made first, so they are no newer than the ones they replace
+        Path newA = new Circle(300, 100, 80);
+        Path newB = new Rect(250, 250, 40, 40, PConstants.CORNER);
+        newA.setSampleCount(200);
+        newB.setSampleCount(200);
+
+        Blender<Path, Path> blender = new Blender<Path, Path>(new Circle(100, 100, 50),
+                new Rect(50, 50, 100, 100, PConstants.CORNER), 0.5f, 200);
+        blender.setMorphCached(true);
+        blender.draw(g);
+
+        int failures = 0;
+
+        blender.setA(newA);
+        drawn.clear();
+        blender.draw(g);
+        failures += check("setA", blender, drawn);
+
+        blender.setB(newB);
+        drawn.clear();
+        blender.draw(g);
+        failures += check("setB", blender, drawn);
+
+        Point center = new Point(0, 0);
+        Blender<Circle, Circle> circles = new Blender<Circle, Circle>(new Circle(center, 10), new Circle(center, 20),
+                0.5f, 200);
+        circles.draw(g);
+        center.x = 100;
+        center.y = 100;
+        drawn.clear();
+        circles.draw(g);
+        failures += check("Shared center moved, morph cache off", circles, drawn);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int check(String name, Path path, List<float[]> drawn) {
+        float[] xs = new float[traceCount];
+        float[] ys = new float[traceCount];
+        Point pt = new Point(0, 0);
+        for (int i=0; i<traceCount; i++) {
+            path.trace(pt, (float) i / traceCount);
+            xs[i] = pt.x;
+            ys[i] = pt.y;
+        }
+
+        float maxDist = 0;
+        for (float[] v : drawn) {
+            float minDist = Float.MAX_VALUE;
+            for (int i=0; i<traceCount; i++) {
+                minDist = Math.min(minDist, Math.abs(xs[i] - v[0]) + Math.abs(ys[i] - v[1]));
+            }
+            maxDist = Math.max(maxDist, minDist);
+        }
+
+        boolean passed = !drawn.isEmpty() && maxDist <= tolerance;
+        return Checks.check(name + " (max distance " + maxDist + ")", passed);
+    }
+}
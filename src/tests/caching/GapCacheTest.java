@@ -0,0 +1,102 @@
+package tests.caching;
+
+import java.util.Random;
+
+import tests.Checks;
+import tracer.paths.Composite;
+import tracer.paths.MultiShape;
+import tracer.paths.Path;
+
+/**
+ * Checks each type of Path, forward and reversed, for gaps in ascending order that isGap(u) and
+ * isGap(u1, u2) agree with, and checks that a Composite's gaps are scaled into the halves its Paths are
+ * traced over and are listed again when a Path within it gains a gap.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class GapCacheTest {
+
+    static int sampleCount = 1000;
+
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        int failures = 0;
+
+        for (Path path : Path.getOneOfEachPathType(100)) {
+            for (int r=0; r<2; r++) {
+                if (r == 1) {
+                    path.reverse();
+                }
+                String name = path.getClass().getSimpleName() + (path.isReversed() ? ", reversed" : "");
+                failures += Checks.check(name, agrees(path, random));
+            }
+        }
+
+        MultiShape a = new MultiShape();
+        a.addVertex(0, 0);
+        a.addVertex(10, 0);
+        a.addGap();
+        a.addVertex(0, 10);
+        a.addVertex(30, 10);
+        MultiShape b = new MultiShape();
+        b.addVertex(0, 20);
+        b.addVertex(10, 20);
+        Composite<MultiShape, MultiShape> composite = new Composite<MultiShape, MultiShape>(a, b);
+        failures += Checks.check("Composite", hasGaps(composite, 0, 0.125f, 0.5f));
+
+        b.addGap();
+        b.addVertex(0, 30);
+        b.addVertex(10, 30);
+        failures += Checks.check("Composite, after a Path within it gains a gap",
+                hasGaps(composite, 0, 0.125f, 0.5f, 0.75f) && agrees(composite, random));
+
+        composite.reverse();
+        failures += Checks.check("Composite, reversed", hasGaps(composite, 0, 0.25f, 0.5f, 0.875f)
+                && agrees(composite, random));
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean hasGaps(Path path, float... gaps) {
+        if (path.getGapCount() != gaps.length) {
+            return false;
+        }
+        for (int i=0; i<gaps.length; i++) {
+            if (Math.abs(path.getGap(i) - gaps[i]) > 0.0001f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the gaps are in ascending order and within [0, 1), and that isGap() finds exactly
+     * those gaps, comparing isGap(u1, u2) with a search through every gap for random ranges.
+     */
+    private static boolean agrees(Path path, Random random) {
+        int gapCount = path.getGapCount();
+        float[] gaps = new float[gapCount];
+        for (int i=0; i<gapCount; i++) {
+            gaps[i] = path.getGap(i);
+            if (gaps[i] < 0 || gaps[i] >= 1 || (i > 0 && gaps[i] <= gaps[i-1]) || !path.isGap(gaps[i])) {
+                return false;
+            }
+        }
+
+        for (int k=0; k<sampleCount; k++) {
+            float u1 = random.nextFloat();
+            float u2 = u1 + (1 - u1) * random.nextFloat();
+            boolean expected = false;
+            for (float gap : gaps) {
+                expected |= (u1 < gap && gap < u2);
+            }
+            if (path.isGap(u1, u2) != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
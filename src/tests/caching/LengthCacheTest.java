@@ -0,0 +1,87 @@
+package tests.caching;
+
+import processing.core.PApplet;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Circle;
+import tracer.paths.Composite;
+import tracer.paths.Line;
+import tracer.paths.Path;
+import tracer.paths.Segment;
+import tracer.paths.Shape;
+
+/**
+ * Checks that getLength() is remembered until a Path changes and is measured again after: when the Path
+ * is changed through its own methods, when a Path within it changes, and when a Point it holds by reference
+ * is moved and invalidate() is called. Translating or reversing a Path keeps its length.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class LengthCacheTest {
+
+    public static void main(String[] args) {
+        int failures = 0;
+
+        for (Path path : Path.getOneOfEachPathType(100)) {
+            String name = path.getClass().getSimpleName();
+            float length = path.getLength();
+            long version = path.getVersion();
+            failures += Checks.check(name + ", remembered", path.getLength() == length && path.getVersion() == version);
+
+            path.translate(20, -10);
+            failures += Checks.check(name + ", translated", path.getVersion() != version
+                    && Math.abs(path.getLength() - length) <= 0.01f * length);
+
+            path.reverse();
+            failures += Checks.check(name + ", reversed", Math.abs(path.getLength() - length) <= 0.01f * length);
+        }
+
+        Circle circle = new Circle(0, 0, 10);
+        float circleLength = circle.getLength();
+        circle.setRadius(20);
+        failures += Checks.check("Circle, after setRadius()", closeTo(circle.getLength(), 2 * circleLength));
+
+        Segment segment = new Segment(circle, 0, 0.5f);
+        float segmentLength = segment.getLength();
+        circle.setRadius(40);
+        failures += Checks.check("Segment, after its parent changes", closeTo(segment.getLength(), 2 * segmentLength));
+
+        Line line = new Line(0, 0, 10, 0);
+        Composite<Path, Path> composite = new Composite<Path, Path>(line, new Line(0, 0, 0, 10));
+        float compositeLength = composite.getLength();
+        line.setB(new Point(30, 0));
+        //a Composite's length is measured from samples, so compare it with a new one sampled the same way
+        Composite<Path, Path> expected = new Composite<Path, Path>(new Line(0, 0, 30, 0), new Line(0, 0, 0, 10));
+        expected.setSampleCount(composite.getSampleCount());
+        failures += Checks.check("Composite, after a Path within it changes", composite.getLength() != compositeLength
+                && closeTo(composite.getLength(), expected.getLength()));
+
+        Point end = new Point(10, 0);
+        Line shared = new Line(new Point(0, 0), end);
+        float sharedLength = shared.getLength();
+        end.x = 50;
+        shared.invalidate();
+        failures += Checks.check("Line, after its shared end Point moves",
+                closeTo(shared.getLength(), 5 * sharedLength));
+
+        Shape shape = new Shape();
+        shape.addVertex(0, 0);
+        shape.addVertex(10, 0);
+        float shapeLength = shape.getLength();
+        shape.addVertex(10, 10);
+        failures += Checks.check("Shape, after addVertex()", closeTo(shape.getLength(), 2 * shapeLength));
+        shape.setVertex(2, 10, 30);
+        failures += Checks.check("Shape, after setVertex()", closeTo(shape.getLength(), 4 * shapeLength));
+        shape.removeVertex(2);
+        failures += Checks.check("Shape, after removeVertex()", closeTo(shape.getLength(), shapeLength));
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean closeTo(float a, float b) {
+        return PApplet.abs(a - b) <= 0.01f * PApplet.max(a, b);
+    }
+}
@@ -0,0 +1,84 @@
+package tests.caching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import processing.core.PApplet;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Blender;
+import tracer.paths.Line;
+import tracer.paths.MultiComposite;
+import tracer.paths.MultiPath;
+import tracer.paths.Path;
+import tracer.paths.Shape;
+import tracer.paths.TranslatedPath;
+
+/**
+ * Nests a Line several Paths deep, among many others, changes it, and checks that the Path at the top
+ * takes a new version and measures its bounds again. Also checks that a Path taken out of a MultiPath,
+ * or replaced in a Blender, no longer changes the version of the Path it was taken out of, and that
+ * MultiPath.updateLength() traces a MultiPath as if it had been made from its Paths afresh.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class ParentVersionTest {
+
+    static int pathCount = 1000;
+
+    public static void main(String[] args) {
+        Line leaf = new Line(0, 0, 10, 0);
+        MultiPath multiPath = new MultiPath();
+        for (int i=0; i<pathCount; i++) {
+            multiPath.add(new Line(0, i, 10, i));
+        }
+        multiPath.add(new TranslatedPath<Line>(0, 0, leaf));
+        MultiComposite<Path> multiComposite = new MultiComposite<Path>(Arrays.asList(multiPath, new Line(0, 0, 1, 1)));
+        Blender<Path, Line> top = new Blender<Path, Line>(multiComposite, new Line(0, 0, 10, 10), 0);
+
+        int failures = 0;
+
+        float right = top.getBounds().getX2();
+        long version = top.getVersion();
+        leaf.translate(5000, 0);
+        float movedRight = top.getBounds().getX2();
+        failures += Checks.check("Nested Path changed", top.getVersion() != version && right < 100
+                && movedRight >= 5000);
+
+        Line removed = new Line(0, 0, 1, 0);
+        multiPath.add(removed);
+        multiPath.remove(removed);
+        version = multiPath.getVersion();
+        removed.translate(1, 1);
+        failures += Checks.check("Removed Path changed", multiPath.getVersion() == version);
+
+        Line a = new Line(0, 0, 1, 0);
+        Blender<Line, Line> blender = new Blender<Line, Line>(a, new Line(0, 1, 1, 1), 0.5f);
+        blender.setA(new Line(0, 2, 1, 2));
+        version = blender.getVersion();
+        a.translate(1, 1);
+        failures += Checks.check("Replaced Path changed", blender.getVersion() == version);
+
+        List<Path> shapes = new ArrayList<Path>();
+        for (int i=0; i<10; i++) {
+            shapes.add(new Shape(new float[] {0, 10}, new float[] {i, i}));
+        }
+        MultiPath updated = new MultiPath(shapes);
+        ((Shape) shapes.get(3)).addVertex(10, 100);
+        updated.updateLength(3);
+        MultiPath fresh = new MultiPath(shapes);
+        boolean same = updated.getLength() == fresh.getLength();
+        for (int i=0; i<100; i++) {
+            Point p = updated.trace(i / 100f);
+            Point q = fresh.trace(i / 100f);
+            same &= PApplet.dist(p.x, p.y, q.x, q.y) < 0.001f;
+        }
+        failures += Checks.check("updateLength()", same);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package tests.caching;
+
+import processing.core.PGraphics;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Circle;
+import tracer.paths.Path;
+
+/**
+ * Moves a Circle on screen by changing the center Point it shares, without calling invalidate(),
+ * and checks that Path.draw() still draws it, and that Path.drawVisible() draws it once it is invalidated
+ * and culls it once it is moved off screen.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class SharedPointDrawTest {
+
+    public static void main(String[] args) {
+        final int[] drawCount = {0};
+        PGraphics g = new PGraphics() {
+            @Override
+            public float screenX(float x, float y) {
+                return x;
+            }
+
+            @Override
+            public float screenY(float x, float y) {
+                return y;
+            }
+
+            @Override
+            public void ellipse(float a, float b, float c, float d) {
+                drawCount[0]++;
+            }
+        };
+        g.setSize(200, 200);
+
+        Point center = new Point(-1000, -1000);
+        Path[] paths = {new Circle(center, 10)};
+        paths[0].getBounds();
+        center.x = 100;
+        center.y = 100;
+
+        int failures = 0;
+
+        drawCount[0] = 0;
+        Path.draw(paths, g);
+        failures += Checks.check("draw() with a stale bounding box", drawCount[0] == 1);
+
+        paths[0].invalidate();
+        drawCount[0] = 0;
+        Path.drawVisible(paths, g);
+        failures += Checks.check("drawVisible() after invalidate()", drawCount[0] == 1);
+
+        paths[0].translate(1000, 0);
+        drawCount[0] = 0;
+        Path.drawVisible(paths, g);
+        failures += Checks.check("drawVisible() off screen", drawCount[0] == 0);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
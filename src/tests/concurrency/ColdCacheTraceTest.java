@@ -0,0 +1,180 @@
+package tests.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.MultiShape;
+import tracer.paths.Path;
+
+/**
+ * Like ConcurrentTraceTest, but every thread starts on a freshly made Path at once, so the threads race
+ * to fill its caches: its length, arc-length table, gaps and, for a MultiShape that vertices were just
+ * streamed into, the length of its last Shape. Each thread traces, traces by arc length and lists the
+ * gaps, and the results are checked against those of the same Path, measured again on one thread
+ * once its caches are full.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class ColdCacheTraceTest {
+
+    static int threadCount = 8;
+    static int sampleCount = 500;
+    static int rounds = 20;
+
+    public static void main(String[] args) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final float[] us = new float[sampleCount];
+        for (int i=0; i<sampleCount; i++) {
+            us[i] = (float) i / sampleCount;
+        }
+
+        String[] names = null;
+        boolean[] passed = null;
+
+        try {
+            for (int r=0; r<rounds; r++) {
+                Path[] paths = makePaths();
+                if (passed == null) {
+                    names = new String[paths.length];
+                    passed = new boolean[paths.length];
+                    for (int k=0; k<paths.length; k++) {
+                        names[k] = paths[k].getClass().getSimpleName();
+                        passed[k] = true;
+                    }
+                }
+
+                for (int k=0; k<paths.length; k++) {
+                    final Path path = paths[k];
+                    final CountDownLatch start = new CountDownLatch(1);
+                    List<Future<Result>> results = new ArrayList<Future<Result>>();
+                    for (int t=0; t<threadCount; t++) {
+                        final boolean batch = (t % 2 == 0);
+                        results.add(executor.submit(new Callable<Result>() {
+                            @Override
+                            public Result call() throws InterruptedException {
+                                start.await();
+                                return new Result(path, us, batch);
+                            }
+                        }));
+                    }
+                    start.countDown();
+
+                    //some Paths are made with random parameters, so the reference output is from the same Path
+                    List<Result> actual = new ArrayList<Result>();
+                    for (Future<Result> result : results) {
+                        actual.add(result.get());
+                    }
+                    Result expected = new Result(path, us, false);
+                    for (Result result : actual) {
+                        passed[k] &= result.matches(expected);
+                    }
+                }
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        int failures = 0;
+        for (int k=0; k<names.length; k++) {
+            System.out.println((passed[k] ? "PASS " : "FAIL ") + names[k]);
+            if (!passed[k]) {
+                failures++;
+            }
+        }
+
+        if (failures > 0) {
+            System.out.println(failures + " Path type(s) gave different results when first measured concurrently.");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Makes one of each type of Path, and a MultiShape whose last Shape hasn't been measured yet.
+     */
+    private static Path[] makePaths() {
+        Path[] paths = Path.getOneOfEachPathType(100);
+        Path[] withStreamed = new Path[paths.length + 1];
+        System.arraycopy(paths, 0, withStreamed, 0, paths.length);
+
+        MultiShape streamed = new MultiShape();
+        for (int s=0; s<3; s++) {
+            for (int i=0; i<200; i++) {
+                streamed.addVertex(100 * s + i % 50, 10 * (i / 50) + (i % 7));
+            }
+            streamed.addGap();
+        }
+        for (int i=0; i<200; i++) {
+            streamed.addVertex(i, 300 - i);
+        }
+        withStreamed[paths.length] = streamed;
+        return withStreamed;
+    }
+
+    /**
+     * What one thread measured of a Path.
+     */
+    private static class Result {
+        final float[] xs, ys;
+        final float[] arcXs, arcYs;
+        final float length;
+        final float[] gaps;
+
+        Result(Path path, float[] us, boolean batch) {
+            int n = us.length;
+            xs = new float[n];
+            ys = new float[n];
+            arcXs = new float[n];
+            arcYs = new float[n];
+            Point pt = new Point(0, 0);
+
+            if (batch) {
+                path.traceArcLength(us, arcXs, arcYs, n);
+                path.trace(us, xs, ys);
+            }
+            else {
+                for (int i=0; i<n; i++) {
+                    path.traceArcLength(pt, us[i]);
+                    arcXs[i] = pt.x;
+                    arcYs[i] = pt.y;
+                    path.trace(pt, us[i]);
+                    xs[i] = pt.x;
+                    ys[i] = pt.y;
+                }
+            }
+
+            gaps = new float[path.getGapCount()];
+            for (int i=0; i<gaps.length; i++) {
+                gaps[i] = path.getGap(i);
+            }
+            length = path.getLength();
+        }
+
+        boolean matches(Result other) {
+            if (length != other.length || gaps.length != other.gaps.length) {
+                return false;
+            }
+            for (int i=0; i<gaps.length; i++) {
+                if (gaps[i] != other.gaps[i]) {
+                    return false;
+                }
+            }
+            for (int i=0; i<xs.length; i++) {
+                if (!Checks.closeEnough(xs[i], other.xs[i]) || !Checks.closeEnough(ys[i], other.ys[i])
+                        || !Checks.closeEnough(arcXs[i], other.arcXs[i])
+                        || !Checks.closeEnough(arcYs[i], other.arcYs[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package tests.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Path;
+
+/**
+ * Traces each type of Path from many threads at once and checks the results against
+ * single-threaded output.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class ConcurrentTraceTest {
+
+    static int threadCount = 8;
+    static int sampleCount = 2000;
+    static int repetitions = 50;
+
+    public static void main(String[] args) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        int failures = 0;
+
+        try {
+            for (final Path path : Path.getOneOfEachPathType(100)) {
+                final float[] us = new float[sampleCount];
+                for (int i=0; i<sampleCount; i++) {
+                    us[i] = (float) i / sampleCount;
+                }
+
+                //single-threaded reference output
+                final float[] expectedXs = new float[sampleCount];
+                final float[] expectedYs = new float[sampleCount];
+                Point pt = new Point(0, 0);
+                for (int i=0; i<sampleCount; i++) {
+                    path.trace(pt, us[i]);
+                    expectedXs[i] = pt.x;
+                    expectedYs[i] = pt.y;
+                }
+                final float expectedLength = path.getLength();
+
+                List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+                for (int t=0; t<threadCount; t++) {
+                    final boolean batch = (t % 2 == 0);
+                    results.add(executor.submit(new Callable<Boolean>() {
+                        @Override
+                        public Boolean call() {
+                            return traceRepeatedly(path, us, expectedXs, expectedYs, expectedLength, batch);
+                        }
+                    }));
+                }
+
+                boolean passed = true;
+                for (Future<Boolean> result : results) {
+                    passed &= result.get();
+                }
+
+                System.out.println((passed ? "PASS " : "FAIL ") + path.getClass().getSimpleName());
+                if (!passed) {
+                    failures++;
+                }
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        if (failures > 0) {
+            System.out.println(failures + " Path type(s) gave different results when traced concurrently.");
+            System.exit(1);
+        }
+    }
+
+    private static boolean traceRepeatedly(Path path, float[] us, float[] expectedXs, float[] expectedYs,
+            float expectedLength, boolean batch) {
+        float[] xs = new float[us.length];
+        float[] ys = new float[us.length];
+        Point pt = new Point(0, 0);
+
+        for (int r=0; r<repetitions; r++) {
+            if (batch) {
+                path.trace(us, xs, ys);
+            }
+            else {
+                for (int i=0; i<us.length; i++) {
+                    path.trace(pt, us[i]);
+                    xs[i] = pt.x;
+                    ys[i] = pt.y;
+                }
+            }
+
+            for (int i=0; i<us.length; i++) {
+                if (!Checks.closeEnough(xs[i], expectedXs[i]) || !Checks.closeEnough(ys[i], expectedYs[i])) {
+                    return false;
+                }
+            }
+
+            if (path.getLength() != expectedLength) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,155 @@
+package tests.draw;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import processing.core.PGraphics;
+import processing.data.FloatList;
+import tracer.Point;
+import tracer.paths.Path;
+
+/**
+ * Draws each type of Path, forward and reversed, with evenly spaced samples and with a tolerance,
+ * and checks that every vertex drawn lies on the traced Path. With a tolerance, also checks that
+ * every point traced lies near what was drawn. Paths that draw themselves with Processing's own
+ * shapes, such as ellipse(), draw no vertices, so there is nothing to check for them.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class DrawTraceTest {
+
+    static int traceCount = 5000;
+    static float tracesPerUnitLength = 2;
+    static float tolerance = 0.25f;
+    static float onPath = 0.05f; //how far a vertex may lie from the finely traced Path
+
+    public static void main(String[] args) {
+        final List<FloatList> pieces = new ArrayList<FloatList>();
+        PGraphics g = new PGraphics() {
+            @Override
+            public void beginShape(int kind) {
+                pieces.add(new FloatList());
+            }
+
+            @Override
+            public void rect(float a, float b, float c, float d) {}
+
+            @Override
+            public void ellipse(float a, float b, float c, float d) {}
+
+            @Override
+            public void arc(float a, float b, float c, float d, float start, float stop) {}
+
+            @Override
+            public void bezier(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4) {}
+
+            @Override
+            public void vertex(float x, float y) {
+                FloatList piece = pieces.get(pieces.size() - 1);
+                piece.append(x);
+                piece.append(y);
+            }
+
+            @Override
+            public float screenX(float x, float y) {
+                return x;
+            }
+
+            @Override
+            public float screenY(float x, float y) {
+                return y;
+            }
+        };
+        g.setSize(200, 200);
+
+        int failures = 0;
+        for (Path path : Path.getOneOfEachPathType(100)) {
+            for (int k=0; k<4; k++) {
+                if (k == 2) {
+                    path.reverse();
+                }
+                boolean adaptive = (k % 2 == 1);
+                path.setTolerance(adaptive ? tolerance : 0);
+
+                //trace finely, keeping each unbroken piece of the Path apart, clear of the gaps as drawing does,
+                //and right up to the end of the Path, which can move quickly near 1
+                List<FloatList> traced = new ArrayList<FloatList>();
+                float length = path.getLength();
+                Point pt = new Point(0, 0);
+                int gapCount = path.getGapCount();
+                for (int j=0; j<=gapCount; j++) {
+                    float start = (j == 0 || path.getGap(j-1) == 0) ? 0 : path.getGap(j-1) + 0.00001f;
+                    float end = (j == gapCount) ? Math.nextDown(1f) : path.getGap(j) - 0.00001f;
+                    if (end <= start) {
+                        continue;
+                    }
+                    FloatList piece = new FloatList();
+                    int n = 2 + (int) (Math.max(traceCount, tracesPerUnitLength * length) * (end - start));
+                    for (int i=0; i<n; i++) {
+                        path.trace(pt, start + (end - start) * i / (n - 1));
+                        piece.append(pt.x);
+                        piece.append(pt.y);
+                    }
+                    traced.add(piece);
+                }
+
+                pieces.clear();
+                path.draw(g);
+
+                boolean passed = true;
+                boolean drewVertices = false;
+                for (FloatList piece : pieces) {
+                    for (int i=0; i<piece.size(); i+=2) {
+                        drewVertices = true;
+                        passed &= distance(piece.get(i), piece.get(i+1), traced) <= onPath;
+                    }
+                }
+                if (adaptive && drewVertices) {
+                    for (FloatList piece : traced) {
+                        for (int i=0; i<piece.size(); i+=2) {
+                            passed &= distance(piece.get(i), piece.get(i+1), pieces) <= tolerance + onPath;
+                        }
+                    }
+                }
+
+                String name = path.getClass().getSimpleName() + (adaptive ? ", with a tolerance" : "")
+                        + (path.isReversed() ? ", reversed" : "");
+                System.out.println((passed ? "PASS " : "FAIL ") + name);
+                if (!passed) {
+                    failures++;
+                }
+            }
+        }
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Gives the distance from (x, y) to the nearest of the polylines, each given as x- and y-coordinates in turn.
+     */
+    private static float distance(float x, float y, List<FloatList> polylines) {
+        float nearest = Float.MAX_VALUE;
+        for (FloatList polyline : polylines) {
+            if (polyline.size() == 2) {
+                nearest = Math.min(nearest, (float) Math.hypot(x - polyline.get(0), y - polyline.get(1)));
+            }
+            for (int i=2; i<polyline.size(); i+=2) {
+                nearest = Math.min(nearest, distanceToLine(x, y,
+                        polyline.get(i-2), polyline.get(i-1), polyline.get(i), polyline.get(i+1)));
+            }
+        }
+        return nearest;
+    }
+
+    private static float distanceToLine(float x, float y, float x1, float y1, float x2, float y2) {
+        float dx = x2 - x1;
+        float dy = y2 - y1;
+        float lengthSq = dx * dx + dy * dy;
+        float t = (lengthSq == 0) ? 0 : ((x - x1) * dx + (y - y1) * dy) / lengthSq;
+        t = Math.max(0, Math.min(1, t));
+        return (float) Math.hypot(x - (x1 + t * dx), y - (y1 + t * dy));
+    }
+}
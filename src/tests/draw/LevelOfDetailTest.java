@@ -0,0 +1,97 @@
+package tests.draw;
+
+import processing.core.PGraphics;
+import tests.Checks;
+import tracer.paths.Circle;
+import tracer.paths.Path;
+import tracer.paths.Superellipse;
+
+/**
+ * Draws Paths in level-of-detail mode at shrinking scales, and checks that they are drawn with fewer
+ * samples as they shrink, as a single point once smaller than a pixel, and not at all if they have
+ * no stroke then, while a Path not in level-of-detail mode is drawn the same at every scale.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class LevelOfDetailTest {
+
+    public static void main(String[] args) {
+        final float[] scale = {1};
+        final int[] counts = new int[3]; //vertices, points and ellipses drawn
+        PGraphics g = new PGraphics() {
+            @Override
+            public void vertex(float x, float y) {
+                counts[0]++;
+            }
+
+            @Override
+            public void point(float x, float y) {
+                counts[1]++;
+            }
+
+            @Override
+            public void ellipse(float a, float b, float c, float d) {
+                counts[2]++;
+            }
+
+            @Override
+            public float screenX(float x, float y) {
+                return scale[0] * x;
+            }
+
+            @Override
+            public float screenY(float x, float y) {
+                return scale[0] * y;
+            }
+        };
+        g.setSize(200, 200);
+
+        Superellipse detailed = new Superellipse(0, 0, 50);
+        Superellipse plain = new Superellipse(0, 0, 50);
+        Circle circle = new Circle(0, 0, 50);
+        detailed.setLevelOfDetail(true);
+        circle.setLevelOfDetail(true);
+        Path[] circles = {circle};
+
+        int failures = 0;
+
+        int[] full = draw(detailed, g, scale, 1, counts);
+        int[] small = draw(detailed, g, scale, 0.05f, counts);
+        int[] tiny = draw(detailed, g, scale, 0.001f, counts);
+        failures += Checks.check("Superellipse, drawn at full size", full[0] == detailed.getSampleCount() + 1);
+        failures += Checks.check("Superellipse, drawn small", 3 < small[0] && small[0] < full[0]);
+        failures += Checks.check("Superellipse, drawn smaller than a pixel", tiny[0] == 0 && tiny[1] == 1);
+
+        int[] plainTiny = draw(plain, g, scale, 0.001f, counts);
+        failures += Checks.check("Superellipse, not in level-of-detail mode", plainTiny[0] == full[0]
+                && plainTiny[1] == 0);
+
+        detailed.setStroke(false);
+        int[] unstroked = draw(detailed, g, scale, 0.001f, counts);
+        failures += Checks.check("Superellipse, smaller than a pixel without a stroke", unstroked[0] == 0
+                && unstroked[1] == 0);
+
+        scale[0] = 1;
+        counts[1] = counts[2] = 0;
+        Path.draw(circles, g);
+        failures += Checks.check("Circle, drawn with Path.draw()", counts[2] == 1 && counts[1] == 0);
+
+        scale[0] = 0.001f;
+        counts[1] = counts[2] = 0;
+        Path.draw(circles, g);
+        failures += Checks.check("Circle, drawn smaller than a pixel with Path.draw()", counts[2] == 0
+                && counts[1] == 1);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int[] draw(Path path, PGraphics g, float[] scale, float s, int[] counts) {
+        scale[0] = s;
+        counts[0] = counts[1] = counts[2] = 0;
+        path.draw(g);
+        return counts.clone();
+    }
+}
@@ -0,0 +1,100 @@
+package tests.draw;
+
+import processing.core.PConstants;
+import processing.core.PGraphics;
+import processing.core.PShape;
+import processing.data.FloatList;
+import tracer.paths.Path;
+
+/**
+ * Draws each type of Path in retained mode and checks that it is tessellated only once while it stays
+ * the same, and again once it moves, once its style changes or when it is drawn to another PGraphics.
+ * After a move, the vertices drawn must have moved with it.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class RetainedDrawTest {
+
+    public static void main(String[] args) {
+        final int[] tessellations = {0};
+        final FloatList drawn = new FloatList();
+        PGraphics g = new PGraphics() {
+            @Override
+            public PShape createShape(int type) {
+                if (type == PConstants.GROUP) {
+                    tessellations[0]++;
+                }
+                return super.createShape(type);
+            }
+
+            @Override
+            public void vertex(float x, float y) {
+                drawn.append(x);
+                drawn.append(y);
+            }
+
+            @Override
+            public void vertex(float[] v) {
+                vertex(v[X], v[Y]);
+            }
+
+            @Override
+            public void arc(float a, float b, float c, float d, float start, float stop) {}
+
+            @Override
+            public void bezier(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4) {}
+        };
+        g.setSize(200, 200);
+        PGraphics other = new PGraphics() {
+            @Override
+            public void vertex(float[] v) {}
+
+            @Override
+            public void arc(float a, float b, float c, float d, float start, float stop) {}
+        };
+        other.setSize(200, 200);
+
+        int failures = 0;
+        for (Path path : Path.getOneOfEachPathType(100)) {
+            path.setRetained(true);
+            tessellations[0] = 0;
+            drawn.clear();
+            path.draw(g);
+            int count = tessellations[0];
+            float[] before = drawn.array();
+            path.draw(g);
+            boolean passed = count <= 1 && tessellations[0] == count;
+
+            //Paths drawn with Processing's own primitives aren't retained, so there is nothing more to check
+            if (count == 1) {
+                path.translate(10, -5);
+                drawn.clear();
+                path.draw(g);
+                float[] after = drawn.array();
+                boolean moved = (after.length == before.length);
+                for (int i=0; moved && i<after.length; i+=2) {
+                    moved = Math.abs(after[i] - before[i] - 10) <= 0.01f && Math.abs(after[i+1] - before[i+1] + 5) <= 0.01f;
+                }
+                passed &= moved && tessellations[0] == 2;
+
+                path.setStrokeWeight(path.getStrokeWeight() + 1);
+                path.draw(g);
+                passed &= tessellations[0] == 3;
+
+                path.draw(other);
+                path.draw(g);
+                passed &= tessellations[0] == 4;
+            }
+
+            System.out.println((passed ? "PASS " : "FAIL ") + path.getClass().getSimpleName());
+            if (!passed) {
+                failures++;
+            }
+        }
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package tests.draw;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import processing.core.PGraphics;
+import processing.core.PMatrix2D;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Circle;
+import tracer.paths.MultiShape;
+import tracer.paths.Path;
+import tracer.paths.TransformedPath;
+
+/**
+ * Draws a Circle scaled unevenly and rotated by a TransformedPath, and checks that every vertex drawn lies
+ * on the TransformedPath as it is traced, that the matrix of the PGraphics is left alone and that the stroke
+ * weight isn't scaled. Then reverses a TransformedPath of a MultiShape and checks that it traces backward,
+ * with its gaps mirrored, and draws the same pieces.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class TransformedPathTest {
+
+    static int traceCount = 20000;
+    static float onPath = 0.05f;
+
+    public static void main(String[] args) {
+        final List<float[]> drawn = new ArrayList<float[]>();
+        final int[] matrixCalls = {0};
+        final float[] weight = {0};
+        PGraphics g = new PGraphics() {
+            @Override
+            public void vertex(float x, float y) {
+                drawn.add(new float[] {x, y});
+            }
+
+            @Override
+            public void beginShape(int kind) {}
+
+            @Override
+            public void endShape(int mode) {}
+
+            @Override
+            public void strokeWeight(float w) {
+                weight[0] = w;
+            }
+
+            @Override
+            public void applyMatrix(PMatrix2D source) {
+                matrixCalls[0]++;
+            }
+
+            @Override
+            public void applyMatrix(float n00, float n01, float n02, float n10, float n11, float n12) {
+                matrixCalls[0]++;
+            }
+
+            @Override
+            public void pushMatrix() {
+                matrixCalls[0]++;
+            }
+        };
+
+        int failures = 0;
+
+        Circle circle = new Circle(0, 0, 50);
+        circle.setStrokeWeight(3);
+        TransformedPath<Circle> stretched = new TransformedPath<Circle>(circle);
+        stretched.translate(200, 100);
+        stretched.rotate(0.4f);
+        stretched.scale(4, 0.5f);
+        stretched.draw(g);
+        failures += Checks.check("Drawn on the traced Path", !drawn.isEmpty() && onTrace(stretched, drawn));
+        failures += Checks.check("Drawn without the matrix of the PGraphics", matrixCalls[0] == 0);
+        failures += Checks.check("Stroke weight not scaled", weight[0] == 3);
+
+        MultiShape multiShape = new MultiShape();
+        multiShape.addVertex(0, 0);
+        multiShape.addVertex(10, 0);
+        multiShape.addGap();
+        multiShape.addVertex(0, 10);
+        multiShape.addVertex(30, 10);
+        TransformedPath<MultiShape> forward = new TransformedPath<MultiShape>(multiShape);
+        forward.scale(2, 3);
+        TransformedPath<MultiShape> backward = forward.clone();
+        backward.reverse();
+
+        boolean traced = backward.isReversed();
+        for (int i=1; i<100; i++) {
+            float u = i / 100f;
+            traced &= near(backward.trace(u), forward.trace(1 - u));
+        }
+        failures += Checks.check("Reversed, traced", traced);
+
+        float[] us = new float[100];
+        float[] xs = new float[100];
+        float[] ys = new float[100];
+        for (int i=0; i<100; i++) {
+            us[i] = (i + 0.5f) / 100;
+        }
+        backward.trace(us, xs, ys, 100);
+        boolean batch = true;
+        for (int i=0; i<100; i++) {
+            batch &= near(backward.trace(us[i]), new Point(xs[i], ys[i]));
+        }
+        failures += Checks.check("Reversed, batch trace", batch);
+
+        failures += Checks.check("Reversed, gaps", backward.getGapCount() == 2 && backward.getGap(0) == 0
+                && Math.abs(backward.getGap(1) - 0.75f) < 0.0001f && Math.abs(forward.getGap(1) - 0.25f) < 0.0001f);
+
+        drawn.clear();
+        backward.draw(g);
+        failures += Checks.check("Reversed, drawn on the traced Path", !drawn.isEmpty() && onTrace(backward, drawn));
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Tells whether every drawn vertex is within onPath of a point traced on the Path.
+     */
+    private static boolean onTrace(Path path, List<float[]> drawn) {
+        float[] xs = new float[traceCount];
+        float[] ys = new float[traceCount];
+        Point pt = new Point(0, 0);
+        for (int i=0; i<traceCount; i++) {
+            path.trace(pt, (float) i / traceCount);
+            xs[i] = pt.x;
+            ys[i] = pt.y;
+        }
+        for (float[] v : drawn) {
+            float minDist = Float.MAX_VALUE;
+            for (int i=0; i<traceCount; i++) {
+                minDist = Math.min(minDist, Math.abs(xs[i] - v[0]) + Math.abs(ys[i] - v[1]));
+            }
+            if (minDist > onPath) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean near(Point a, Point b) {
+        return Math.abs(a.x - b.x) + Math.abs(a.y - b.y) <= 0.01f;
+    }
+}
@@ -0,0 +1,126 @@
+package tests.multi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import processing.core.PApplet;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Line;
+import tracer.paths.MultiPath;
+import tracer.paths.MultiShape;
+import tracer.paths.Path;
+
+/**
+ * Adds and removes many Paths from a MultiPath, and adds, moves and removes vertices of a MultiShape,
+ * and checks their traces and gaps against the lengths of their children added up one at a time.
+ * Both keep the lengths of their children in a tree, which this covers as it grows, shrinks and changes.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class LengthTreeTest {
+
+    static int pathCount = 300;
+    static int removeCount = 100;
+    static int sampleCount = 1000;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        int failures = 0;
+
+        MultiPath multiPath = new MultiPath();
+        List<Path> children = new ArrayList<Path>();
+        for (int i=0; i<pathCount; i++) {
+            Line line = new Line(100 * random.nextFloat(), 100 * random.nextFloat(),
+                    100 * random.nextFloat(), 100 * random.nextFloat());
+            children.add(line);
+            multiPath.add(line);
+        }
+        failures += check("MultiPath, after add()", multiPath, children, random);
+
+        for (int i=0; i<removeCount; i++) {
+            //take from both ends as well as the middle
+            int k = (i == 0) ? 0 : (i == 1) ? children.size() - 1 : random.nextInt(children.size());
+            multiPath.remove(children.remove(k));
+        }
+        failures += check("MultiPath, after remove()", multiPath, children, random);
+
+        List<Path> more = new ArrayList<Path>();
+        for (int i=0; i<20; i++) {
+            more.add(new Line(0, i, 50, i));
+        }
+        multiPath.addAll(more);
+        children.addAll(more);
+        failures += check("MultiPath, after addAll()", multiPath, children, random);
+
+        MultiShape multiShape = new MultiShape();
+        for (int i=0; i<400; i++) {
+            multiShape.addVertex(i % 40, 10 * (i / 40) + random.nextFloat());
+            if (i % 40 == 39) {
+                multiShape.addGap();
+            }
+        }
+        multiShape.addVertex(0, 0);
+        multiShape.addVertex(100, 100);
+        failures += check("MultiShape, streamed", multiShape, getShapes(multiShape), random);
+
+        for (int i=0; i<50; i++) {
+            multiShape.setVertex(random.nextInt(multiShape.getVertexCount()),
+                    new Point(100 * random.nextFloat(), 100 * random.nextFloat()));
+        }
+        failures += check("MultiShape, after setVertex()", multiShape, getShapes(multiShape), random);
+
+        for (int i=0; i<50; i++) {
+            multiShape.removeVertex(random.nextInt(multiShape.getVertexCount()));
+        }
+        failures += check("MultiShape, after removeVertex()", multiShape, getShapes(multiShape), random);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static List<Path> getShapes(MultiShape multiShape) {
+        List<Path> shapes = new ArrayList<Path>();
+        for (int i=0; i<multiShape.getShapeCount(); i++) {
+            shapes.add(multiShape.getShape(i));
+        }
+        return shapes;
+    }
+
+    private static int check(String name, Path path, List<Path> children, Random random) {
+        float[] lengths = new float[children.size()];
+        float totalLength = 0;
+        for (int i=0; i<lengths.length; i++) {
+            lengths[i] = children.get(i).getLength();
+            totalLength += lengths[i];
+        }
+
+        boolean passed = path.getGapCount() == children.size();
+        float lengthBefore = 0;
+        for (int i=0; passed && i<lengths.length; i++) {
+            passed &= Math.abs(path.getGap(i) - lengthBefore / totalLength) <= 0.0001f;
+            lengthBefore += lengths[i];
+        }
+
+        Point pt = new Point(0, 0);
+        Point expected = new Point(0, 0);
+        for (int k=0; passed && k<sampleCount; k++) {
+            float u = random.nextFloat();
+            path.trace(pt, u);
+
+            float length = u * totalLength;
+            int i = 0;
+            while (i < lengths.length - 1 && length >= lengths[i]) {
+                length -= lengths[i];
+                i++;
+            }
+            children.get(i).trace(expected, length / lengths[i]);
+            passed &= PApplet.dist(pt.x, pt.y, expected.x, expected.y) <= 0.01f;
+        }
+
+        return Checks.check(name, passed);
+    }
+}
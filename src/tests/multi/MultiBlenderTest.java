@@ -0,0 +1,150 @@
+package tests.multi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import processing.core.PApplet;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Blender;
+import tracer.paths.Circle;
+import tracer.paths.Line;
+import tracer.paths.MultiBlender;
+import tracer.paths.MultiShape;
+import tracer.paths.Path;
+import tracer.paths.Shape;
+
+/**
+ * Checks a MultiBlender of two Paths against a Blender, then blends many random Shapes and checks that
+ * tracing a batch of 1D coordinates gives the same points as tracing them one at a time, forward and
+ * reversed, with weights set all at once and one at a time. Also checks the gaps of a MultiBlender,
+ * that a copy traces the same, and that the wrong number of weights is turned down.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class MultiBlenderTest {
+
+    static int pathCount = 16;
+    static int vertexCount = 400;
+    static int traceCount = 2000;
+
+    public static void main(String[] args) {
+        int failures = 0;
+
+        Circle circle = new Circle(0, 0, 50);
+        Line line = new Line(-50, 20, 50, -20);
+        MultiBlender<Path> pair = new MultiBlender<Path>(Arrays.asList((Path) circle, line), new float[] {1, 3});
+        Blender<Circle, Line> blender = new Blender<Circle, Line>(circle, line, 0.75f);
+        boolean same = true;
+        for (int r=0; r<2; r++) {
+            for (int i=0; i<100; i++) {
+                same &= near(pair.trace(i / 100f), blender.trace(i / 100f));
+            }
+            pair.reverse();
+            blender.reverse();
+        }
+        failures += Checks.check("Two Paths, like a Blender", same);
+
+        Random random = new Random(0);
+        List<Path> shapes = new ArrayList<Path>();
+        float[] weights = new float[pathCount];
+        for (int k=0; k<pathCount; k++) {
+            Shape shape = new Shape();
+            for (int i=0; i<vertexCount; i++) {
+                shape.addVertex(500 * random.nextFloat(), 500 * random.nextFloat());
+            }
+            shapes.add(shape);
+            weights[k] = random.nextFloat();
+        }
+        MultiBlender<Path> many = new MultiBlender<Path>(shapes, weights);
+        failures += Checks.check("Batch trace", batchMatchesScalar(many));
+        failures += Checks.check("Weighted average", matchesAverage(many, weights));
+        many.setWeight(3, 5);
+        weights[3] = 5;
+        failures += Checks.check("Weighted average, after setWeight()", matchesAverage(many, weights)
+                && many.getWeight(3) == 5);
+        many.reverse();
+        failures += Checks.check("Batch trace, reversed", batchMatchesScalar(many));
+
+        MultiBlender<Path> copy = many.clone();
+        same = copy.isReversed();
+        for (int i=0; i<100; i++) {
+            same &= near(copy.trace(i / 100f), many.trace(i / 100f));
+        }
+        failures += Checks.check("Copy", same);
+
+        boolean thrown = false;
+        try {
+            many.setWeights(new float[] {1, 2});
+        }
+        catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        failures += Checks.check("Too few weights", thrown && matchesAverage(many, weights));
+
+        MultiShape a = new MultiShape();
+        a.addVertex(0, 0);
+        a.addVertex(10, 0);
+        a.addGap();
+        a.addVertex(0, 10);
+        a.addVertex(30, 10);
+        MultiBlender<Path> withGaps = new MultiBlender<Path>(Arrays.asList(a, new Line(0, 0, 10, 10), a.clone()),
+                new float[] {1, 1, 1});
+        failures += Checks.check("Gaps", withGaps.getGapCount() == 2 && withGaps.getGap(0) == 0
+                && Math.abs(withGaps.getGap(1) - 0.25f) < 0.0001f);
+        withGaps.reverse();
+        failures += Checks.check("Gaps, reversed", withGaps.getGapCount() == 2 && withGaps.getGap(0) == 0
+                && Math.abs(withGaps.getGap(1) - 0.75f) < 0.0001f);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean batchMatchesScalar(MultiBlender<Path> blender) {
+        float[] us = new float[traceCount];
+        float[] xs = new float[traceCount];
+        float[] ys = new float[traceCount];
+        for (int i=0; i<traceCount; i++) {
+            us[i] = i / (float) traceCount;
+        }
+        blender.trace(us, xs, ys, traceCount);
+
+        Point pt = new Point(0, 0);
+        for (int i=0; i<traceCount; i++) {
+            blender.trace(pt, us[i]);
+            if (Math.abs(pt.x - xs[i]) > 0.001f || Math.abs(pt.y - ys[i]) > 0.001f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesAverage(MultiBlender<Path> blender, float[] weights) {
+        float total = 0;
+        for (float weight : weights) {
+            total += weight;
+        }
+        for (int i=0; i<100; i++) {
+            float u = (i + 0.5f) / 100;
+            float x = 0;
+            float y = 0;
+            for (int k=0; k<weights.length; k++) {
+                Point pt = blender.get(k).trace(blender.isReversed() ? 1 - u : u);
+                x += weights[k] / total * pt.x;
+                y += weights[k] / total * pt.y;
+            }
+            if (!near(blender.trace(u), new Point(x, y))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean near(Point a, Point b) {
+        return PApplet.dist(a.x, a.y, b.x, b.y) <= 0.01f;
+    }
+}
@@ -0,0 +1,154 @@
+package tests.multi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import processing.core.PApplet;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Composite;
+import tracer.paths.Line;
+import tracer.paths.MultiComposite;
+import tracer.paths.MultiShape;
+import tracer.paths.Path;
+
+/**
+ * Joins Lines of different lengths in a MultiComposite and checks that each gets a share of [0, 1) in
+ * proportion to its length, or to its weight, as Paths are added or replaced and weights change, forward
+ * and reversed.
+ * Also checks a MultiComposite of two Paths with equal weights against a Composite, the gaps of a
+ * MultiComposite that holds a Path with gaps of its own, and that its style and drawing mode are set on
+ * each of its Paths and kept by a copy.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class MultiCompositeTest {
+
+    public static void main(String[] args) {
+        List<Path> lines = new ArrayList<Path>();
+        for (int i=1; i<=4; i++) {
+            lines.add(new Line(0, 10 * i, 10 * i, 10 * i));
+        }
+
+        int failures = 0;
+
+        MultiComposite<Path> byLength = new MultiComposite<Path>(lines);
+        failures += Checks.check("Weighted by length", hasShares(byLength, 0, 0.1f, 0.3f, 0.6f));
+        byLength.reverse();
+        failures += Checks.check("Weighted by length, reversed", hasShares(byLength, 0, 0.1f, 0.3f, 0.6f));
+        failures += Checks.check("Copy", hasShares(byLength.clone(), 0, 0.1f, 0.3f, 0.6f));
+
+        MultiComposite<Path> byWeight = new MultiComposite<Path>(lines, new float[] {1, 1, 1, 1});
+        failures += Checks.check("Weighted", hasShares(byWeight, 0, 0.25f, 0.5f, 0.75f));
+        byWeight.add(new Line(0, 50, 50, 50));
+        failures += Checks.check("Weighted, after add()", hasShares(byWeight, 0, 0.2f, 0.4f, 0.6f, 0.8f));
+        byWeight.setWeights(null);
+        failures += Checks.check("Weighted by length, after setWeights(null)",
+                hasShares(byWeight, 0, 1 / 15f, 3 / 15f, 6 / 15f, 10 / 15f));
+        byWeight.set(0, new Line(0, 10, 60, 10));
+        failures += Checks.check("Weighted by length, after set()", hasShares(byWeight, 0, 0.3f, 0.4f, 0.55f, 0.75f));
+
+        boolean thrown = false;
+        try {
+            byWeight.setWeights(new float[] {1, 2});
+        }
+        catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        failures += Checks.check("Too few weights", thrown && hasShares(byWeight, 0, 0.3f, 0.4f, 0.55f, 0.75f));
+
+        Line a = new Line(0, 0, 10, 0);
+        Line b = new Line(0, 10, 50, 10);
+        MultiComposite<Line> pair = new MultiComposite<Line>(Arrays.asList(a, b), new float[] {1, 1});
+        Composite<Line, Line> composite = new Composite<Line, Line>(a, b);
+        boolean same = true;
+        for (int r=0; r<2; r++) {
+            for (int i=0; i<100; i++) {
+                same &= near(pair.trace(i / 100f), composite.trace(i / 100f));
+            }
+            pair.reverse();
+            composite.reverse();
+        }
+        failures += Checks.check("Two Paths weighted equally, like a Composite", same);
+
+        MultiShape multiShape = new MultiShape();
+        multiShape.addVertex(0, 0);
+        multiShape.addVertex(10, 0);
+        multiShape.addGap();
+        multiShape.addVertex(0, 10);
+        multiShape.addVertex(10, 10);
+        MultiComposite<Path> withGaps = new MultiComposite<Path>(Arrays.asList(new Line(0, 0, 20, 0), multiShape));
+        failures += Checks.check("Gaps", hasGaps(withGaps, 0, 0.5f, 0.75f));
+        withGaps.reverse();
+        failures += Checks.check("Gaps, reversed", hasGaps(withGaps, 0, 0.25f, 0.5f));
+
+        MultiComposite<Path> styled = new MultiComposite<Path>(lines);
+        styled.setStrokeWeight(7);
+        styled.setStrokeColor(0xFFFF0000);
+        styled.setLevelOfDetail(true);
+        styled.setTolerance(0.5f);
+        boolean childrenStyled = true;
+        for (int i=0; i<styled.getPathCount(); i++) {
+            Path path = styled.get(i);
+            childrenStyled &= path.getStrokeWeight() == 7 && path.getStrokeColor() == 0xFFFF0000
+                    && path.isLevelOfDetail() && path.getTolerance() == 0.5f;
+        }
+        failures += Checks.check("Style and drawing mode, set on each Path", childrenStyled);
+
+        styled.setRetained(true);
+        MultiComposite<Path> styledCopy = styled.clone();
+        failures += Checks.check("Style and drawing mode, copied", styledCopy.getStrokeWeight() == 7
+                && styledCopy.getStrokeColor() == 0xFFFF0000 && styledCopy.isRetained()
+                && styledCopy.isLevelOfDetail() && styledCopy.getTolerance() == 0.5f
+                && styledCopy.get(0).getStrokeWeight() == 7);
+        styledCopy.setStrokeWeight(2);
+        failures += Checks.check("Style, not shared with the copy", styled.getStrokeWeight() == 7);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Tells whether the ith Path of the MultiComposite starts at the ith of the given 1D coordinates
+     * and is traced from there to where the next one starts.
+     */
+    private static boolean hasShares(MultiComposite<Path> c, float... starts) {
+        if (c.getPathCount() != starts.length) {
+            return false;
+        }
+        for (int i=0; i<starts.length; i++) {
+            float start = starts[i];
+            float end = (i == starts.length - 1) ? 1 : starts[i+1];
+            if (Math.abs(c.getPathStart(i) - start) > 0.0001f) {
+                return false;
+            }
+            for (int k=0; k<10; k++) {
+                float v = (k + 0.5f) / 10;
+                float u = start + v * (end - start);
+                if (!near(c.trace(c.isReversed() ? 1 - u : u), c.get(i).trace(v))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasGaps(Path path, float... gaps) {
+        if (path.getGapCount() != gaps.length) {
+            return false;
+        }
+        for (int i=0; i<gaps.length; i++) {
+            if (Math.abs(path.getGap(i) - gaps[i]) > 0.0001f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean near(Point a, Point b) {
+        return PApplet.dist(a.x, a.y, b.x, b.y) <= 0.01f;
+    }
+}
@@ -0,0 +1,91 @@
+package tests.multi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import processing.core.PApplet;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.MultiShape;
+import tracer.paths.Shape;
+
+/**
+ * Streams vertices and gaps into a MultiShape, reading it now and then along the way, and checks it
+ * each time against a MultiShape made all at once from the same Shapes. Also copies the MultiShape
+ * right after streaming into it, before anything has read it.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class MultiShapeStreamTest {
+
+    static int vertexCount = 3000;
+
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        MultiShape streamed = new MultiShape();
+        List<Shape> shapes = new ArrayList<Shape>();
+        shapes.add(new Shape());
+
+        boolean passed = true;
+        boolean copiesMatch = true;
+        for (int i=0; i<vertexCount; i++) {
+            float x = 100 * random.nextFloat();
+            float y = 100 * random.nextFloat();
+            if (i % 2 == 0) {
+                streamed.addVertex(x, y);
+            }
+            else {
+                streamed.addVertex(new Point(x, y));
+            }
+            shapes.get(shapes.size() - 1).addVertex(x, y);
+
+            if (random.nextInt(100) == 0) {
+                streamed.addGap();
+                shapes.add(new Shape());
+            }
+            if (random.nextInt(50) == 0) {
+                copiesMatch &= matches(new MultiShape(streamed), shapes);
+            }
+            if (random.nextInt(50) == 0) {
+                passed &= matches(streamed, shapes);
+            }
+        }
+
+        int failures = 0;
+        failures += Checks.check("Streamed, read along the way", passed && matches(streamed, shapes));
+        failures += Checks.check("Streamed, copied before being read", copiesMatch);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean matches(MultiShape streamed, List<Shape> shapes) {
+        MultiShape expected = new MultiShape(shapes);
+        if (streamed.getVertexCount() != expected.getVertexCount() || streamed.getGapCount() != expected.getGapCount()
+                || PApplet.abs(streamed.getLength() - expected.getLength()) > 0.0001f * expected.getLength()) {
+            return false;
+        }
+        for (int i=0; i<expected.getGapCount(); i++) {
+            if (PApplet.abs(streamed.getGap(i) - expected.getGap(i)) > 0.0001f) {
+                return false;
+            }
+        }
+
+        //the streamed MultiShape updates the length of its last Shape in place instead of adding it
+        //afresh, which on a MultiShape this long can move a traced point by a little rounding error
+        float slack = 0.000001f * expected.getLength();
+        Point a = new Point(0, 0);
+        Point b = new Point(0, 0);
+        for (int i=0; i<200; i++) {
+            streamed.trace(a, i / 200f);
+            expected.trace(b, i / 200f);
+            if (PApplet.dist(a.x, a.y, b.x, b.y) > slack) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,99 @@
+package tests.optimize;
+
+import processing.core.PConstants;
+import processing.core.PGraphics;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Blender;
+import tracer.paths.Circle;
+import tracer.paths.Path;
+import tracer.paths.Rect;
+import tracer.paths.Segment;
+
+/**
+ * Checks that the Paths that optimize() gives draw with the style of the Path they replace,
+ * keep its orientation and trace the same points.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class OptimizeStyleTest {
+
+    static int sampleCount = 500;
+
+    public static void main(String[] args) {
+        Path rect = new Rect(0, 0, 100, 60, PConstants.CORNER);
+        Path circle = new Circle(50, 50, 40);
+        int failures = 0;
+
+        Segment segment = new Segment(new Segment(rect, 0.1f, 0.6f), 0.2f, 0.7f);
+        segment.setStrokeWeight(4);
+        segment.reverse();
+        Path optimized = segment.optimize();
+        failures += Checks.check("Segment of a Segment is folded", optimized != segment);
+        failures += Checks.check("folded Segment keeps the style", strokeWeightOf(optimized) == 4);
+        failures += Checks.check("folded Segment keeps the orientation", optimized.isReversed());
+        failures += Checks.check("folded Segment traces the same points", sameTrace(segment, optimized));
+
+        Blender<Path, Path> blender = new Blender<Path, Path>(circle, rect, 0, 200);
+        failures += Checks.check("Blender at 0 with the style of a is dropped", blender.optimize() == circle);
+        blender.setStrokeWeight(6);
+        optimized = blender.optimize();
+        failures += Checks.check("Blender at 0 with its own style is kept", strokeWeightOf(optimized) == 6);
+        failures += Checks.check("kept Blender traces the same points", sameTrace(blender, optimized));
+
+        Blender<Path, Path> outer = new Blender<Path, Path>(new Blender<Path, Path>(circle, rect, 0.5f, 200),
+                rect, 0.5f, 200);
+        outer.setStrokeWeight(2);
+        outer.reverse();
+        optimized = outer.optimize();
+        failures += Checks.check("Blender of a Blender keeps the style", strokeWeightOf(optimized) == 2);
+        failures += Checks.check("Blender of a Blender keeps the orientation", optimized.isReversed());
+        failures += Checks.check("Blender of a Blender traces the same points", sameTrace(outer, optimized));
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean sameTrace(Path expected, Path actual) {
+        Point a = new Point(0, 0);
+        Point b = new Point(0, 0);
+        for (int i=0; i<sampleCount; i++) {
+            float u = (float) i / sampleCount;
+            expected.trace(a, u);
+            actual.trace(b, u);
+            if (Math.abs(a.x - b.x) > 0.01f || Math.abs(a.y - b.y) > 0.01f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Draws the Path to a PGraphics that records the stroke weight it's given.
+     */
+    private static float strokeWeightOf(Path path) {
+        final float[] applied = {-1};
+        PGraphics g = new PGraphics() {
+            @Override
+            public void strokeWeight(float weight) {
+                applied[0] = weight;
+            }
+
+            @Override
+            public void vertex(float x, float y) {}
+
+            @Override
+            public void beginShape(int kind) {}
+
+            @Override
+            public void endShape(int mode) {}
+
+            @Override
+            public void ellipse(float a, float b, float c, float d) {}
+        };
+        path.draw(g);
+        return applied[0];
+    }
+}
@@ -0,0 +1,99 @@
+package tests.optimize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import processing.core.PConstants;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Path;
+import tracer.paths.Rect;
+import tracer.paths.TransformedPath;
+import tracer.paths.TranslatedPath;
+
+/**
+ * Builds chains of TransformedPaths and TranslatedPaths around one Path and checks that their batch
+ * trace, which multiplies the matrices together, and the single TransformedPath that optimize() folds
+ * them into both trace the same points as tracing through every layer, and that the bounds computed
+ * from the matrix contain every traced point. Some of the TransformedPaths are reversed, which the
+ * batch trace and optimize() have to carry through the folded matrix.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class TransformedPathFoldTest {
+
+    static int sampleCount = 1000;
+
+    public static void main(String[] args) {
+        Path base = new Rect(0, 0, 40, 20, PConstants.CENTER);
+
+        TransformedPath<Path> transformed = new TransformedPath<Path>(base);
+        transformed.translate(100, 50);
+        transformed.rotate(0.7f);
+        transformed.scale(2, 0.5f);
+
+        TransformedPath<Path> nested = new TransformedPath<Path>(new TranslatedPath<Path>(5, 7, transformed));
+        nested.rotate(-0.3f);
+        nested.translate(3, 4);
+
+        Map<String, Path> paths = new LinkedHashMap<String, Path>();
+        paths.put("TransformedPath", transformed);
+        paths.put("TransformedPath of a TranslatedPath of a TransformedPath", nested);
+        paths.put("TranslatedPath of a TransformedPath", new TranslatedPath<Path>(-10, 2, nested));
+        paths.put("sheared TransformedPath", new TransformedPath<Path>(1, 0.5f, 0, 0.25f, 1, 0, nested));
+
+        TransformedPath<Path> reversed = new TransformedPath<Path>(base);
+        reversed.rotate(1.2f);
+        reversed.reverse();
+        TransformedPath<Path> ofReversed = new TransformedPath<Path>((Path) reversed); //the cast picks the wrapping constructor over the copy constructor
+        ofReversed.scale(0.5f, 3);
+        paths.put("TransformedPath of a reversed TransformedPath", ofReversed);
+        TransformedPath<Path> bothReversed = new TransformedPath<Path>((Path) reversed);
+        bothReversed.translate(-20, 10);
+        bothReversed.reverse();
+        paths.put("reversed TransformedPath of a reversed TransformedPath", bothReversed);
+
+        float[] us = new float[sampleCount];
+        for (int i=0; i<sampleCount; i++) {
+            us[i] = (float) i / sampleCount;
+        }
+
+        int failures = 0;
+        for (Map.Entry<String, Path> entry : paths.entrySet()) {
+            String name = entry.getKey();
+            Path path = entry.getValue();
+
+            float[] xs = new float[sampleCount];
+            float[] ys = new float[sampleCount];
+            path.trace(us, xs, ys, sampleCount);
+            Path optimized = path.optimize();
+
+            boolean batchMatches = true;
+            boolean optimizedMatches = true;
+            Point pt = new Point(0, 0);
+            Point optimizedPt = new Point(0, 0);
+            for (int i=0; i<sampleCount; i++) {
+                path.trace(pt, us[i]);
+                optimized.trace(optimizedPt, us[i]);
+                batchMatches &= Checks.closeEnough(pt.x, xs[i]) && Checks.closeEnough(pt.y, ys[i]);
+                optimizedMatches &= Checks.closeEnough(pt.x, optimizedPt.x) && Checks.closeEnough(pt.y, optimizedPt.y);
+            }
+            failures += Checks.check(name + ", batch trace", batchMatches);
+            failures += Checks.check(name + ", optimized", optimizedMatches && optimized instanceof TransformedPath
+                    && ((TransformedPath<?>) optimized).getPath() == base);
+
+            Rect bounds = path.getBounds();
+            boolean contained = true;
+            for (int i=0; i<sampleCount; i++) {
+                contained &= xs[i] >= bounds.getX1() - 0.01f && xs[i] <= bounds.getX2() + 0.01f
+                        && ys[i] >= bounds.getY1() - 0.01f && ys[i] <= bounds.getY2() + 0.01f;
+            }
+            failures += Checks.check(name + ", bounds", contained);
+        }
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package tests.shape;
+
+import java.util.Random;
+
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Shape;
+
+/**
+ * Builds a Shape up a vertex at a time, tracing it as it grows, then inserts, moves and removes vertices
+ * and reverses it, and after each step checks it against a new Shape made from the same vertices.
+ * A Shape keeps the length up to each vertex and updates it as it changes, so this checks that the
+ * updated lengths match those measured from scratch.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class ShapeAppendTest {
+
+    static int vertexCount = 5000;
+
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        Shape shape = new Shape();
+        boolean tracedWhileGrowing = true;
+        Point pt = new Point(0, 0);
+        for (int i=0; i<vertexCount; i++) {
+            shape.addVertex(100 * random.nextFloat(), 100 * random.nextFloat());
+            if (i % 500 == 499) {
+                shape.trace(pt, 0.5f);
+                tracedWhileGrowing &= matchesNewShape(shape);
+            }
+        }
+
+        int failures = 0;
+        failures += Checks.check("addVertex(x, y)", tracedWhileGrowing && matchesNewShape(shape));
+
+        for (int i=0; i<50; i++) {
+            shape.addVertex(random.nextInt(shape.getVertexCount() + 1), new Point(random.nextFloat(), random.nextFloat()));
+        }
+        failures += Checks.check("addVertex(i, pt)", matchesNewShape(shape));
+
+        for (int i=0; i<50; i++) {
+            shape.setVertex(random.nextInt(shape.getVertexCount()), 100 * random.nextFloat(), 100 * random.nextFloat());
+        }
+        failures += Checks.check("setVertex()", matchesNewShape(shape));
+
+        for (int i=0; i<50; i++) {
+            shape.removeVertex(random.nextInt(shape.getVertexCount()));
+        }
+        shape.removeVertex(0);
+        shape.removeVertex(shape.getVertexCount() - 1);
+        failures += Checks.check("removeVertex()", matchesNewShape(shape));
+
+        shape.reverse();
+        failures += Checks.check("reverse()", matchesNewShape(shape));
+
+        shape.addVertex(0, 0);
+        failures += Checks.check("addVertex(x, y), after reverse()", matchesNewShape(shape));
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean matchesNewShape(Shape shape) {
+        int n = shape.getVertexCount();
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        for (int i=0; i<n; i++) {
+            xs[i] = shape.getVertexX(i);
+            ys[i] = shape.getVertexY(i);
+        }
+        Shape fresh = new Shape(xs, ys);
+
+        //the lengths are added up in a different order, so they may round differently,
+        //by as much as a few units in the last place of the whole length
+        float length = fresh.getLength();
+        float slack = 0.000001f * length;
+        if (Math.abs(shape.getLength() - length) > 0.0001f * length) {
+            return false;
+        }
+        for (int i=0; i<n; i++) {
+            if (Math.abs(shape.getVertex1D(i) - fresh.getVertex1D(i)) > 0.0001f) {
+                return false;
+            }
+        }
+        Point a = new Point(0, 0);
+        Point b = new Point(0, 0);
+        for (int i=0; i<1000; i++) {
+            shape.trace(a, i / 1000f);
+            fresh.trace(b, i / 1000f);
+            if (Math.abs(a.x - b.x) > slack || Math.abs(a.y - b.y) > slack) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+package tests.shape;
+
+import java.nio.FloatBuffer;
+
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Shape;
+import tracer.paths.ShapeBuilder;
+
+/**
+ * Builds Shapes with each of ShapeBuilder's ways of adding vertices and checks them against Shapes made
+ * from the same coordinates with the Shape constructor. Also checks that the builder starts over after
+ * build(), without changing the Shape it built, and that a built Shape can still grow.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class ShapeBuilderTest {
+
+    static int vertexCount = 1000;
+
+    public static void main(String[] args) {
+        int n = vertexCount;
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        FloatBuffer xys = FloatBuffer.allocate(2 * n);
+        for (int i=0; i<n; i++) {
+            float t = 0.01f * i;
+            xs[i] = t * (float) Math.cos(t);
+            ys[i] = t * (float) Math.sin(t);
+            xys.put(xs[i]);
+            xys.put(ys[i]);
+        }
+        xys.flip();
+        Shape expected = new Shape(xs, ys);
+
+        int failures = 0;
+
+        ShapeBuilder builder = new ShapeBuilder();
+        for (int i=0; i<n; i++) {
+            builder.vertex(xs[i], ys[i]);
+        }
+        failures += Checks.check("vertex()", builder.getVertexCount() == n
+                && builder.getLength() == expected.getLength()
+                && same(builder.build(), expected));
+        failures += Checks.check("build(), starting over", builder.getVertexCount() == 0 && builder.getLength() == 0);
+
+        Shape built = new ShapeBuilder(n).vertices(xs, ys).build();
+        failures += Checks.check("vertices(float[], float[])", same(built, expected));
+
+        built = new ShapeBuilder(1).vertices(xs, ys, 0, n / 3).vertices(xs, ys, n / 3, n - n / 3).build();
+        failures += Checks.check("vertices(float[], float[], int, int)", same(built, expected));
+
+        built = new ShapeBuilder().vertices(FloatBuffer.wrap(xs), FloatBuffer.wrap(ys)).build();
+        failures += Checks.check("vertices(FloatBuffer, FloatBuffer)", same(built, expected));
+
+        built = new ShapeBuilder().vertices(xys).build();
+        failures += Checks.check("vertices(FloatBuffer)", same(built, expected) && xys.remaining() == 0);
+
+        builder = new ShapeBuilder(n);
+        Shape first = builder.vertices(xs, ys).build();
+        builder.vertex(-1000, -1000).vertex(1000, 1000);
+        builder.build();
+        failures += Checks.check("build(), then building another", same(first, expected));
+
+        first.addVertex(0, 0);
+        Shape grown = new Shape(expected);
+        grown.addVertex(0, 0);
+        failures += Checks.check("addVertex(), on a built Shape", same(first, grown));
+
+        Shape empty = new ShapeBuilder().build();
+        failures += Checks.check("build(), with no vertices", empty.getVertexCount() == 0 && empty.getLength() == 0);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean same(Shape a, Shape b) {
+        if (a.getVertexCount() != b.getVertexCount() || a.getLength() != b.getLength()
+                || a.getSampleCount() != b.getSampleCount()) {
+            return false;
+        }
+        for (int i=0; i<a.getVertexCount(); i++) {
+            if (a.getVertexX(i) != b.getVertexX(i) || a.getVertexY(i) != b.getVertexY(i)
+                    || a.getVertex1D(i) != b.getVertex1D(i)) {
+                return false;
+            }
+        }
+        Point pa = new Point(0, 0);
+        Point pb = new Point(0, 0);
+        for (int i=0; i<100; i++) {
+            a.trace(pa, i / 100f);
+            b.trace(pb, i / 100f);
+            if (pa.x != pb.x || pa.y != pb.y) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,111 @@
+package tests.shape;
+
+import java.util.Random;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Shape;
+import tracer.paths.ShapeSegment;
+
+/**
+ * Cuts segments out of a Shape with createSegment() and createSegmentView() between random 1D coordinates,
+ * in either order, and checks that both run from trace(u1) to trace(u2) of the Shape, trace and measure
+ * alike and draw the same vertices, and that the copy is sampled like any other Shape of its length.
+ * Then changes the Shape and checks that the view follows it while the copy doesn't, and that
+ * setRange() moves the view.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class ShapeSegmentTest {
+
+    static int vertexCount = 2000;
+
+    public static void main(String[] args) {
+        final int[] drawCount = {0};
+        PGraphics g = new PGraphics() {
+            @Override
+            public void vertex(float x, float y) {
+                drawCount[0]++;
+            }
+        };
+
+        float[] xs = new float[vertexCount];
+        float[] ys = new float[vertexCount];
+        for (int i=0; i<vertexCount; i++) {
+            float t = 0.01f * i;
+            xs[i] = 10 * t * PApplet.cos(t);
+            ys[i] = 10 * t * PApplet.sin(t);
+        }
+        Shape shape = new Shape(xs, ys);
+
+        Random random = new Random(0);
+        boolean passed = true;
+        for (int k=0; k<20; k++) {
+            float u1 = random.nextFloat();
+            float u2 = random.nextFloat();
+            Shape copy = shape.createSegment(u1, u2);
+            ShapeSegment view = shape.createSegmentView(u1, u2);
+
+            Point start = shape.trace(Math.min(u1, u2));
+            Point end = shape.trace(Math.max(u1, u2));
+            float length = Math.abs(u2 - u1) * shape.getLength();
+            passed &= near(copy.trace(0), start) && near(view.trace(0), start)
+                    && near(copy.getVertex2D(copy.getVertexCount() - 1), end)
+                    && closeTo(copy.getLength(), length) && closeTo(view.getLength(), length)
+                    && copy.getSampleCount() == withSameVertices(copy).getSampleCount();
+            for (int i=0; i<100; i++) {
+                passed &= near(copy.trace(i / 100f), view.trace(i / 100f));
+            }
+
+            drawCount[0] = 0;
+            view.draw(g);
+            passed &= drawCount[0] == copy.getVertexCount();
+        }
+
+        int failures = 0;
+        failures += Checks.check("createSegment() and createSegmentView()", passed);
+
+        Shape copy = shape.createSegment(0.2f, 0.6f);
+        ShapeSegment view = shape.createSegmentView(0.2f, 0.6f);
+        float copyLength = copy.getLength();
+        float viewLength = view.getLength();
+        shape.setVertex(vertexCount / 2, 0, 0);
+        failures += Checks.check("After the Shape changes", copy.getLength() == copyLength
+                && view.getLength() != viewLength
+                && closeTo(view.getLength(), 0.4f * shape.getLength()));
+
+        view.setRange(0.7f, 0.1f);
+        ShapeSegment moved = shape.createSegmentView(0.1f, 0.7f);
+        boolean same = view.getU1() == 0.1f && view.getU2() == 0.7f && closeTo(view.getLength(), moved.getLength());
+        for (int i=0; i<100; i++) {
+            same &= near(view.trace(i / 100f), moved.trace(i / 100f));
+        }
+        failures += Checks.check("setRange()", same);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Shape withSameVertices(Shape shape) {
+        int n = shape.getVertexCount();
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        for (int i=0; i<n; i++) {
+            xs[i] = shape.getVertexX(i);
+            ys[i] = shape.getVertexY(i);
+        }
+        return new Shape(xs, ys);
+    }
+
+    private static boolean near(Point a, Point b) {
+        return PApplet.dist(a.x, a.y, b.x, b.y) <= 0.01f;
+    }
+
+    private static boolean closeTo(float a, float b) {
+        return PApplet.abs(a - b) <= 0.001f * PApplet.max(a, b);
+    }
+}
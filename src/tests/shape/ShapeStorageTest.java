@@ -0,0 +1,93 @@
+package tests.shape;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Shape;
+
+/**
+ * Checks that a Shape keeps copies of the coordinates it is given rather than the Points themselves,
+ * that getVertex2D() gives a copy, and that the float and Point versions of the constructors,
+ * addVertex() and setVertex() make the same Shape.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class ShapeStorageTest {
+
+    public static void main(String[] args) {
+        int n = 40;
+        float[] xs = new float[n + 5];
+        float[] ys = new float[n + 5];
+        List<Point> points = new ArrayList<Point>();
+        for (int i=0; i<xs.length; i++) {
+            xs[i] = 100 * (float) Math.cos(0.3 * i) + i;
+            ys[i] = 50 * (float) Math.sin(0.7 * i);
+            if (i < n) {
+                points.add(new Point(xs[i], ys[i]));
+            }
+        }
+
+        int failures = 0;
+
+        Shape fromPoints = new Shape(points);
+        Shape fromArrays = new Shape(xs, ys, n);
+        failures += Checks.check("Shape(List) and Shape(float[], float[], int)", same(fromPoints, fromArrays));
+        failures += Checks.check("Shape(Point[]) and Shape(float[], float[], int)",
+                same(new Shape(points.toArray(new Point[n])), fromArrays));
+
+        points.get(3).x += 1000;
+        failures += Checks.check("Shape(List), after a Point given to it moves", same(fromPoints, fromArrays));
+
+        Point vertex = fromPoints.getVertex2D(5);
+        vertex.y -= 1000;
+        failures += Checks.check("getVertex2D(), after the Point it gave moves", same(fromPoints, fromArrays));
+
+        Point added = new Point(-20, 30);
+        fromPoints.addVertex(added);
+        fromArrays.addVertex(-20, 30);
+        Point inserted = new Point(7, 7);
+        fromPoints.addVertex(10, inserted);
+        fromArrays.addVertex(10, new Point(7, 7));
+        added.x = 500;
+        inserted.y = 500;
+        failures += Checks.check("addVertex(), with Points and with floats", same(fromPoints, fromArrays));
+
+        Point set = new Point(1, 2);
+        fromPoints.setVertex(20, set);
+        fromArrays.setVertex(20, 1, 2);
+        set.x = 500;
+        failures += Checks.check("setVertex(), with a Point and with floats", same(fromPoints, fromArrays));
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Tells whether the Shapes have the same vertices and trace the same.
+     */
+    private static boolean same(Shape a, Shape b) {
+        if (a.getVertexCount() != b.getVertexCount()) {
+            return false;
+        }
+        for (int i=0; i<a.getVertexCount(); i++) {
+            if (a.getVertexX(i) != b.getVertexX(i) || a.getVertexY(i) != b.getVertexY(i)
+                    || a.getVertex1D(i) != b.getVertex1D(i)) {
+                return false;
+            }
+        }
+        Point pa = new Point(0, 0);
+        Point pb = new Point(0, 0);
+        for (int i=0; i<100; i++) {
+            a.trace(pa, i / 100f);
+            b.trace(pb, i / 100f);
+            if (pa.x != pb.x || pa.y != pb.y) {
+                return false;
+            }
+        }
+        return a.getLength() == b.getLength();
+    }
+}
@@ -0,0 +1,150 @@
+package tests.simplify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+import tests.Checks;
+import tracer.Point;
+import tracer.paths.Gesture;
+import tracer.paths.MultiShape;
+import tracer.paths.Path;
+import tracer.paths.Shape;
+import tracer.paths.Simplify;
+
+/**
+ * Simplifies noisy Shapes, Gestures and MultiShapes, and checks that the removed vertices stay within
+ * the tolerance, that the style and orientation of the original are kept, and that neither the original
+ * nor the Shapes it was built from are changed.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class SimplifyTest {
+
+    static int vertexCount = 5000;
+    static float tolerance = 1;
+
+    public static void main(String[] args) {
+        Random random = new Random(0);
+        Point[] vertices = new Point[vertexCount];
+        float[] ts = new float[vertexCount];
+        float[] xs = new float[vertexCount];
+        float[] ys = new float[vertexCount];
+        for (int i=0; i<vertexCount; i++) {
+            float t = (float) i / vertexCount;
+            xs[i] = 300 * PApplet.cos(6 * t) + 0.3f * random.nextFloat();
+            ys[i] = 200 * PApplet.sin(4 * t) + 0.3f * random.nextFloat();
+            vertices[i] = new Point(xs[i], ys[i]);
+            ts[i] = t * t;
+        }
+
+        int failures = 0;
+
+        Shape shape = new Shape(xs, ys);
+        Shape simplified = Simplify.douglasPeucker(shape, tolerance);
+        failures += Checks.check("douglasPeucker(Shape) removes vertices",
+                simplified.getVertexCount() < shape.getVertexCount() / 4);
+        failures += Checks.check("douglasPeucker(Shape) stays within the tolerance",
+                maxDistance(shape, simplified) <= tolerance * 1.001f);
+        failures += Checks.check("visvalingamWhyatt(Shape) removes vertices",
+                Simplify.visvalingamWhyatt(shape, tolerance).getVertexCount() < shape.getVertexCount() / 4);
+        failures += Checks.check("the original Shape is unchanged", shape.getVertexCount() == vertexCount);
+
+        shape.setStrokeWeight(7);
+        shape.reverse();
+        simplified = Simplify.douglasPeucker(shape, tolerance);
+        failures += Checks.check("douglasPeucker(Shape) keeps the style", strokeWeightOf(simplified) == 7);
+        failures += Checks.check("douglasPeucker(Shape) keeps the orientation", simplified.isReversed()
+                && samePoint(shape, simplified, 0) && samePoint(shape, simplified, Path.ALMOST_ONE));
+
+        Gesture gesture = new Gesture(vertices, ts);
+        gesture.setStrokeWeight(5);
+        gesture.reverse();
+        Gesture simplifiedGesture = Simplify.visvalingamWhyatt(gesture, tolerance);
+        failures += Checks.check("visvalingamWhyatt(Gesture) keeps the style", strokeWeightOf(simplifiedGesture) == 5);
+        failures += Checks.check("visvalingamWhyatt(Gesture) keeps the orientation", simplifiedGesture.isReversed()
+                && samePoint(gesture, simplifiedGesture, 0) && samePoint(gesture, simplifiedGesture, 0.5f));
+
+        List<Shape> shapes = new ArrayList<Shape>();
+        shapes.add(new Shape(xs, ys));
+        shapes.add(new Shape(0, 0, 100));
+        MultiShape multiShape = new MultiShape(shapes);
+        int multiVertexCount = multiShape.getVertexCount();
+        shapes.get(0).addVertex(1000, 1000);
+        multiShape.getShape(1).addVertex(1000, 1000);
+        failures += Checks.check("MultiShape doesn't share its Shapes", multiShape.getVertexCount() == multiVertexCount
+                && multiShape.getShape(0).getVertexCount() == vertexCount);
+
+        multiShape.setStrokeWeight(3);
+        MultiShape simplifiedMultiShape = Simplify.douglasPeucker(multiShape, tolerance);
+        failures += Checks.check("douglasPeucker(MultiShape) keeps the gaps",
+                simplifiedMultiShape.getGapCount() == multiShape.getGapCount());
+        failures += Checks.check("douglasPeucker(MultiShape) keeps the style",
+                strokeWeightOf(simplifiedMultiShape) == 3);
+        failures += Checks.check("the original MultiShape is unchanged",
+                multiShape.getVertexCount() == multiVertexCount);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Gives the greatest distance from a vertex of the original Shape to the simplified one.
+     */
+    private static float maxDistance(Shape original, Shape simplified) {
+        float max = 0;
+        for (int i=0; i<original.getVertexCount(); i++) {
+            float x = original.getVertexX(i);
+            float y = original.getVertexY(i);
+            float min = Float.MAX_VALUE;
+            for (int j=1; j<simplified.getVertexCount(); j++) {
+                min = Math.min(min, distanceToSegment(x, y, simplified.getVertexX(j-1), simplified.getVertexY(j-1),
+                        simplified.getVertexX(j), simplified.getVertexY(j)));
+            }
+            max = Math.max(max, min);
+        }
+        return max;
+    }
+
+    private static float distanceToSegment(float x, float y, float ax, float ay, float bx, float by) {
+        float dx = bx - ax;
+        float dy = by - ay;
+        float lengthSq = dx * dx + dy * dy;
+        float t = (lengthSq == 0) ? 0 : PApplet.constrain(((x - ax) * dx + (y - ay) * dy) / lengthSq, 0, 1);
+        return PApplet.dist(x, y, ax + t * dx, ay + t * dy);
+    }
+
+    private static boolean samePoint(Path a, Path b, float u) {
+        Point pa = a.trace(u);
+        Point pb = b.trace(u);
+        return PApplet.dist(pa.x, pa.y, pb.x, pb.y) <= tolerance;
+    }
+
+    /**
+     * Draws the Path to a PGraphics that records the stroke weight it's given.
+     */
+    private static float strokeWeightOf(Path path) {
+        final float[] applied = {-1};
+        PGraphics g = new PGraphics() {
+            @Override
+            public void strokeWeight(float weight) {
+                applied[0] = weight;
+            }
+
+            @Override
+            public void vertex(float x, float y) {}
+
+            @Override
+            public void beginShape(int kind) {}
+
+            @Override
+            public void endShape(int mode) {}
+        };
+        path.draw(g);
+        return applied[0];
+    }
+}
@@ -0,0 +1,138 @@
+package tests.triangulate;
+
+import java.util.Random;
+
+import processing.core.PApplet;
+import processing.core.PConstants;
+import processing.core.PGraphics;
+import processing.data.FloatList;
+import tests.Checks;
+import tracer.paths.Shape;
+import tracer.paths.Triangulate;
+
+/**
+ * Triangulates star-shaped polygons of various sizes, wound both ways, and checks that there are n-2
+ * triangles that exactly cover the polygon. Then draws a triangulated Shape with its fill on and checks
+ * that it draws those triangles and its outline, and that the triangles follow the Shape when a vertex moves.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class TriangulateTest {
+
+    public static void main(String[] args) {
+        int failures = 0;
+
+        for (int n : new int[] {3, 4, 50, 1000}) {
+            for (int w=0; w<2; w++) {
+                //repeat the first vertex at the end, as a closed Shape does
+                float[] xs = new float[n+1];
+                float[] ys = new float[n+1];
+                star(xs, ys, n, w == 1, new Random(n));
+
+                int[] triangles = Triangulate.earClip(xs, ys, n+1);
+                String name = "earClip(), " + n + " vertices" + (w == 1 ? ", clockwise" : "");
+                failures += Checks.check(name, triangles.length == 3 * (n - 2)
+                        && closeTo(triangleArea(xs, ys, triangles), polygonArea(xs, ys, n)));
+            }
+        }
+
+        final int[] kind = {-1};
+        final FloatList triangleXs = new FloatList();
+        final FloatList triangleYs = new FloatList();
+        final int[] outlineCount = {0};
+        PGraphics g = new PGraphics() {
+            @Override
+            public void beginShape(int k) {
+                kind[0] = k;
+            }
+
+            @Override
+            public void vertex(float x, float y) {
+                if (kind[0] == PConstants.TRIANGLES) {
+                    triangleXs.append(x);
+                    triangleYs.append(y);
+                }
+                else {
+                    outlineCount[0]++;
+                }
+            }
+        };
+
+        int n = 40;
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        star(xs, ys, n, false, new Random(0));
+        Shape shape = new Shape(xs, ys);
+        shape.setFill(true);
+        shape.setTriangulated(true);
+
+        shape.draw(g);
+        failures += Checks.check("Shape, drawn", triangleXs.size() == 3 * (n - 2)
+                && outlineCount[0] == shape.getVertexCount()
+                && closeTo(drawnArea(triangleXs, triangleYs), polygonArea(xs, ys, n)));
+
+        xs[0] *= 2;
+        ys[0] *= 2;
+        shape.setVertex(0, xs[0], ys[0]);
+        triangleXs.clear();
+        triangleYs.clear();
+        shape.draw(g);
+        failures += Checks.check("Shape, drawn after setVertex()",
+                closeTo(drawnArea(triangleXs, triangleYs), polygonArea(xs, ys, n)));
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Fills the first n vertices with a star whose points are at random depths, wound counterclockwise
+     * or clockwise, and repeats the first vertex after them if there is room.
+     */
+    private static void star(float[] xs, float[] ys, int n, boolean clockwise, Random random) {
+        for (int i=0; i<n; i++) {
+            float angle = PApplet.TWO_PI * (clockwise ? n - i : i) / n;
+            float r = (i % 2 == 0) ? 100 : 40 + 30 * random.nextFloat();
+            xs[i] = r * PApplet.cos(angle);
+            ys[i] = r * PApplet.sin(angle);
+        }
+        if (xs.length > n) {
+            xs[n] = xs[0];
+            ys[n] = ys[0];
+        }
+    }
+
+    private static float polygonArea(float[] xs, float[] ys, int n) {
+        float area = 0;
+        for (int i=0; i<n; i++) {
+            int j = (i + 1) % n;
+            area += xs[i] * ys[j] - xs[j] * ys[i];
+        }
+        return Math.abs(area / 2);
+    }
+
+    /**
+     * Sums the unsigned areas of the triangles, which equals the area of the polygon only if they don't overlap.
+     */
+    private static float triangleArea(float[] xs, float[] ys, int[] triangles) {
+        float area = 0;
+        for (int i=0; i<triangles.length; i+=3) {
+            int a = triangles[i], b = triangles[i+1], c = triangles[i+2];
+            area += Math.abs((xs[b] - xs[a]) * (ys[c] - ys[a]) - (xs[c] - xs[a]) * (ys[b] - ys[a])) / 2;
+        }
+        return area;
+    }
+
+    private static float drawnArea(FloatList xs, FloatList ys) {
+        int[] triangles = new int[xs.size()];
+        for (int i=0; i<triangles.length; i++) {
+            triangles[i] = i;
+        }
+        return triangleArea(xs.array(), ys.array(), triangles);
+    }
+
+    private static boolean closeTo(float a, float b) {
+        return PApplet.abs(a - b) <= 0.001f * PApplet.max(a, b);
+    }
+}
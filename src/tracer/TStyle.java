@@ -52,6 +52,15 @@ public class TStyle {
         this.fill = fill;
     }
     
+    /**
+     * Copy constructor.
+     * 
+     * @param style The style to copy
+     */
+    public TStyle(TStyle style) {
+        this(style.strokeCap, style.strokeJoin, style.strokeWeight, style.fillColor, style.strokeColor, style.stroke, style.fill);
+    }
+    
     /**
      * 
      */
@@ -87,6 +96,35 @@ public class TStyle {
         }      
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TStyle)) {
+            return false;
+        }
+        TStyle other = (TStyle) obj;
+        return strokeCap == other.strokeCap && strokeJoin == other.strokeJoin &&
+               Float.floatToIntBits(strokeWeight) == Float.floatToIntBits(other.strokeWeight) &&
+               fillColor == other.fillColor && strokeColor == other.strokeColor &&
+               stroke == other.stroke && fill == other.fill;
+    }
+    
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + strokeCap;
+        result = prime * result + strokeJoin;
+        result = prime * result + Float.floatToIntBits(strokeWeight);
+        result = prime * result + fillColor;
+        result = prime * result + strokeColor;
+        result = prime * result + (stroke ? 1231 : 1237);
+        result = prime * result + (fill ? 1231 : 1237);
+        return result;
+    }
+
     @Override
     public String toString() {
         return "Style [strokeCap=" + strokeCap + ", strokeJoin=" + strokeJoin + ", strokeWeight=" + strokeWeight
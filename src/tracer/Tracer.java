@@ -17,6 +17,7 @@ public class Tracer<T extends Path> extends Point {
     protected float speed1D; //@param The Tracer's speed in 1D space, relative to the Tracer's easing curve.
     protected T path; //@param The Path to which the Tracer is attached
     protected Easing easing; //@param The easing curve determining how the Tracer moves in time.
+    protected boolean arcLengthParameterized; //@param Whether the Tracer moves at a constant speed along its Path.
     
     /**************************
      ***** Initialization *****
@@ -28,6 +29,7 @@ public class Tracer<T extends Path> extends Point {
      */
     public Tracer(Tracer<T> t) {
         this(t.path, t.input1D, t.speed1D, t.easing);
+        this.arcLengthParameterized = t.arcLengthParameterized;
     }
 
     /**
@@ -78,7 +80,12 @@ public class Tracer<T extends Path> extends Point {
     
     private void trace() {
         float y = easing.val(input1D);
-        path.trace(this, y);
+        if (arcLengthParameterized) {
+            path.traceArcLength(this, y);
+        }
+        else {
+            path.trace(this, y);
+        }
     }
     
     /******************
@@ -120,6 +127,23 @@ public class Tracer<T extends Path> extends Point {
         trace();
     }
     
+    /**
+     * Sets whether the Tracer moves at a constant speed along its Path.
+     * 
+     * <br>
+     * <br>
+     * 
+     * By default, a Tracer moves at a constant speed in terms of its Path's 1D coordinate, which, for
+     * many types of Path, means that it visibly speeds up and slows down. When this is set to true,
+     * the Tracer measures its progress in terms of distance along the Path instead (see Path.traceArcLength()).
+     * 
+     * @param arcLengthParameterized True, to move at a constant speed along the Path, false otherwise
+     */
+    public void setArcLengthParameterized(boolean arcLengthParameterized) {
+        this.arcLengthParameterized = arcLengthParameterized;
+        trace();
+    }
+    
     /*******************
      ***** Getters *****
      *******************/
@@ -164,6 +188,14 @@ public class Tracer<T extends Path> extends Point {
         return easing;
     }
     
+    /**
+     * Tells whether the Tracer moves at a constant speed along its Path.
+     * @return True, if the Tracer moves at a constant speed along its Path, false otherwise
+     */
+    public boolean isArcLengthParameterized() {
+        return arcLengthParameterized;
+    }
+    
     @Override
     public Tracer clone() {
         return new Tracer(this);
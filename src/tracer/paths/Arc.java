@@ -100,6 +100,7 @@ public class Arc extends Path {
             cd.set(c, d);
             this.ellipseMode = ellipseMode;
         }
+        invalidate();
     }
     
     /**
@@ -125,6 +126,7 @@ public class Arc extends Path {
                 break;
         }
         this.ellipseMode = ellipseMode;
+        invalidate();
     }
     
     /**
@@ -145,6 +147,7 @@ public class Arc extends Path {
             this.cd = new Point(c, d);
             this.ellipseMode = ellipseMode;
         }
+        invalidate();
     }
     
     /********************
@@ -173,6 +176,27 @@ public class Arc extends Path {
         target.x = getCenx() + getXRadius() * PApplet.cos(angle);
         target.y = getCeny() + getYRadius() * PApplet.sin(angle);
     }
+
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        float cenx = getCenx();
+        float ceny = getCeny();
+        float xRadius = getXRadius();
+        float yRadius = getYRadius();
+        float dAngle = endAngle - startAngle;
+        for (int i=0; i<n; i++) {
+            float u = Path.remainder(us[i], 1.0f);
+            if (reversed) {
+                u = 1.0f - u;
+                if (u == 1.0f) {
+                    u = ALMOST_ONE;
+                }
+            }
+            float angle = startAngle + u * dAngle;
+            xs[i] = cenx + xRadius * PApplet.cos(angle);
+            ys[i] = ceny + yRadius * PApplet.sin(angle);
+        }
+    }
     
     /******************
      ***** Events *****
@@ -184,6 +208,7 @@ public class Arc extends Path {
         if (ellipseMode == CORNERS) {
             cd.translate(dx, dy);
         }
+        invalidate();
     }
     
     /**
@@ -192,6 +217,7 @@ public class Arc extends Path {
      */
     public void setStartAngle(float startAngle) {
         this.startAngle = startAngle;
+        invalidate();
     }
     
     /**
@@ -200,6 +226,7 @@ public class Arc extends Path {
      */
     public void setEndAngle(float endAngle) {
         this.endAngle = endAngle;
+        invalidate();
     }
     
     @Override
@@ -213,6 +240,7 @@ public class Arc extends Path {
      */
     public void setAB(Point ab) {
         this.ab = ab;
+        invalidate();
     }
     
     /**
@@ -221,6 +249,7 @@ public class Arc extends Path {
      */
     public void setCD(Point cd) {
         this.cd = cd;
+        invalidate();
     }
     
     /**
@@ -229,6 +258,7 @@ public class Arc extends Path {
      */
     public void setEllipseMode(int ellipseMode) {
         this.ellipseMode = ellipseMode;
+        invalidate();
     }
     
     /*******************
@@ -0,0 +1,66 @@
+package tracer.paths;
+
+/**
+ * 
+ * A table of a Path's length measured at evenly spaced 1D coordinates, used to map
+ * a proportion of the Path's length back to a 1D coordinate.
+ * 
+ * <br>
+ * <br>
+ * 
+ * Tables are never modified after they're made, so a Path can replace its table
+ * while other threads are still reading the old one.
+ * 
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+class ArcLengthTable {
+    final long version; //the version of the Path when it was measured
+    private final float[] lengths; //lengths[i] is the length of the Path from trace(0) to trace(i / (lengths.length-1))
+    
+    /**
+     * 
+     * @param version The version of the Path when it was measured
+     * @param lengths The cumulative lengths, measured at evenly spaced 1D coordinates
+     */
+    ArcLengthTable(long version, float[] lengths) {
+        this.version = version;
+        this.lengths = lengths;
+    }
+    
+    /**
+     * Maps a proportion of the total length to a 1D coordinate.
+     * 
+     * @param u A number within [0, 1)
+     * @return The 1D coordinate, a number within [0, 1)
+     */
+    float map(float u) {
+        int n = lengths.length - 1;
+        float total = lengths[n];
+        if (n < 1 || total <= 0) {
+            return u;
+        }
+        
+        float target = u * total;
+        
+        //find the first sample that lies further along than the target
+        int lo = 1;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lengths[mid] > target) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        
+        //interpolate between it and the previous sample
+        float l1 = lengths[lo - 1];
+        float l2 = lengths[lo];
+        float v = (l2 > l1) ? (target - l1) / (l2 - l1) : 0;
+        float result = (lo - 1 + v) / n;
+        return (result < 1) ? result : Path.ALMOST_ONE;
+    }
+}
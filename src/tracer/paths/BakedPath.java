@@ -0,0 +1,284 @@
+package tracer.paths;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+import processing.core.PShape;
+import processing.data.FloatList;
+import tracer.Point;
+import tracer.TStyle;
+
+/**
+ *
+ * A snapshot of another Path, flattened into a polyline (see Path.flatten()).
+ *
+ * <br>
+ * <br>
+ *
+ * The vertices are stored along with the 1D coordinate each one had on the original Path, so a
+ * BakedPath traces to (almost) the same points as the original, with a binary search in place of
+ * whatever the original had to compute. Gaps are carried over from the original. A BakedPath can be
+ * translated and reversed, but its shape is fixed when it's baked: the baked vertices are never written
+ * to again, and translating a BakedPath only moves an offset that is added to them, so any number of
+ * copies can share the same vertices.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class BakedPath extends Path {
+    private final float[] xs, ys;
+    private final float[] us;
+    private final float[] lengths;
+    private final int[] pieceStarts;
+    private final float[] gaps;
+    private final float bakeTolerance;
+    private float dx, dy; //the translation, added to each vertex
+
+    /**************************
+     ***** Initialization *****
+     **************************/
+
+    /**
+     * Bakes the given Path. The Path itself is left as it is, and later changes to it do not
+     * affect the BakedPath.
+     *
+     * @param path The Path to bake
+     * @param tolerance The greatest distance allowed between the BakedPath and the original Path
+     */
+    public BakedPath(Path path, float tolerance) {
+        super(path.sampleCount);
+        if (tolerance <= 0) {
+            throw new IllegalArgumentException("BakedPath tolerance must be greater than 0.");
+        }
+
+        FloatList us = new FloatList();
+        FloatList xs = new FloatList();
+        FloatList ys = new FloatList();
+        float[] pieces = path.getPieces();
+        int[] pieceStarts = new int[pieces.length / 2 + 1];
+        for (int i=0; i<pieces.length; i+=2) {
+            pieceStarts[i / 2] = xs.size();
+            path.flatten(pieces[i], pieces[i+1], tolerance, us, xs, ys);
+        }
+        pieceStarts[pieceStarts.length - 1] = xs.size();
+
+        this.us = us.array();
+        this.xs = xs.array();
+        this.ys = ys.array();
+        this.pieceStarts = pieceStarts;
+        this.lengths = new float[this.xs.length];
+        this.gaps = path.getGaps().clone();
+        this.bakeTolerance = tolerance;
+        this.style = new TStyle(path.style);
+
+        //the jump across a gap doesn't count toward the length
+        for (int p=0; p<pieceStarts.length-1; p++) {
+            int start = pieceStarts[p];
+            if (start > 0) {
+                lengths[start] = lengths[start-1];
+            }
+            for (int i=start+1; i<pieceStarts[p+1]; i++) {
+                lengths[i] = lengths[i-1] + PApplet.dist(this.xs[i-1], this.ys[i-1], this.xs[i], this.ys[i]);
+            }
+        }
+    }
+
+    /**
+     * Copy constructor. The copy shares the baked vertices, which never change, and has its own
+     * translation, so it can be translated apart from the original.
+     *
+     * @param b The BakedPath to copy
+     */
+    public BakedPath(BakedPath b) {
+        super(b.sampleCount);
+        this.xs = b.xs;
+        this.ys = b.ys;
+        this.dx = b.dx;
+        this.dy = b.dy;
+        this.us = b.us;
+        this.lengths = b.lengths;
+        this.pieceStarts = b.pieceStarts;
+        this.gaps = b.gaps;
+        this.bakeTolerance = b.bakeTolerance;
+        this.style = new TStyle(b.style);
+        this.reversed = b.reversed;
+    }
+
+    /********************
+     ***** Behavior *****
+     ********************/
+
+    @Override
+    public void draw(PGraphics g) {
+        style.apply(g);
+        if (isRetained()) {
+            drawRetained(g);
+            return;
+        }
+        for (int p=0; p<pieceStarts.length-1; p++) {
+            g.beginShape();
+            for (int i=pieceStarts[p]; i<pieceStarts[p+1]; i++) {
+                g.vertex(xs[i] + dx, ys[i] + dy);
+            }
+            g.endShape();
+        }
+    }
+
+    @Override
+    protected void tessellate(PGraphics g, PShape group) {
+        for (int p=0; p<pieceStarts.length-1; p++) {
+            PShape child = g.createShape();
+            child.beginShape();
+            for (int i=pieceStarts[p]; i<pieceStarts[p+1]; i++) {
+                child.vertex(xs[i] + dx, ys[i] + dy);
+            }
+            child.endShape();
+            group.addChild(child);
+        }
+    }
+
+    @Override
+    public void trace(Point target, float u) {
+        u = Path.remainder(u, 1.0f);
+        if (reversed) {
+            u = 1.0f - u;
+            if (u == 1.0f) {
+                u = ALMOST_ONE;
+            }
+        }
+
+        int i = indexOfSpan(us, u);
+        float u1 = us[i];
+        float u2 = us[i+1];
+        float t = (u2 > u1) ? (u - u1) / (u2 - u1) : 0;
+        target.x = PApplet.lerp(xs[i], xs[i+1], t) + dx;
+        target.y = PApplet.lerp(ys[i], ys[i+1], t) + dy;
+    }
+
+    /******************
+     ***** Events *****
+     ******************/
+
+    @Override
+    public void translate(float dx, float dy) {
+        this.dx += dx;
+        this.dy += dy;
+        invalidate();
+    }
+
+    /*******************
+     ***** Getters *****
+     *******************/
+
+    @Override
+    public BakedPath clone() {
+        return new BakedPath(this);
+    }
+
+    @Override
+    protected float computeLength() {
+        return (lengths.length == 0) ? 0 : lengths[lengths.length - 1];
+    }
+
+    @Override
+    public float mapArcLength(float u) {
+        u = Path.remainder(u, 1.0f);
+
+        int n = lengths.length;
+        if (n < 2 || lengths[n-1] == 0) {
+            return u;
+        }
+
+        //a BakedPath is reversed by tracing its vertices backward, so measure the length from the other end
+        if (reversed) {
+            return Path.remainder(1.0f - mapLength((1.0f - u) * lengths[n-1]), 1.0f);
+        }
+        return mapLength(u * lengths[n-1]);
+    }
+
+    /**
+     * Gives the 1D coordinate, not counting reversal, of the point at the given length along the BakedPath.
+     */
+    private float mapLength(float target) {
+        int i = indexOfSpan(lengths, target);
+        float l1 = lengths[i];
+        float l2 = lengths[i+1];
+        float t = (l2 > l1) ? (target - l1) / (l2 - l1) : 0;
+        return PApplet.lerp(us[i], us[i+1], t);
+    }
+
+    @Override
+    protected void computeBounds(float[] bounds) {
+        for (int i=0; i<xs.length; i++) {
+            includePoint(bounds, xs[i] + dx, ys[i] + dy);
+        }
+    }
+
+    @Override
+    public int getGapCount() {
+        return gaps.length;
+    }
+
+    @Override
+    public float getGap(int i) {
+        float[] gaps = getGaps();
+        if (i < 0 || i >= gaps.length) {
+            throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
+        }
+        return gaps[i];
+    }
+
+    @Override
+    protected float[] computeGaps() {
+        return reversed ? mirrorGaps(gaps) : gaps.clone();
+    }
+
+    /**
+     * Gives the number of vertices in the BakedPath.
+     *
+     * @return The number of vertices
+     */
+    public int getVertexCount() {
+        return xs.length;
+    }
+
+    /**
+     * Gives the tolerance the BakedPath was baked with. This is separate from getTolerance(),
+     * which a BakedPath ignores since it's already a polyline.
+     *
+     * @return The tolerance
+     */
+    public float getBakeTolerance() {
+        return bakeTolerance;
+    }
+
+    @Override
+    public String toString() {
+        return "BakedPath [vertexCount=" + xs.length + ", gapCount=" + gaps.length + "]";
+    }
+
+    /******************
+     ***** Static *****
+     ******************/
+
+    /**
+     * Finds the span of the given ascending values that contains x, with a binary search.
+     *
+     * @param values The values, in ascending order
+     * @param x The value to look up
+     * @return The index i such that values[i] <= x < values[i+1], clamped to [0, values.length-2]
+     */
+    private static int indexOfSpan(float[] values, float x) {
+        int lo = 0;
+        int hi = values.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] > x) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        return PApplet.max(0, PApplet.min(lo - 1, values.length - 2));
+    }
+}
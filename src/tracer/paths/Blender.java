@@ -2,6 +2,7 @@ package tracer.paths;
 
 import processing.core.PApplet;
 import processing.core.PGraphics;
+import processing.core.PShape;
 import tracer.Point;
 
 /**
@@ -13,11 +14,11 @@ import tracer.Point;
  * @param <U> the type of thes second path
  */
 public class Blender<T extends Path, U extends Path> extends Path {
-    private Point bufferPtA = new Point(0, 0);
-    private Point bufferPtB = new Point(0, 0);
     private T a;
     private U b;
     private float blendAmt;
+    private boolean morphCached;
+    private CachedMorph cachedMorph;
 
     /**************************
      ***** Initialization *****
@@ -35,6 +36,8 @@ public class Blender<T extends Path, U extends Path> extends Path {
         this.a = a;
         this.b = b;
         this.blendAmt = blendAmt;
+        a.addParent(this);
+        b.addParent(this);
         setSamplesPerUnitLength(Path.defaultSamplesPerUnitLength);
     }
 
@@ -45,6 +48,7 @@ public class Blender<T extends Path, U extends Path> extends Path {
      */
     public Blender(Blender<T, U> blender) {
         this((T)blender.a.clone(), (U)blender.b.clone(), blender.blendAmt, blender.sampleCount);
+        this.morphCached = blender.morphCached;
     }
 
     /**
@@ -70,12 +74,169 @@ public class Blender<T extends Path, U extends Path> extends Path {
                 u = ALMOST_ONE;
             }
         }
-        a.trace(bufferPtA, u);
-        b.trace(bufferPtB, u);
-        target.x = PApplet.lerp(bufferPtA.x, bufferPtB.x, blendAmt);
-        target.y = PApplet.lerp(bufferPtA.y, bufferPtB.y, blendAmt);
+        //trace a and b into the target itself, one after the other, so that no scratch point is needed
+        a.trace(target, u);
+        float ax = target.x;
+        float ay = target.y;
+        b.trace(target, u);
+        target.x = PApplet.lerp(ax, target.x, blendAmt);
+        target.y = PApplet.lerp(ay, target.y, blendAmt);
+    }
+    
+    /**
+     * Traces a and b each once for the whole batch and blends the results, or traces only one of
+     * them if the Blender is blended all the way to that side.
+     */
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        if (reversed) {
+            float[] reversedUs = new float[n];
+            for (int i=0; i<n; i++) {
+                float u = 1.0f - Path.remainder(us[i], 1.0f);
+                reversedUs[i] = (u == 1.0f) ? ALMOST_ONE : u;
+            }
+            us = reversedUs;
+        }
+        
+        if (blendAmt == 0) {
+            a.trace(us, xs, ys, n);
+            return;
+        }
+        if (blendAmt == 1) {
+            b.trace(us, xs, ys, n);
+            return;
+        }
+        
+        float[] bxs = new float[n];
+        float[] bys = new float[n];
+        a.trace(us, xs, ys, n);
+        b.trace(us, bxs, bys, n);
+        for (int i=0; i<n; i++) {
+            xs[i] = PApplet.lerp(xs[i], bxs[i], blendAmt);
+            ys[i] = PApplet.lerp(ys[i], bys[i], blendAmt);
+        }
     }
 
+    /**
+     * Draws the Blender. With the morph cache on (see setMorphCached()), the Blender is drawn by
+     * interpolating between samples of a and b taken at the draw resolution and kept until a or b changes,
+     * so while only the blendAmt changes from one frame to the next, drawing costs one lerp per vertex
+     * and neither a nor b is traced again. Otherwise, it is traced afresh like any other Path.
+     * 
+     * @param g A PGraphics object on which to draw the path
+     */
+    @Override
+    public void draw(PGraphics g) {
+        if (!morphCached || isRetained() || isLevelOfDetail() || tolerance > 0) {
+            super.draw(g);
+            return;
+        }
+        
+        style.apply(g);
+        CachedMorph morph = getMorph();
+        float[] axs = morph.axs;
+        float[] ays = morph.ays;
+        float[] bxs = morph.bxs;
+        float[] bys = morph.bys;
+        int[] starts = morph.pieceStarts;
+        for (int p=0; p<starts.length-1; p++) {
+            g.beginShape();
+            for (int i=starts[p]; i<starts[p+1]; i++) {
+                g.vertex(PApplet.lerp(axs[i], bxs[i], blendAmt), PApplet.lerp(ays[i], bys[i], blendAmt));
+            }
+            g.endShape();
+        }
+    }
+    
+    @Override
+    protected void tessellate(PGraphics g, PShape group) {
+        if (!morphCached || tolerance > 0) {
+            super.tessellate(g, group);
+            return;
+        }
+        
+        CachedMorph morph = getMorph();
+        int[] starts = morph.pieceStarts;
+        for (int p=0; p<starts.length-1; p++) {
+            PShape child = g.createShape();
+            child.beginShape();
+            for (int i=starts[p]; i<starts[p+1]; i++) {
+                child.vertex(PApplet.lerp(morph.axs[i], morph.bxs[i], blendAmt), 
+                        PApplet.lerp(morph.ays[i], morph.bys[i], blendAmt));
+            }
+            child.endShape();
+            group.addChild(child);
+        }
+    }
+    
+    /**
+     * Gives the samples of a and b that the Blender is drawn from, sampling them again only if
+     * a or b has changed or been replaced, or the Blender has been reversed or resampled, since they were last sampled.
+     * The Blender's own version isn't part of the key, since it changes with the blendAmt.
+     */
+    private CachedMorph getMorph() {
+        long version = Math.max(a.getVersion(), b.getVersion());
+        CachedMorph morph = cachedMorph;
+        if (morph == null || morph.a != a || morph.b != b || morph.version != version
+                || morph.reversed != reversed || morph.sampleCount != sampleCount) {
+            morph = new CachedMorph(a, b, version, reversed, sampleCount, getPieces());
+            cachedMorph = morph;
+        }
+        return morph;
+    }
+    
+    /**
+     * Samples of a and b at the same 1D coordinates, one run of samples for each unbroken piece
+     * of the Blender, sampled as Path.tessellate() samples each piece.
+     */
+    private static class CachedMorph {
+        final Path a, b; //the Paths sampled, since a Path set with setA() or setB() may be no newer than the one it replaces
+        final long version;
+        final boolean reversed;
+        final int sampleCount;
+        final int[] pieceStarts; //the samples of the ith piece run from pieceStarts[i] up to pieceStarts[i+1]
+        final float[] axs, ays, bxs, bys;
+        
+        CachedMorph(Path a, Path b, long version, boolean reversed, int sampleCount, float[] pieces) {
+            this.a = a;
+            this.b = b;
+            this.version = version;
+            this.reversed = reversed;
+            this.sampleCount = sampleCount;
+            
+            pieceStarts = new int[pieces.length/2 + 1];
+            for (int i=0; i<pieces.length; i+=2) {
+                int n = 1 + PApplet.max(1, (int) (sampleCount * (pieces[i+1] - pieces[i])));
+                pieceStarts[i/2 + 1] = pieceStarts[i/2] + n;
+            }
+            
+            int total = pieceStarts[pieceStarts.length-1];
+            float[] us = new float[total];
+            for (int i=0; i<pieces.length; i+=2) {
+                int start = pieceStarts[i/2];
+                int n = pieceStarts[i/2 + 1] - start;
+                float du = (pieces[i+1] - pieces[i]) / (n - 1);
+                for (int j=0; j<n; j++) {
+                    float u = Path.remainder(pieces[i] + j * du, 1.0f);
+                    if (reversed) {
+                        u = 1.0f - u;
+                        if (u == 1.0f) {
+                            u = ALMOST_ONE;
+                        }
+                    }
+                    us[start + j] = u;
+                }
+            }
+            
+            axs = new float[total];
+            ays = new float[total];
+            bxs = new float[total];
+            bys = new float[total];
+            a.trace(us, axs, ays, total);
+            b.trace(us, bxs, bys, total);
+        }
+    }
+    
     /******************
      ***** Events *****
      ******************/
@@ -91,7 +252,10 @@ public class Blender<T extends Path, U extends Path> extends Path {
      * @param a the first path
      */
     public void setA(T a) {
+        this.a.removeParent(this);
         this.a = a;
+        a.addParent(this);
+        invalidate();
     }
     
     /**
@@ -99,7 +263,10 @@ public class Blender<T extends Path, U extends Path> extends Path {
      * @param b the second path
      */
     public void setB(U b) {
+        this.b.removeParent(this);
         this.b = b;
+        b.addParent(this);
+        invalidate();
     }
     
     /**
@@ -108,6 +275,22 @@ public class Blender<T extends Path, U extends Path> extends Path {
      */
     public void setBlendAmt(float blendAmt) {
         this.blendAmt = blendAmt;
+        invalidate();
+    }
+    
+    /**
+     * Sets whether the Blender keeps samples of a and b to draw from (see draw()). The samples are
+     * taken again whenever a or b gets a new version, so a Point that a or b holds by reference
+     * (a shared center, for example) can't be moved without calling invalidate() on a or b, or the
+     * Blender will go on drawing the samples taken before it moved. The morph cache is off by default.
+     * 
+     * @param morphCached True, to keep samples of a and b to draw from, false otherwise
+     */
+    public void setMorphCached(boolean morphCached) {
+        this.morphCached = morphCached;
+        if (!morphCached) {
+            cachedMorph = null;
+        }
     }
     
     /**
@@ -116,6 +299,7 @@ public class Blender<T extends Path, U extends Path> extends Path {
      */
     public void addToBlendAmt(float dAmt) {
         this.blendAmt = Path.remainder(this.blendAmt + dAmt, 1);
+        invalidate();
     }
     
     /*******************
@@ -146,6 +330,45 @@ public class Blender<T extends Path, U extends Path> extends Path {
         return blendAmt;
     }
 
+    /**
+     * Tells whether the Blender keeps samples of a and b to draw from (see setMorphCached()).
+     * 
+     * @return true, if the Blender keeps samples of a and b to draw from, false otherwise
+     */
+    public boolean isMorphCached() {
+        return morphCached;
+    }
+
+    @Override
+    public long getVersion() {
+        return Math.max(super.getVersion(), Math.max(a.getVersion(), b.getVersion()));
+    }
+
+    /**
+     * Drops the Blender in favor of a or b if it is blended all the way to that side,
+     * and optimizes a and b otherwise. Since a and b may be shared, the Blender is only dropped
+     * if it isn't reversed and it has the same style as the Path it would be dropped for.
+     */
+    @Override
+    public Path optimize() {
+        Path optimizedA = a.optimize();
+        Path optimizedB = b.optimize();
+        if (!reversed && blendAmt == 0 && style.equals(optimizedA.style)) {
+            return optimizedA;
+        }
+        if (!reversed && blendAmt == 1 && style.equals(optimizedB.style)) {
+            return optimizedB;
+        }
+        if (optimizedA == a && optimizedB == b) {
+            return this;
+        }
+        Blender<Path, Path> blender = new Blender<Path, Path>(optimizedA, optimizedB, blendAmt);
+        blender.setSampleCount(sampleCount);
+        blender.setMorphCached(morphCached);
+        blender.copyStyleAndOrientation(this);
+        return blender;
+    }
+    
     @Override
     public Blender<T, U> clone() {
         return new Blender(this);
@@ -153,121 +376,23 @@ public class Blender<T extends Path, U extends Path> extends Path {
 
     @Override
     public int getGapCount() {
-        int j = 0; //loops through a's gaps
-        int k = 0; //loops through b's gaps
-        int count = 0; //loops through all gaps
-        
-        while (j < a.getGapCount() || k < b.getGapCount()) {
-            float gapA = (j < a.getGapCount()) ? a.getGap(j) : -1;
-            float gapB = (k < b.getGapCount()) ? b.getGap(k) : -1;
-            if (gapA < gapB) {
-                j++;
-            }
-            else if (gapA == gapB) {
-                j++;
-                k++;
-            }
-            else {
-                k++;
-            }
-            count++;
-        }
-
-        return count;
+        return getGaps().length;
     }
 
     @Override
-    public float getGap(int i) {        
-        if (!reversed) {
-            int j = 0; //loops through a's gaps
-            int k = 0; //loops through b's gaps
-            int count = 0; //loops through all gaps
-            
-            while (j < a.getGapCount() || k < b.getGapCount()) {
-                float gapA = (j < a.getGapCount()) ? a.getGap(j) : -1;
-                float gapB = (k < b.getGapCount()) ? b.getGap(k) : -1;
-                if (gapA < gapB) {
-                    if (i == count) {
-                        return gapA;
-                    }
-                    j++;
-                }
-                else if (gapA == gapB) {
-                    if (i == count) {
-                        return gapA;
-                    }
-                    j++;
-                    k++;
-                }
-                else {
-                    if (i == count) {
-                        return gapB;
-                    }
-                    k++;
-                }
-                count++;
-            }
+    public float getGap(int i) {
+        float[] gaps = getGaps();
+        if (i < 0 || i >= gaps.length) {
+            throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
         }
-        //TODO test
-        else {
-            int j = a.getGapCount()-1; //loops through a's gaps
-            int k = b.getGapCount()-1; //loops through b's gaps
-            int count = 0; //loops through all gaps
-            
-            while (j < a.getGapCount() || k < b.getGapCount()) {
-                float gapA = (j >= 0) ? a.getGap(j) : -1;
-                float gapB = (k >= 0) ? b.getGap(k) : -1;
-                
-                gapA = 1.0f - gapA;
-                if (gapA == 1.0f) {
-                    gapA = 0.0f;
-                }
-                gapB = 1.0f - gapB;
-                if (gapB == 1.0f) {
-                    gapB = 0.0f;
-                }
-                
-                if (gapA < gapB) {
-                    if (i == count) {
-                        return gapA;
-                    }
-                    j--;
-                }
-                else if (gapA == gapB) {
-                    if (i == count) {
-                        return gapA;
-                    }
-                    j--;
-                    k--;
-                }
-                else {
-                    if (i == count) {
-                        return gapB;
-                    }
-                    k--;
-                }
-                count++;
-            }
-        }
-
-        throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
+        return gaps[i];
     }
     
     @Override
-    public boolean isGap(float u) {       
-        for (int i=0; i<a.getGapCount(); i++) {
-            if (u == a.getGap(i)) {
-                return true;
-            }
-        }
-        
-        for (int i=0; i<b.getGapCount(); i++) {
-            if (u == b.getGap(i)) {
-                return true;
-            }
-        }
-
-        return false;
+    protected float[] computeGaps() {
+        float[] gapsA = reversed ? mirrorGaps(a.getGaps()) : a.getGaps();
+        float[] gapsB = reversed ? mirrorGaps(b.getGaps()) : b.getGaps();
+        return mergeGaps(gapsA, gapsB);
     }
     
     /**
@@ -89,6 +89,19 @@ public class Circle extends Path {
         target.x = center.x + radius * PApplet.cos(startAngle + radians);
         target.y = center.y + radius * PApplet.sin(startAngle + radians);
     }
+
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        //cos and sin are periodic, so there's no need to take the remainder of each u
+        float dRadians = reversed ? -PApplet.TWO_PI : PApplet.TWO_PI;
+        float cenx = center.x;
+        float ceny = center.y;
+        for (int i=0; i<n; i++) {
+            float radians = startAngle + us[i] * dRadians;
+            xs[i] = cenx + radius * PApplet.cos(radians);
+            ys[i] = ceny + radius * PApplet.sin(radians);
+        }
+    }
     
     /******************
      ***** Events *****
@@ -97,6 +110,7 @@ public class Circle extends Path {
     @Override
     public void translate(float dx, float dy) {
         center.translate(dx, dy);
+        invalidate();
     }
 
     /**
@@ -105,6 +119,7 @@ public class Circle extends Path {
      */
     public void setStartAngle(float startAngle) {
         this.startAngle = startAngle;
+        invalidate();
     }
     
     /**
@@ -115,6 +130,7 @@ public class Circle extends Path {
     public void setCenter(float x, float y) {
         this.center.x = x;
         this.center.y = y;
+        invalidate();
     }
     
     /**
@@ -123,6 +139,7 @@ public class Circle extends Path {
      */
     public void setCenter(Point center) {
         this.center = center;
+        invalidate();
     }
     
     /**
@@ -132,6 +149,7 @@ public class Circle extends Path {
      */
     public void setDiameter(float diam) {
         this.radius = 2 * diam;
+        invalidate();
     }
     
     /**
@@ -141,6 +159,7 @@ public class Circle extends Path {
      */
     public void setRadius(float radius) {
         this.radius = radius;
+        invalidate();
     }
     
     /*******************
@@ -152,10 +171,23 @@ public class Circle extends Path {
         return new Circle(this);
     }
 
+    @Override
+    protected void computeBounds(float[] bounds) {
+        float r = PApplet.abs(radius);
+        includePoint(bounds, center.x - r, center.y - r);
+        includePoint(bounds, center.x + r, center.y + r);
+    }
+
     @Override
     public float getLength() {
         return PApplet.TWO_PI * radius;
     }
+
+    @Override
+    public float mapArcLength(float u) {
+        //a Circle is already traced at a constant speed
+        return Path.remainder(u, 1.0f);
+    }
     
     /**
      * Gives the center point of the Circle.
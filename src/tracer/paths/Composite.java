@@ -1,8 +1,13 @@
 package tracer.paths;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import processing.core.PApplet;
 import processing.core.PGraphics;
+import processing.core.PShape;
 import processing.core.PStyle;
+import processing.data.FloatList;
 import tracer.Point;
 import tracer.TStyle;
 
@@ -31,6 +36,8 @@ public class Composite<T extends Path, U extends Path> extends Path {
     public Composite(T a, U b) {
         this.a = a;
         this.b = b;
+        a.addParent(this);
+        b.addParent(this);
         setSamplesPerUnitLength(Path.defaultSamplesPerUnitLength);
     }
 
@@ -72,6 +79,12 @@ public class Composite<T extends Path, U extends Path> extends Path {
         b.draw(g);
     }
     
+    @Override
+    protected void tessellate(PGraphics g, PShape group) {
+        a.tessellate(g, group);
+        b.tessellate(g, group);
+    }
+    
     /******************
      ***** Events *****
      ******************/
@@ -87,7 +100,10 @@ public class Composite<T extends Path, U extends Path> extends Path {
      * @param a the first path
      */
     public void setA(T a) {
+        this.a.removeParent(this);
         this.a = a;
+        a.addParent(this);
+        invalidate();
     }
     
     /**
@@ -95,7 +111,10 @@ public class Composite<T extends Path, U extends Path> extends Path {
      * @param b the second path
      */
     public void setB(U b) {
+        this.b.removeParent(this);
         this.b = b;
+        b.addParent(this);
+        invalidate();
     }
     
     @Override
@@ -119,6 +138,13 @@ public class Composite<T extends Path, U extends Path> extends Path {
         b.setStyle(pa);
     }
     
+    @Override
+    public void setRetained(boolean retained) {
+        super.setRetained(retained);
+        a.setRetained(retained);
+        b.setRetained(retained);
+    }
+    
     @Override
     public void setStrokeCap(int strokeCap) {
         style.strokeCap = strokeCap;
@@ -189,72 +215,111 @@ public class Composite<T extends Path, U extends Path> extends Path {
     }
 
     @Override
-    public Composite<T, U> clone() {
-        return new Composite(this);
+    public long getVersion() {
+        return Math.max(super.getVersion(), Math.max(a.getVersion(), b.getVersion()));
     }
 
     @Override
-    public int getGapCount() {
-        int gapCount = 1 + a.getGapCount() + 1 + b.getGapCount();
-        
-        if (a.getGapCount() > 0 && a.getGap(0) == 0) {
-            gapCount--;
+    protected void computeBounds(float[] bounds) {
+        includeBounds(bounds, a);
+        includeBounds(bounds, b);
+    }
+
+    /**
+     * Flattens a Composite of Composites into a MultiComposite, weighting each Path by the share of
+     * [0, 1) it has within the nested Composites, so that it's traced with one lookup rather than one per level.
+     * A reversed Composite is left as it is.
+     */
+    @Override
+    public Path optimize() {
+        if (reversed) {
+            return this;
         }
         
-        if (b.getGapCount() > 0 && b.getGap(0) == 0) {
-            gapCount--;
+        List<Path> paths = new ArrayList<Path>();
+        FloatList weights = new FloatList();
+        collect(a, 0.5f, paths, weights);
+        collect(b, 0.5f, paths, weights);
+        for (int i=0; i<paths.size(); i++) {
+            paths.set(i, paths.get(i).optimize());
         }
-        
-        return gapCount;
+        if (paths.size() == 2) {
+            if (paths.get(0) == a && paths.get(1) == b) {
+                return this;
+            }
+            Composite<Path, Path> composite = new Composite<Path, Path>(paths.get(0), paths.get(1));
+            composite.setSampleCount(sampleCount);
+            composite.copyStyleAndOrientation(this);
+            return composite;
+        }
+        MultiComposite<Path> multiComposite = new MultiComposite<Path>(paths, weights.array());
+        multiComposite.setSampleCount(sampleCount);
+        multiComposite.copyStyleAndOrientation(this);
+        return multiComposite;
+    }
+    
+    /**
+     * Lists the Paths at the bottom of the given Path, if it is an unreversed Composite, and the share
+     * of [0, 1) that each is traced over.
+     */
+    private static void collect(Path path, float weight, List<Path> paths, FloatList weights) {
+        if (path instanceof Composite && !path.reversed) {
+            Composite<?, ?> c = (Composite<?, ?>) path;
+            collect(c.a, 0.5f * weight, paths, weights);
+            collect(c.b, 0.5f * weight, paths, weights);
+        }
+        else {
+            paths.add(path);
+            weights.append(weight);
+        }
+    }
+
+    @Override
+    public Composite<T, U> clone() {
+        return new Composite(this);
+    }
+
+    @Override
+    public int getGapCount() {
+        return getGaps().length;
     }
 
     @Override
-    //TODO Test
     public float getGap(int i) {
-        int aGapCount = a.getGapCount();
-        int bGapCount = b.getGapCount();
-        
-        if (i == 0) {
-            return 0;
+        float[] gaps = getGaps();
+        if (i < 0 || i >= gaps.length) {
+            throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
         }
-        else if (aGapCount > 0 && a.getGap(0) == 0) {
-            if (i < aGapCount) {
-                return a.getGap(i);
-            }
-            else if (i == aGapCount) {
-                return 0.5f;
-            }
-            else if (bGapCount > 0 && b.getGap(0) == 0) {
-                if (i < aGapCount + bGapCount) {
-                    return b.getGap(i-aGapCount);
-                }
-            }
-            else {
-                if (i < aGapCount + bGapCount + 1) {
-                    return b.getGap(i-aGapCount-1);
-                }
+        return gaps[i];
+    }
+    
+    @Override
+    protected float[] computeGaps() {
+        float[] gapsA = a.getGaps();
+        float[] gapsB = b.getGaps();
+        FloatList gaps = new FloatList();
+        
+        //a is traced over [0, 0.5) and b over [0.5, 1), and each starts with a gap
+        gaps.append(0);
+        for (float gap : gapsA) {
+            if (gap != 0) {
+                gaps.append(0.5f * gap);
             }
         }
-        else {
-            if (i < 1 + aGapCount) {
-                return a.getGap(i-1);
-            }
-            else if (i == aGapCount+1) {
-                return 0.5f;
-            }
-            else if (bGapCount > 0 && b.getGap(0) == 0) {
-                if (i < aGapCount + 1 + bGapCount) {
-                    return b.getGap(i-aGapCount-1);
-                }
+        gaps.append(0.5f);
+        for (float gap : gapsB) {
+            if (gap != 0) {
+                gaps.append(0.5f + 0.5f * gap);
             }
-            else {
-                if (i < aGapCount + 1 + bGapCount + 1) {
-                    return b.getGap(i-bGapCount-2);
-                }
+        }
+        
+        if (reversed) {
+            for (int i=1; i<gaps.size(); i++) {
+                gaps.set(i, 1.0f - gaps.get(i));
             }
         }
         
-        throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
+        return gaps.array();
     }
 
     @Override
@@ -86,6 +86,30 @@ public class CubicBezier extends Path {
         target.x = bezierPoint(a1.x, c1.x, c2.x, a2.x, u);
         target.y = bezierPoint(a1.y, c1.y, c2.y, a2.y, u);
     }
+    
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        //expand the Bernstein polynomials once per batch, so each point costs 3 multiply-adds per axis
+        float ax = a2.x - a1.x + 3 * (c1.x - c2.x);
+        float bx = 3 * (a1.x - 2 * c1.x + c2.x);
+        float cx = 3 * (c1.x - a1.x);
+        float dx = a1.x;
+        float ay = a2.y - a1.y + 3 * (c1.y - c2.y);
+        float by = 3 * (a1.y - 2 * c1.y + c2.y);
+        float cy = 3 * (c1.y - a1.y);
+        float dy = a1.y;
+        for (int i=0; i<n; i++) {
+            float t = Path.remainder(us[i], 1.0f);
+            if (reversed) {
+                t = 1.0f - t;
+                if (t == 1.0f) {
+                    t = ALMOST_ONE;
+                }
+            }
+            xs[i] = ((ax * t + bx) * t + cx) * t + dx;
+            ys[i] = ((ay * t + by) * t + cy) * t + dy;
+        }
+    }
 
     @Override
     public void draw(PGraphics g) {
@@ -108,6 +132,7 @@ public class CubicBezier extends Path {
         c1.y += dy;
         c2.y += dy;
         a2.y += dy;
+        invalidate();
     }
     
     /**
@@ -116,6 +141,7 @@ public class CubicBezier extends Path {
      */
     public void setAnchorX1(float ax1) {
         this.a1.x = ax1;
+        invalidate();
     }
     
     /**
@@ -124,6 +150,7 @@ public class CubicBezier extends Path {
      */
     public void setAnchorY1(float ay1) {
         this.a1.y = ay1;
+        invalidate();
     }
     
     /**
@@ -132,6 +159,7 @@ public class CubicBezier extends Path {
      */
     public void setControlX1(float cx1) {
         this.c1.x = cx1;
+        invalidate();
     }
     
     /**
@@ -140,6 +168,7 @@ public class CubicBezier extends Path {
      */
     public void setControlY1(float cy1) {
         this.c1.y = cy1;
+        invalidate();
     }
     
     /**
@@ -148,6 +177,7 @@ public class CubicBezier extends Path {
      */
     public void setControlX2(float cx2) {
         this.c2.x = cx2;
+        invalidate();
     }
     
     /**
@@ -156,6 +186,7 @@ public class CubicBezier extends Path {
      */
     public void setControlY2(float cy2) {
         this.c2.y = cy2;
+        invalidate();
     }
     
     /**
@@ -164,6 +195,7 @@ public class CubicBezier extends Path {
      */
     public void setAnchorX2(float ax2) {
         this.a2.x = ax2;
+        invalidate();
     }
     
     /**
@@ -172,6 +204,7 @@ public class CubicBezier extends Path {
      */
     public void setControl2(Point c2) {
         this.c2 = c2;
+        invalidate();
     }
     
     /**
@@ -180,6 +213,7 @@ public class CubicBezier extends Path {
      */
     public void setControl1(Point c1) {
         this.c1 = c1;
+        invalidate();
     }
     
     /**
@@ -188,6 +222,7 @@ public class CubicBezier extends Path {
      */
     public void setAnchor2(Point a2) {
         this.a2 = a2;
+        invalidate();
     }
     
     /**
@@ -196,6 +231,7 @@ public class CubicBezier extends Path {
      */
     public void setAnchorY2(float ay2) {
         this.a2.y = ay2;
+        invalidate();
     }
     
     /**
@@ -204,6 +240,7 @@ public class CubicBezier extends Path {
      */
     public void setAnchor1(Point a1) {
         this.a1 = a1;
+        invalidate();
     }
 
     /*******************
@@ -219,6 +256,49 @@ public class CubicBezier extends Path {
                3 * c * tSq * t1 +
                d * tSq * t;
     }
+    
+    /**
+     * Finds the parameters within (0, 1) at which the derivative of a 1D cubic Bezier curve is zero.
+     * 
+     * @param a The first anchor coordinate
+     * @param b The first control coordinate
+     * @param c The second control coordinate
+     * @param d The second anchor coordinate
+     * @param ts The array in which the parameters are stored
+     * @param n The index in ts at which to store the first parameter
+     * @return The index after the last parameter stored
+     */
+    private static int findExtrema(float a, float b, float c, float d, float[] ts, int n) {
+        //the derivative is the quadratic qa*t^2 + qb*t + qc
+        float qa = 3 * (-a + 3 * b - 3 * c + d);
+        float qb = 6 * (a - 2 * b + c);
+        float qc = 3 * (b - a);
+        
+        if (qa == 0) {
+            if (qb != 0) {
+                n = addIfInside(-qc / qb, ts, n);
+            }
+            return n;
+        }
+        
+        float discriminant = qb * qb - 4 * qa * qc;
+        if (discriminant < 0) {
+            return n;
+        }
+        
+        float root = PApplet.sqrt(discriminant);
+        n = addIfInside((-qb + root) / (2 * qa), ts, n);
+        n = addIfInside((-qb - root) / (2 * qa), ts, n);
+        return n;
+    }
+    
+    private static int addIfInside(float t, float[] ts, int n) {
+        if (0 < t && t < 1) {
+            ts[n] = t;
+            n++;
+        }
+        return n;
+    }
 
     /*******************
      ***** Getters *****
@@ -320,6 +400,21 @@ public class CubicBezier extends Path {
         return a2;
     }
 
+    @Override
+    protected void computeBounds(float[] bounds) {
+        includePoint(bounds, a1.x, a1.y);
+        includePoint(bounds, a2.x, a2.y);
+        
+        //the curve can only extend past its anchors where its derivative is zero along some axis
+        float[] ts = new float[4];
+        int n = findExtrema(a1.x, c1.x, c2.x, a2.x, ts, 0);
+        n = findExtrema(a1.y, c1.y, c2.y, a2.y, ts, n);
+        for (int i=0; i<n; i++) {
+            float t = ts[i];
+            includePoint(bounds, bezierPoint(a1.x, c1.x, c2.x, a2.x, t), bezierPoint(a1.y, c1.y, c2.y, a2.y, t));
+        }
+    }
+
     @Override
     public CubicBezier clone() {
         return new CubicBezier(this);
@@ -103,6 +103,7 @@ public class Ellipse extends Path {
             cd.y = d;
             this.ellipseMode = ellipseMode;
         }
+        invalidate();
     }
     
     /**
@@ -124,6 +125,7 @@ public class Ellipse extends Path {
             cd.y = d;
             this.ellipseMode = ellipseMode;
         }
+        invalidate();
     }
     
     /**
@@ -149,6 +151,7 @@ public class Ellipse extends Path {
                 return;
         }
         this.ellipseMode = ellipseMode;
+        invalidate();
     }
     
     /********************
@@ -190,6 +193,21 @@ public class Ellipse extends Path {
         target.x = getCenx() + getXRadius() * PApplet.cos(radians);
         target.y = getCeny() + getYRadius() * PApplet.sin(radians);
     }
+
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        //cos and sin are periodic, so there's no need to take the remainder of each u
+        float dRadians = reversed ? -PApplet.TWO_PI : PApplet.TWO_PI;
+        float cenx = getCenx();
+        float ceny = getCeny();
+        float xRadius = getXRadius();
+        float yRadius = getYRadius();
+        for (int i=0; i<n; i++) {
+            float radians = us[i] * dRadians;
+            xs[i] = cenx + xRadius * PApplet.cos(radians);
+            ys[i] = ceny + yRadius * PApplet.sin(radians);
+        }
+    }
     
     /*******************
      ***** Events ******
@@ -201,6 +219,7 @@ public class Ellipse extends Path {
         if (ellipseMode == CORNERS) {
             cd.translate(dx, dy);
         }
+        invalidate();
     }
 
     public void scale(float s) {
@@ -218,6 +237,7 @@ public class Ellipse extends Path {
      */
     public void setAB(Point ab) {
         this.ab = ab;
+        invalidate();
     }
     
     /**
@@ -226,6 +246,7 @@ public class Ellipse extends Path {
      */
     public void setCD(Point cd) {
         this.cd = cd;
+        invalidate();
     }
     
     /**
@@ -234,6 +255,7 @@ public class Ellipse extends Path {
      */
     public void setEllipseMode(int ellipseMode) {
         this.ellipseMode = ellipseMode;
+        invalidate();
     }
 
     /*******************
@@ -245,6 +267,14 @@ public class Ellipse extends Path {
         return new Ellipse(this);
     }
 
+    @Override
+    protected void computeBounds(float[] bounds) {
+        float xRadius = PApplet.abs(getXRadius());
+        float yRadius = PApplet.abs(getYRadius());
+        includePoint(bounds, getCenx() - xRadius, getCeny() - yRadius);
+        includePoint(bounds, getCenx() + xRadius, getCeny() + yRadius);
+    }
+
     @Override
     public float getLength() {
         float xRadius = getXRadius();
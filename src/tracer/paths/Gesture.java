@@ -6,6 +6,7 @@ import java.util.List;
 
 import processing.core.PApplet;
 import processing.core.PGraphics;
+import processing.core.PShape;
 import tracer.Point;
 import tracer.easings.Easing;
 import tracer.easings.Easings;
@@ -117,6 +118,12 @@ public class Gesture extends Path {
     @Override
     public void draw(PGraphics g) {
         style.apply(g);
+        
+        if (isRetained()) {
+            drawRetained(g);
+            return;
+        }
+        
         g.beginShape();
         for (int i=0; i<vertices.size(); i++) {
             SpaceTimePoint pt = vertices.get(i);
@@ -124,6 +131,18 @@ public class Gesture extends Path {
         }
         g.endShape();
     }
+    
+    @Override
+    protected void tessellate(PGraphics g, PShape group) {
+        PShape child = g.createShape();
+        child.beginShape();
+        for (int i=0; i<vertices.size(); i++) {
+            SpaceTimePoint pt = vertices.get(i);
+            child.vertex(pt.pt.x, pt.pt.y);
+        }
+        child.endShape();
+        group.addChild(child);
+    }
 
     @Override
     public void trace(Point target, float u) {
@@ -138,23 +157,83 @@ public class Gesture extends Path {
         
         float t = getStartTime() + u * getDuration();
         
-        for (int i=1; i<vertices.size(); i++) {
+        int i = findSpan(t, 0);
+        if (i < vertices.size()) {
+            float t1 = vertices.get(i-1).t;
             float t2 = vertices.get(i).t;
-            if (t < t2) {
-                float t1 = vertices.get(i-1).t;
-                float v = PApplet.map(t, t1, t2, 0, 1);
-                
+            float v = PApplet.map(t, t1, t2, 0, 1);
+            
+            Point a = vertices.get(i-1).pt;
+            Point b = vertices.get(i).pt;
+           
+            target.x = PApplet.lerp(a.x, b.x, v);
+            target.y = PApplet.lerp(a.y, b.y, v);
+//            Line.trace(pt, a, b, v);
+        }
+    }
+    
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        float startTime = getStartTime();
+        float duration = getDuration();
+        int size = vertices.size();
+        int i = 1;
+        for (int j=0; j<n; j++) {
+            float u = Path.remainder(us[j], 1.0f);
+            if (reversed) {
+                u = 1.0f - u;
+                if (u == 1.0f) {
+                    u = ALMOST_ONE;
+                }
+            }
+            
+            //check the previous span first, so ascending coordinates rarely need a search
+            float t = startTime + u * duration;
+            int span = findSpan(t, i);
+            if (span < size) {
+                i = span;
+                float v = PApplet.map(t, vertices.get(i-1).t, vertices.get(i).t, 0, 1);
                 Point a = vertices.get(i-1).pt;
                 Point b = vertices.get(i).pt;
-               
-                target.x = PApplet.lerp(a.x, b.x, v);
-                target.y = PApplet.lerp(a.y, b.y, v);
-//                Line.trace(pt, a, b, v);
-                break;
+                xs[j] = PApplet.lerp(a.x, b.x, v);
+                ys[j] = PApplet.lerp(a.y, b.y, v);
             }
         }
     }
     
+    /**
+     * Finds the first vertex from index 1 on whose time is greater than t, checking the hint
+     * first, as Path.findSpan() does.
+     * 
+     * @param t The time
+     * @param hint The span to check first, or 0 for none
+     * @return The index of the vertex, or the number of vertices if there is none
+     */
+    private int findSpan(float t, int hint) {
+        int n = vertices.size();
+        if (hint >= 1 && hint < n && t >= vertices.get(hint-1).t) {
+            if (t < vertices.get(hint).t) {
+                return hint;
+            }
+            if (hint+1 < n && t < vertices.get(hint+1).t) {
+                return hint+1;
+            }
+        }
+        
+        int lo = 1;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (vertices.get(mid).t > t) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+    
     /******************
      ***** Events *****
      ******************/
@@ -165,6 +244,7 @@ public class Gesture extends Path {
             g.pt.x += dx;
             g.pt.y += dy;
         }
+        invalidate();
     }
     
     /**
@@ -205,6 +285,7 @@ public class Gesture extends Path {
         else {
             vertices.add(new SpaceTimePoint(pt, t));
         }
+        invalidate();
     }
     
     /**
@@ -235,6 +316,7 @@ public class Gesture extends Path {
             vertices.add(g);
         }
        
+        invalidate();
     }
     
     /**
@@ -243,6 +325,7 @@ public class Gesture extends Path {
      */
     public void removeVertex(int i) {
         vertices.remove(i);
+        invalidate();
     }
     
     /**
@@ -259,42 +342,9 @@ public class Gesture extends Path {
                 break;
             }
         }
+        invalidate();
     }
     
-    @Override
-    public void setCenter(float x, float y) {
-        if (vertices.size() > 0) {
-            Point pt = vertices.get(0).pt;
-            
-            float x1 = pt.x;
-            float y1 = pt.y;
-            float x2 = pt.x;
-            float y2 = pt.y;
-            
-            for (int i=1; i<vertices.size(); i++) {
-                pt = vertices.get(i).pt;
-                
-                if (pt.x < x1) {
-                    x1 = pt.x;
-                }
-                else if (pt.x > x2) {
-                    x2 = pt.x;
-                }
-                
-                if (pt.y < y1) {
-                    y1 = pt.y;
-                }
-                else if (pt.y > y2) {
-                    y2 = pt.y;
-                }
-            }
-            
-            float currx = 0.5f * (x1 + x2);
-            float curry = 0.5f * (y1 + y2);
-            
-            translate(x - currx, y - curry);
-        }
-    }
 
     /*******************
      ***** Getters *****
@@ -378,7 +428,14 @@ public class Gesture extends Path {
     }
     
     @Override
-    public float getLength() {
+    protected void computeBounds(float[] bounds) {
+        for (SpaceTimePoint v : vertices) {
+            includePoint(bounds, v.pt.x, v.pt.y);
+        }
+    }
+
+    @Override
+    protected float computeLength() {
         if (vertices.size() > 0) {
             float dist = 0;
             Point a = vertices.get(0).pt;
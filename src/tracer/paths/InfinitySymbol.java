@@ -96,6 +96,7 @@ public class InfinitySymbol extends Path {
     @Override
     public void translate(float dx, float dy) {
         cen.translate(dx, dy);
+        invalidate();
     }
     
     /**
@@ -104,11 +105,13 @@ public class InfinitySymbol extends Path {
      */
     public void setCenter(Point cen) {
         this.cen = cen;
+        invalidate();
     }
     
     @Override
     public void setCenter(float x, float y) {
         this.cen.set(x, y);
+        invalidate();
     }
     
     /**
@@ -117,6 +120,7 @@ public class InfinitySymbol extends Path {
      */
     public void setXRadius(float xRadius) {
         this.xRadius = xRadius;
+        invalidate();
     }
     
     /**
@@ -125,6 +129,7 @@ public class InfinitySymbol extends Path {
      */
     public void setYRadius(float yRadius) {
         this.yRadius = yRadius;
+        invalidate();
     }
 
     /*******************
@@ -0,0 +1,165 @@
+package tracer.paths;
+
+import java.util.Arrays;
+
+/**
+ *
+ * The lengths of the children of a Path made of other Paths, such as a MultiPath, kept in a Fenwick tree
+ * so that the length up to any child can be found without adding up the lengths of all the children before it.
+ *
+ * <br>
+ * <br>
+ *
+ * Appending a child, changing the length of a child, finding the length up to a child and finding the child
+ * at a given length all take O(log n) time. Removing a child shifts the children after it, like removing from
+ * an ArrayList, and rebuilds the tree in O(n) time.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+class LengthTree {
+    private float[] lengths; //lengths[i] is the length of the ith child
+    private float[] tree; //tree[i] is the total length of the children from i - lowestOneBit(i) to i - 1
+    private int size;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    LengthTree() {
+        lengths = new float[DEFAULT_CAPACITY];
+        tree = new float[DEFAULT_CAPACITY + 1];
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param t The LengthTree to copy
+     */
+    LengthTree(LengthTree t) {
+        lengths = t.lengths.clone();
+        tree = t.tree.clone();
+        size = t.size;
+    }
+
+    /**
+     * Appends a child.
+     *
+     * @param length The length of the child
+     */
+    void add(float length) {
+        if (size == lengths.length) {
+            int n = lengths.length + (lengths.length >> 1) + 1;
+            lengths = Arrays.copyOf(lengths, n);
+            tree = Arrays.copyOf(tree, n + 1);
+        }
+        lengths[size] = length;
+        size++;
+
+        //the new node covers the new child and the children just before it that no other node covers yet
+        int i = size;
+        tree[i] = length + getLengthBefore(i - 1) - getLengthBefore(i - Integer.lowestOneBit(i));
+    }
+
+    /**
+     * Changes the length of the ith child.
+     *
+     * @param i The index of the child
+     * @param length The new length
+     */
+    void set(int i, float length) {
+        float delta = length - lengths[i];
+        lengths[i] = length;
+        for (int j=i+1; j<=size; j+=Integer.lowestOneBit(j)) {
+            tree[j] += delta;
+        }
+    }
+
+    /**
+     * Removes the ith child.
+     *
+     * @param i The index of the child
+     */
+    void remove(int i) {
+        System.arraycopy(lengths, i + 1, lengths, i, size - i - 1);
+        size--;
+        rebuild();
+    }
+
+    /**
+     * Removes every child.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    private void rebuild() {
+        for (int i=1; i<=size; i++) {
+            tree[i] = lengths[i - 1];
+        }
+        for (int i=1; i<=size; i++) {
+            int parent = i + Integer.lowestOneBit(i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Gives the number of children.
+     *
+     * @return The number of children
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gives the length of the ith child.
+     *
+     * @param i The index of the child
+     * @return The length
+     */
+    float get(int i) {
+        return lengths[i];
+    }
+
+    /**
+     * Gives the total length of the children before the ith child.
+     *
+     * @param i The index of the child, up to the number of children
+     * @return The total length
+     */
+    float getLengthBefore(int i) {
+        float sum = 0;
+        for (int j=i; j>0; j-=Integer.lowestOneBit(j)) {
+            sum += tree[j];
+        }
+        return sum;
+    }
+
+    /**
+     * Gives the total length of all the children.
+     *
+     * @return The total length
+     */
+    float getTotal() {
+        return getLengthBefore(size);
+    }
+
+    /**
+     * Finds the child at the given length along the Path, that is, the first child whose end lies
+     * further along than the given length, by descending the tree.
+     *
+     * @param length The length along the Path
+     * @return The index of the child, or the number of children if the length is past the end
+     */
+    int find(float length) {
+        int i = 0;
+        for (int step=Integer.highestOneBit(Math.max(size, 1)); step>0; step>>=1) {
+            int j = i + step;
+            if (j <= size && tree[j] <= length) {
+                i = j;
+                length -= tree[j];
+            }
+        }
+        return i;
+    }
+}
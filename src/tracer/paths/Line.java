@@ -84,6 +84,19 @@ public class Line extends Path {
         target.y = PApplet.lerp(a.y, b.y, u);
     }
     
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        float ax = a.x;
+        float ay = a.y;
+        float dx = b.x - a.x;
+        float dy = b.y - a.y;
+        for (int i=0; i<n; i++) {
+            float u = Path.remainder(us[i], 1.0f);
+            xs[i] = ax + u * dx;
+            ys[i] = ay + u * dy;
+        }
+    }
+    
     /******************
      ***** Static *****
      ******************/
@@ -210,6 +223,7 @@ public class Line extends Path {
     public void translate(float dx, float dy) {
         a.translate(dx, dy);
         b.translate(dx, dy);
+        invalidate();
     }
 
     /**
@@ -218,6 +232,7 @@ public class Line extends Path {
      */
     public void setA(Point a) {
         this.a = a;
+        invalidate();
     }
     
     /**
@@ -226,6 +241,7 @@ public class Line extends Path {
      */
     public void setB(Point b) {
         this.b = b;
+        invalidate();
     }
     
     @Override
@@ -278,11 +294,23 @@ public class Line extends Path {
         return new Line(this);
     } 
 
+    @Override
+    protected void computeBounds(float[] bounds) {
+        includePoint(bounds, a.x, a.y);
+        includePoint(bounds, b.x, b.y);
+    }
+
     @Override
     public float getLength() {
         return PApplet.dist(a.x, a.y, b.x, b.y);
     }
 
+    @Override
+    public float mapArcLength(float u) {
+        //a Line is already traced at a constant speed
+        return Path.remainder(u, 1.0f);
+    }
+
     /**
      *
      * @return The center x-coordinate of the Line
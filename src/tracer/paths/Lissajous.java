@@ -98,6 +98,22 @@ public class Lissajous extends Path {
         target.y = cen.y + yRadius * PApplet.sin(angle * freqY);
     }
     
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        float cenx = cen.x;
+        float ceny = cen.y;
+        float xFactor = PApplet.TWO_PI * freqX;
+        float yFactor = PApplet.TWO_PI * freqY;
+        for (int i=0; i<n; i++) {
+            float u = Path.remainder(us[i], 1.0f);
+            if (reversed) {
+                u *= -1;
+            }
+            xs[i] = cenx + xRadius * PApplet.sin(u * xFactor + phi);
+            ys[i] = ceny + yRadius * PApplet.sin(u * yFactor);
+        }
+    }
+    
     /******************
      ***** Events *****
      ******************/
@@ -105,6 +121,7 @@ public class Lissajous extends Path {
     @Override
     public void translate(float dx, float dy) {
         cen.translate(dx, dy);
+        invalidate();
     }
     
     /**
@@ -113,6 +130,7 @@ public class Lissajous extends Path {
      */
     public void setWidth(float width) {
         this.xRadius = width/2f;
+        invalidate();
     }
     
     /**
@@ -121,6 +139,7 @@ public class Lissajous extends Path {
      */
     public void setHeight(float height) {
         this.yRadius = 0.5f * height;
+        invalidate();
     }
 
     /**
@@ -129,6 +148,7 @@ public class Lissajous extends Path {
      */
     public void setFreqX(float freqX) {
         this.freqX = freqX;
+        invalidate();
     }
     
     /**
@@ -137,6 +157,7 @@ public class Lissajous extends Path {
      */
     public void setFreqY(float freqY) {
         this.freqY = freqY;
+        invalidate();
     }
     
     /**
@@ -145,11 +166,13 @@ public class Lissajous extends Path {
      */
     public void setPhi(float phi) {
         this.phi = phi;
+        invalidate();
     }
     
     @Override
     public void setCenter(float x, float y) {
         this.cen.set(x, y);
+        invalidate();
     }
     
     /**
@@ -158,6 +181,7 @@ public class Lissajous extends Path {
      */
     public void setCenter(Point cen) {
         this.cen = cen;
+        invalidate();
     }
     
     /*******************
@@ -228,6 +252,15 @@ public class Lissajous extends Path {
         return phi;
     }
 
+    @Override
+    protected void computeBounds(float[] bounds) {
+        //each coordinate is a sine wave, so it can't leave the range of its amplitude
+        float xr = PApplet.abs(xRadius);
+        float yr = PApplet.abs(yRadius);
+        includePoint(bounds, cen.x - xr, cen.y - yr);
+        includePoint(bounds, cen.x + xr, cen.y + yr);
+    }
+
     @Override
     public Lissajous clone() {
         return new Lissajous(this);
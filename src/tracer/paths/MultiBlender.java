@@ -0,0 +1,259 @@
+package tracer.paths;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import tracer.Point;
+
+/**
+ * A path that blends any number of paths, by taking a weighted average of the points they trace.
+ * Unlike a chain of Blenders, which traces each of k paths through k-1 nested Blenders, a MultiBlender
+ * traces each path once and sums the results, so it is suited to morphing between many key shapes.
+ *
+ * <br>
+ * <br>
+ *
+ * The weights need not add up to 1, since each is divided by their total. Paths with a weight of 0
+ * are not traced at all, so a morph that only ever weights a couple of its key shapes at a time
+ * costs little more than a Blender, however many key shapes it has.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ * @param <T> the type of the paths
+ */
+public class MultiBlender<T extends Path> extends Path {
+    private ArrayList<T> paths = new ArrayList<T>();
+    private float[] weights;
+    private float[] normalizedWeights; //each weight divided by the total
+
+    /**************************
+     ***** Initialization *****
+     **************************/
+
+    /**
+     *
+     * @param paths the paths
+     * @param weights the weight of each path
+     * @param sampleCount the number of sample points
+     */
+    public MultiBlender(List<T> paths, float[] weights, int sampleCount) {
+        super(sampleCount);
+        this.paths.addAll(paths);
+        for (T path : paths) {
+            path.addParent(this);
+        }
+        setWeights(weights);
+        setSamplesPerUnitLength(Path.defaultSamplesPerUnitLength);
+    }
+
+    /**
+     *
+     * @param paths the paths
+     * @param weights the weight of each path
+     */
+    public MultiBlender(List<T> paths, float[] weights) {
+        this(paths, weights, maxSampleCount(paths));
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param blender the MultiBlender to copy
+     */
+    public MultiBlender(MultiBlender<T> blender) {
+        super(blender.sampleCount);
+        for (T path : blender.paths) {
+            @SuppressWarnings("unchecked") //clone() gives a Path of the same class
+            T copy = (T) path.clone();
+            paths.add(copy);
+            copy.addParent(this);
+        }
+        this.weights = blender.weights.clone();
+        this.normalizedWeights = blender.normalizedWeights;
+        this.reversed = blender.reversed;
+    }
+
+    /********************
+     ***** Behavior *****
+     ********************/
+
+    @Override
+    public void trace(Point target, float u) {
+        u = Path.remainder(u, 1.0f);
+        if (reversed) {
+            u = 1.0f - u;
+            if (u == 1.0f) {
+                u = ALMOST_ONE;
+            }
+        }
+
+        //trace each path into the target itself, and add up the results apart, so that no scratch point is needed
+        float[] ws = normalizedWeights;
+        float x = 0;
+        float y = 0;
+        for (int k=0; k<ws.length; k++) {
+            if (ws[k] != 0) {
+                paths.get(k).trace(target, u);
+                x += ws[k] * target.x;
+                y += ws[k] * target.y;
+            }
+        }
+        target.x = x;
+        target.y = y;
+    }
+
+    /**
+     * Traces each path over the whole batch of 1D coordinates, then adds up the results in one
+     * tight loop per path, so each path pays its own per-call overhead once per batch.
+     */
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        if (reversed) {
+            float[] reversedUs = new float[n];
+            for (int i=0; i<n; i++) {
+                float u = 1.0f - Path.remainder(us[i], 1.0f);
+                reversedUs[i] = (u == 1.0f) ? ALMOST_ONE : u;
+            }
+            us = reversedUs;
+        }
+
+        float[] ws = normalizedWeights;
+        float[] pathXs = new float[n];
+        float[] pathYs = new float[n];
+        for (int i=0; i<n; i++) {
+            xs[i] = 0;
+            ys[i] = 0;
+        }
+        for (int k=0; k<ws.length; k++) {
+            float w = ws[k];
+            if (w != 0) {
+                paths.get(k).trace(us, pathXs, pathYs, n);
+                for (int i=0; i<n; i++) {
+                    xs[i] += w * pathXs[i];
+                    ys[i] += w * pathYs[i];
+                }
+            }
+        }
+    }
+
+    /******************
+     ***** Events *****
+     ******************/
+
+    @Override
+    public void translate(float dx, float dy) {
+        for (T path : paths) {
+            path.translate(dx, dy);
+        }
+    }
+
+    /**
+     * Sets the weight of each path.
+     *
+     * @param weights the weight of each path
+     */
+    public void setWeights(float[] weights) {
+        if (weights.length != paths.size()) {
+            throw new IllegalArgumentException("There are " + paths.size() + " paths but " + weights.length + " weights");
+        }
+        this.weights = weights.clone();
+        normalizeWeights();
+        invalidate();
+    }
+
+    /**
+     * Sets the weight of the ith path.
+     *
+     * @param i the index
+     * @param weight the weight
+     */
+    public void setWeight(int i, float weight) {
+        weights[i] = weight;
+        normalizeWeights();
+        invalidate();
+    }
+
+    private void normalizeWeights() {
+        float total = 0;
+        for (float weight : weights) {
+            total += weight;
+        }
+        float[] ws = new float[weights.length];
+        for (int k=0; k<ws.length; k++) {
+            ws[k] = (total != 0) ? weights[k] / total : 0;
+        }
+        normalizedWeights = ws;
+    }
+
+    /*******************
+     ***** Getters *****
+     *******************/
+
+    /**
+     * Gives the number of paths in the MultiBlender.
+     * @return the number of paths
+     */
+    public int getPathCount() {
+        return paths.size();
+    }
+
+    /**
+     * Gives the ith path.
+     * @param i the index
+     * @return the path
+     */
+    public T get(int i) {
+        return paths.get(i);
+    }
+
+    /**
+     * Gives the weight of the ith path, as it was set.
+     * @param i the index
+     * @return the weight
+     */
+    public float getWeight(int i) {
+        return weights[i];
+    }
+
+    @Override
+    public MultiBlender<T> clone() {
+        return new MultiBlender<T>(this);
+    }
+
+    @Override
+    public int getGapCount() {
+        return getGaps().length;
+    }
+
+    @Override
+    public float getGap(int i) {
+        float[] gaps = getGaps();
+        if (i < 0 || i >= gaps.length) {
+            throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
+        }
+        return gaps[i];
+    }
+
+    @Override
+    protected float[] computeGaps() {
+        float[] gaps = new float[0];
+        for (T path : paths) {
+            gaps = mergeGaps(gaps, reversed ? mirrorGaps(path.getGaps()) : path.getGaps());
+        }
+        return gaps;
+    }
+
+    private static int maxSampleCount(List<? extends Path> paths) {
+        int sampleCount = 0;
+        for (Path path : paths) {
+            sampleCount = Math.max(sampleCount, path.sampleCount);
+        }
+        return sampleCount;
+    }
+
+    @Override
+    public String toString() {
+        return "MultiBlender [paths=" + paths + ", weights=" + Arrays.toString(weights) + "]";
+    }
+}
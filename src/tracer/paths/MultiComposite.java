@@ -0,0 +1,422 @@
+package tracer.paths;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+import processing.core.PShape;
+import processing.core.PStyle;
+import processing.data.FloatList;
+import tracer.Point;
+import tracer.TStyle;
+
+/**
+ *
+ * A path that joins any number of paths, one after another. Unlike a Composite, which gives each of its
+ * two paths half of [0, 1), a MultiComposite gives each of its paths a share of [0, 1) in proportion to
+ * its length, or to a weight given in its place. The shares are worked out once, when the paths are set,
+ * so tracing a MultiComposite of n paths takes O(log n) time rather than the O(n) time it would take
+ * to trace a Composite of Composites n deep.
+ *
+ * <br>
+ * <br>
+ *
+ * Each path draws itself, in its own style. Setting the style of a MultiComposite, or setting it to draw
+ * in retained or level-of-detail mode or with a tolerance, sets the same on each of its paths, as a Composite
+ * does, but a path added later keeps the style and drawing mode it had.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ * @param <T> the type of the paths
+ */
+public class MultiComposite<T extends Path> extends Path {
+    private ArrayList<T> paths = new ArrayList<T>();
+    private float[] weights; //null, to weight each path by its length
+    private float[] pathEndPts1D = {0};
+
+    /**************************
+     ***** Initialization *****
+     **************************/
+
+    /**
+     * Joins the given paths, weighting each by its length.
+     *
+     * @param paths the paths
+     */
+    public MultiComposite(List<T> paths) {
+        this(paths, null);
+    }
+
+    /**
+     * Joins the given paths, giving each a share of [0, 1) in proportion to its weight.
+     *
+     * @param paths the paths
+     * @param weights the weight of each path, or null to weight each path by its length
+     */
+    public MultiComposite(List<T> paths, float[] weights) {
+        if (weights != null && weights.length != paths.size()) {
+            throw new IllegalArgumentException("There are " + paths.size() + " paths but " + weights.length + " weights");
+        }
+        this.paths.addAll(paths);
+        for (T path : paths) {
+            path.addParent(this);
+        }
+        this.weights = (weights == null) ? null : weights.clone();
+        computePathEndPts1D();
+        setSamplesPerUnitLength(Path.defaultSamplesPerUnitLength);
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param c The MultiComposite to copy
+     */
+    public MultiComposite(MultiComposite<T> c) {
+        for (T path : c.paths) {
+            @SuppressWarnings("unchecked") //clone() gives a Path of the same class
+            T copy = (T) path.clone();
+            //each path draws in its own style, which a clone of it may not keep
+            copy.copyStyleAndOrientation(path);
+            copy.setRetained(path.isRetained());
+            copy.setLevelOfDetail(path.isLevelOfDetail());
+            copy.setTolerance(path.getTolerance());
+            paths.add(copy);
+            copy.addParent(this);
+        }
+        this.weights = (c.weights == null) ? null : c.weights.clone();
+        this.pathEndPts1D = c.pathEndPts1D;
+        this.reversed = c.reversed;
+        this.style = new TStyle(c.style);
+        this.tolerance = c.tolerance;
+        super.setRetained(c.isRetained());
+        super.setLevelOfDetail(c.isLevelOfDetail());
+        setSampleCount(c.sampleCount);
+    }
+
+    private void computePathEndPts1D() {
+        int n = paths.size();
+        float[] shares = new float[n];
+        float total = 0;
+        for (int i=0; i<n; i++) {
+            shares[i] = (weights == null) ? paths.get(i).getLength() : weights[i];
+            total += shares[i];
+        }
+
+        float[] endPts1D = new float[n + 1];
+        for (int i=0; i<n; i++) {
+            float share = (total > 0) ? shares[i] / total : 1.0f / n;
+            endPts1D[i+1] = endPts1D[i] + share;
+        }
+        if (n > 0) {
+            endPts1D[n] = 1; //so that rounding doesn't leave a sliver at the end that no path covers
+        }
+        pathEndPts1D = endPts1D;
+    }
+
+    /********************
+     ***** Behavior *****
+     ********************/
+
+    @Override
+    public void trace(Point target, float u) {
+        u = Path.remainder(u, 1.0f);
+
+        if (reversed) {
+            u = 1.0f - u;
+            if (u == 1.0f) {
+                u = ALMOST_ONE;
+            }
+        }
+
+        float[] endPts1D = pathEndPts1D;
+        int n = endPts1D.length - 1;
+        if (n == 0) {
+            return;
+        }
+
+        int i = PApplet.min(findSpan(endPts1D, n + 1, u, 0), n);
+        float v = (u - endPts1D[i-1]) / (endPts1D[i] - endPts1D[i-1]);
+        paths.get(i-1).trace(target, v);
+    }
+
+    @Override
+    public void draw(PGraphics g) {
+        for (T path : paths) {
+            path.draw(g);
+        }
+    }
+
+    @Override
+    protected void tessellate(PGraphics g, PShape group) {
+        for (T path : paths) {
+            path.tessellate(g, group);
+        }
+    }
+
+    /******************
+     ***** Events *****
+     ******************/
+
+    @Override
+    public void translate(float dx, float dy) {
+        for (T path : paths) {
+            path.translate(dx, dy);
+        }
+    }
+
+    /**
+     * Works out each path's share of [0, 1) again, for when the paths have changed length
+     * and the MultiComposite weights them by length.
+     */
+    public void makeProportional() {
+        computePathEndPts1D();
+        invalidate();
+    }
+
+    /**
+     * Adds a path to the end of the MultiComposite. If the MultiComposite has weights, the path is given the
+     * average weight, so that it gets a share of [0, 1) like that of the other paths.
+     *
+     * @param path the path
+     */
+    public void add(T path) {
+        paths.add(path);
+        path.addParent(this);
+        if (weights != null) {
+            float total = 0;
+            for (float weight : weights) {
+                total += weight;
+            }
+            float[] ws = Arrays.copyOf(weights, weights.length + 1);
+            ws[weights.length] = (weights.length > 0) ? total / weights.length : 1;
+            weights = ws;
+        }
+        computePathEndPts1D();
+        invalidate();
+    }
+
+    /**
+     * Replaces the ith path.
+     *
+     * @param i the index
+     * @param path the path
+     */
+    public void set(int i, T path) {
+        paths.set(i, path).removeParent(this);
+        path.addParent(this);
+        computePathEndPts1D();
+        invalidate();
+    }
+
+    /**
+     * Sets the weight of each path, which decides its share of [0, 1).
+     *
+     * @param weights the weight of each path, or null to weight each path by its length
+     */
+    public void setWeights(float[] weights) {
+        if (weights != null && weights.length != paths.size()) {
+            throw new IllegalArgumentException("There are " + paths.size() + " paths but " + weights.length + " weights");
+        }
+        this.weights = (weights == null) ? null : weights.clone();
+        computePathEndPts1D();
+        invalidate();
+    }
+
+    @Override
+    public void setStyle(TStyle style) {
+        super.setStyle(style);
+        for (T path : paths) {
+            path.setStyle(style);
+        }
+    }
+
+    @Override
+    public void setStyle(PStyle style) {
+        super.setStyle(style);
+        for (T path : paths) {
+            path.setStyle(style);
+        }
+    }
+
+    @Override
+    public void setStyle(PApplet pa) {
+        super.setStyle(pa);
+        for (T path : paths) {
+            path.setStyle(pa);
+        }
+    }
+
+    @Override
+    public void setRetained(boolean retained) {
+        super.setRetained(retained);
+        for (T path : paths) {
+            path.setRetained(retained);
+        }
+    }
+
+    @Override
+    public void setLevelOfDetail(boolean levelOfDetail) {
+        super.setLevelOfDetail(levelOfDetail);
+        for (T path : paths) {
+            path.setLevelOfDetail(levelOfDetail);
+        }
+    }
+
+    @Override
+    public void setTolerance(float tolerance) {
+        super.setTolerance(tolerance);
+        for (T path : paths) {
+            path.setTolerance(tolerance);
+        }
+    }
+
+    @Override
+    public void setStrokeCap(int strokeCap) {
+        style.strokeCap = strokeCap;
+        for (T path : paths) {
+            path.setStrokeCap(strokeCap);
+        }
+    }
+
+    @Override
+    public void setStrokeJoin(int strokeJoin) {
+        style.strokeJoin = strokeJoin;
+        for (T path : paths) {
+            path.setStrokeJoin(strokeJoin);
+        }
+    }
+
+    @Override
+    public void setStrokeWeight(float strokeWeight) {
+        style.strokeWeight = strokeWeight;
+        for (T path : paths) {
+            path.setStrokeWeight(strokeWeight);
+        }
+    }
+
+    @Override
+    public void setFillColor(int fillColor) {
+        style.fillColor = fillColor;
+        for (T path : paths) {
+            path.setFillColor(fillColor);
+        }
+    }
+
+    @Override
+    public void setStrokeColor(int strokeColor) {
+        style.strokeColor = strokeColor;
+        for (T path : paths) {
+            path.setStrokeColor(strokeColor);
+        }
+    }
+
+    @Override
+    public void setStroke(boolean stroke) {
+        style.stroke = stroke;
+        for (T path : paths) {
+            path.setStroke(stroke);
+        }
+    }
+
+    @Override
+    public void setFill(boolean fill) {
+        style.fill = fill;
+        for (T path : paths) {
+            path.setFill(fill);
+        }
+    }
+
+    /*******************
+     ***** Getters *****
+     *******************/
+
+    /**
+     * Gives the number of paths in the MultiComposite.
+     * @return the number of paths
+     */
+    public int getPathCount() {
+        return paths.size();
+    }
+
+    /**
+     * Gives the ith path.
+     * @param i the index
+     * @return the path
+     */
+    public T get(int i) {
+        return paths.get(i);
+    }
+
+    /**
+     * Gives the 1D coordinate at which the ith path starts, not counting reversal.
+     * @param i the index, up to the number of paths
+     * @return the 1D coordinate
+     */
+    public float getPathStart(int i) {
+        return pathEndPts1D[i];
+    }
+
+    @Override
+    protected void computeBounds(float[] bounds) {
+        for (T path : paths) {
+            includeBounds(bounds, path);
+        }
+    }
+
+    @Override
+    public MultiComposite<T> clone() {
+        return new MultiComposite<T>(this);
+    }
+
+    @Override
+    public int getGapCount() {
+        return getGaps().length;
+    }
+
+    @Override
+    public float getGap(int i) {
+        float[] gaps = getGaps();
+        if (i < 0 || i >= gaps.length) {
+            throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
+        }
+        return gaps[i];
+    }
+
+    @Override
+    protected float[] computeGaps() {
+        float[] endPts1D = pathEndPts1D;
+        FloatList gaps = new FloatList();
+
+        //the ith path is traced over [endPts1D[i], endPts1D[i+1]), and each starts with a gap
+        for (int i=0; i<paths.size(); i++) {
+            float start = endPts1D[i];
+            float share = endPts1D[i+1] - start;
+            if (share == 0) {
+                continue;
+            }
+            gaps.append(start);
+            for (float gap : paths.get(i).getGaps()) {
+                if (gap != 0) {
+                    gaps.append(start + share * gap);
+                }
+            }
+        }
+
+        if (reversed) {
+            for (int i=0; i<gaps.size(); i++) {
+                if (gaps.get(i) != 0) {
+                    gaps.set(i, 1.0f - gaps.get(i));
+                }
+            }
+        }
+
+        return gaps.array();
+    }
+
+    @Override
+    public String toString() {
+        return "MultiComposite [paths=" + paths + "]";
+    }
+}
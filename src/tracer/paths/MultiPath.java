@@ -10,7 +10,7 @@ import tracer.Point;
 public class MultiPath extends Path {
 
     private ArrayList<Path> paths = new ArrayList<Path>();
-    private ArrayList<Float> pathEndPts1D = new ArrayList<Float>();
+    private LengthTree lengths = new LengthTree(); //the length of each Path, measured when it was added
 
     /**************************
      ***** Initialization *****
@@ -36,35 +36,23 @@ public class MultiPath extends Path {
                 x + r1 * PApplet.cos(a1),
                 y + r1 * PApplet.sin(a1));
         
-        paths.add(arc2);
-        paths.add(ln2);
-        paths.add(arc1);
-        paths.add(ln1);
-        computePathEndPts1D();
+        add(arc2);
+        add(ln2);
+        add(arc1);
+        add(ln1);
     }
     
     public MultiPath(Collection<Path> paths) {
-        this.paths.addAll(paths);
-        computePathEndPts1D();
+        addAll(paths);
     }
     
     public MultiPath() {}
     
     private void computePathEndPts1D() {
-        pathEndPts1D.clear();
-        
-        float totalLength = 0;
+        //remeasure every Path, in case any has changed shape since it was added
+        lengths.clear();
         for (Path p : paths) {
-            totalLength += p.getLength();
-        }
-        
-        float prevPathEndPt1D = 0;
-        pathEndPts1D.add(prevPathEndPt1D);
-        for (Path p : paths) {
-            float pathEndPt1D = p.getLength() / totalLength;
-            pathEndPt1D += prevPathEndPt1D;
-            pathEndPts1D.add(pathEndPt1D);
-            prevPathEndPt1D = pathEndPt1D;
+            lengths.add(p.getLength());
         }
     }
 
@@ -76,41 +64,71 @@ public class MultiPath extends Path {
     public void trace(Point target, float u) {
         u = Path.remainder(u, 1.0f);
         
-        for (int i = 1; i < pathEndPts1D.size(); i++) {
-            float coord = pathEndPts1D.get(i);
-            if (u < coord) {
-                float prevCoord = pathEndPts1D.get(i - 1);
-                float v = PApplet.map(u, prevCoord, coord, 0, 1);
+        int n = lengths.size();
+        float totalLength = lengths.getTotal();
+        if (n == 0 || totalLength <= 0) {
+            return;
+        }
+        
+        float length = u * totalLength;
+        int i = PApplet.min(lengths.find(length), n-1);
+        float v = (length - lengths.getLengthBefore(i)) / lengths.get(i);
 
-                Path path = paths.get(i-1);
+        Path path = paths.get(i);
 
-                path.trace(target, v);
-                break;
-            }
-        }
+        path.trace(target, v);
     }
     
     /******************
      ***** Events *****
      ******************/
 
+    /**
+     * Measures every Path in the MultiPath again, so that each is traced over a share of the MultiPath in
+     * proportion to its current length. The length of each Path is measured when it is added, and kept
+     * as it was until this or updateLength() is called, even if the Path changes shape. This takes O(n) time,
+     * so when only a few Paths have changed, call updateLength() on each of them instead.
+     */
     public void makeProportional() {
         computePathEndPts1D();
+        invalidate();
+    }
+    
+    /**
+     * Measures the ith Path in the MultiPath again, after it has changed shape, in O(log n) time
+     * apart from measuring the Path itself.
+     * 
+     * @param i The index of the Path
+     */
+    public void updateLength(int i) {
+        lengths.set(i, paths.get(i).getLength());
+        invalidate();
     }
     
     public void add(Path path) {
         paths.add(path);
-        computePathEndPts1D();
+        lengths.add(path.getLength());
+        path.addParent(this);
+        invalidate();
     }
     
     public void addAll(Collection<Path> paths) {
-        paths.addAll(paths);
-        computePathEndPts1D();
+        for (Path p : paths) {
+            this.paths.add(p);
+            lengths.add(p.getLength());
+            p.addParent(this);
+        }
+        invalidate();
     }
     
     public void remove(Path path) {
-        paths.remove(path);
-        computePathEndPts1D();
+        int i = paths.indexOf(path);
+        if (i != -1) {
+            paths.remove(i);
+            lengths.remove(i);
+            path.removeParent(this);
+            invalidate();
+        }
     }
 
     @Override
@@ -124,6 +142,13 @@ public class MultiPath extends Path {
      ***** Getters *****
      *******************/
     
+    @Override
+    protected void computeBounds(float[] bounds) {
+        for (Path p : paths) {
+            includeBounds(bounds, p);
+        }
+    }
+
     @Override
     public Path clone() {
         ArrayList<Path> pathCopies = new ArrayList<Path>();
@@ -140,6 +165,22 @@ public class MultiPath extends Path {
 
     @Override
     public float getGap(int i) {
-        return pathEndPts1D.get(i);
+        if (i < 0 || i >= paths.size()) {
+            throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
+        }
+        return lengths.getLengthBefore(i) / lengths.getTotal();
+    }
+    
+    @Override
+    protected float[] computeGaps() {
+        int n = lengths.size();
+        float totalLength = lengths.getTotal();
+        float[] gaps = new float[n];
+        float length = 0;
+        for (int i=0; i<n; i++) {
+            gaps[i] = length / totalLength;
+            length += lengths.get(i);
+        }
+        return gaps;
     }
 }
@@ -1,15 +1,19 @@
 package tracer.paths;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import processing.core.PApplet;
+import processing.core.PGraphics;
 import tracer.Point;
 
 public class MultiShape extends Path {
     private ArrayList<Shape> shapes = new ArrayList<Shape>();
-    private ArrayList<Float> shapeEndPts1D = new ArrayList<Float>();
+    private LengthTree lengths = new LengthTree(); //the length of each Shape
+    private volatile boolean lastShapeMeasured = true; //false while vertices added to the last Shape aren't yet in lengths
     private int vertexCount;
+    private boolean triangulated;
 
     /**************************
      ***** Initialization *****
@@ -54,33 +58,50 @@ public class MultiShape extends Path {
         }
     }
     
+    /**
+     * Makes a MultiShape out of copies of the given Shapes, with a gap between each.
+     * 
+     * @param shapes The Shapes
+     */
+    public MultiShape(List<Shape> shapes) {
+        for (Shape s : shapes) {
+            s = s.clone();
+            this.shapes.add(s);
+            lengths.add(s.getLength());
+            vertexCount += s.getVertexCount();
+        }
+    }
+    
     public MultiShape(MultiShape multiShape) {
         for (Shape s : multiShape.shapes) {
             shapes.add(s.clone());
         }
         
-        for (Float f : multiShape.shapeEndPts1D) {
-            shapeEndPts1D.add(f);
-        }
+        multiShape.measureLastShape();
+        this.lengths = new LengthTree(multiShape.lengths);
         
         this.vertexCount = multiShape.vertexCount;
     }
     
     private void computePathEndPts1D() {
-        shapeEndPts1D.clear();
-        
-        float totalLength = 0;
+        //remeasure every Shape, in case any has been changed directly
+        lengths.clear();
         for (Shape s : shapes) {
-            totalLength += s.getLength();
+            lengths.add(s.getLength());
         }
-        
-        float prevShapeEndPt1D = 0;
-        shapeEndPts1D.add(prevShapeEndPt1D);
-        for (Shape s : shapes) {
-            float shapeEndPt1D = s.getLength() / totalLength;
-            shapeEndPt1D += prevShapeEndPt1D;
-            shapeEndPts1D.add(shapeEndPt1D);
-            prevShapeEndPt1D = shapeEndPt1D;
+        lastShapeMeasured = true;
+    }
+    
+    /**
+     * Puts the length of the last Shape into the tree of lengths, if vertices have been added to it
+     * since it was last measured. Vertices are streamed into the last Shape without measuring it, so that
+     * building a MultiShape a vertex at a time takes linear time, and it is measured once before it is traced.
+     */
+    private synchronized void measureLastShape() {
+        if (!lastShapeMeasured) {
+            int last = shapes.size()-1;
+            lengths.set(last, shapes.get(last).getLength());
+            lastShapeMeasured = true;
         }
     }
 
@@ -88,30 +109,58 @@ public class MultiShape extends Path {
      ***** Behavior *****
      ********************/
     
+    @Override
+    public void draw(PGraphics g) {
+        if (!triangulated || isRetained()) {
+            super.draw(g);
+            return;
+        }
+        
+        style.apply(g);
+        for (Shape s : shapes) {
+            s.drawTriangulated(g);
+        }
+    }
+    
     @Override
     public void trace(Point target, float u) {
         u = Path.remainder(u, 1.0f);
         
-        for (int i = 1; i < shapeEndPts1D.size(); i++) {
-            float coord = shapeEndPts1D.get(i);
-            if (u < coord) {
-                float prevCoord = shapeEndPts1D.get(i - 1);
-                float v = PApplet.map(u, prevCoord, coord, 0, 1);
+        if (!lastShapeMeasured) {
+            measureLastShape();
+        }
+        int n = lengths.size();
+        float totalLength = lengths.getTotal();
+        if (n == 0 || totalLength <= 0) {
+            return;
+        }
+        
+        float length = u * totalLength;
+        int i = PApplet.min(lengths.find(length), n-1);
+        float v = (length - lengths.getLengthBefore(i)) / lengths.get(i);
 
-                Shape shape = shapes.get(i-1);
+        Shape shape = shapes.get(i);
 
-                shape.trace(target, v);
-                break;
-            }
-        }
+        shape.trace(target, v);
     }
 
     /******************
      ***** Events *****
      ******************/
     
+    /**
+     * Sets whether each Shape in the MultiShape is drawn with its fill from a cached triangulation
+     * (see Shape.setTriangulated()).
+     * 
+     * @param triangulated True, to draw from cached triangulations, false otherwise
+     */
+    public void setTriangulated(boolean triangulated) {
+        this.triangulated = triangulated;
+    }
+    
     public void makeProportional() {
         computePathEndPts1D();
+        invalidate();
     }
 
     @Override
@@ -119,41 +168,62 @@ public class MultiShape extends Path {
         for (Shape s : shapes) {
             s.translate(dx, dy);
         }
+        invalidate();
     }
     
     public void clear() {
         shapes.clear();
-        shapeEndPts1D.clear();
+        lengths.clear();
+        lastShapeMeasured = true;
         vertexCount = 0;
+        invalidate();
     }
     
     public void addVertex(Point pt) {
+        addVertex(pt.x, pt.y);
+    }
+    
+    /**
+     * Adds a vertex to the end of the last Shape in the MultiShape. This takes constant time, apart from
+     * the occasional growth of the arrays, since the last Shape isn't measured again until the MultiShape
+     * is traced, so a MultiShape can be streamed in a vertex at a time, e.g. from a recorded drawing.
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    public void addVertex(float x, float y) {
         if (shapes.size() == 0) {
             shapes.add(new Shape());
+            lengths.add(0);
         }
         
-        Shape lastShape = shapes.get(shapes.size()-1);
-        lastShape.addVertex(pt);
+        shapes.get(shapes.size()-1).addVertex(x, y);
+        lastShapeMeasured = false;
         
         vertexCount++;
         
-        computePathEndPts1D();
+        invalidate();
     }
     
     public void addGap() {
+        measureLastShape();
         shapes.add(new Shape());
-        computePathEndPts1D();
+        lengths.add(0);
+        invalidate();
     }
     
     public void removeVertex(int i) {
-        for (Shape s : shapes) {
+        measureLastShape();
+        for (int k=0; k<shapes.size(); k++) {
+            Shape s = shapes.get(k);
             if (i >= s.getVertexCount()) {
                 i -= s.getVertexCount();
             }
             else {
                 s.removeVertex(i);
                 vertexCount--;
-                computePathEndPts1D();
+                lengths.set(k, s.getLength());
+                invalidate();
                 return;
             }
         }
@@ -162,13 +232,16 @@ public class MultiShape extends Path {
     }
     
     public void setVertex(int i, Point pt) {
-        for (Shape s : shapes) {
+        measureLastShape();
+        for (int k=0; k<shapes.size(); k++) {
+            Shape s = shapes.get(k);
             if (i >= s.getVertexCount()) {
                 i -= s.getVertexCount();
             }
             else {
                 s.setVertex(i, pt);
-                computePathEndPts1D();
+                lengths.set(k, s.getLength());
+                invalidate();
                 return;
             }
         }
@@ -184,6 +257,35 @@ public class MultiShape extends Path {
         return vertexCount;
     }
     
+    /**
+     * Tells whether each Shape in the MultiShape is drawn with its fill from a cached triangulation.
+     * 
+     * @return True, if the MultiShape is triangulated, false otherwise
+     */
+    public boolean isTriangulated() {
+        return triangulated;
+    }
+    
+    /**
+     * Gives the number of Shapes in the MultiShape, one more than the number of times addGap() was called.
+     * 
+     * @return The number of Shapes
+     */
+    public int getShapeCount() {
+        return shapes.size();
+    }
+    
+    /**
+     * Gives a copy of the ith Shape in the MultiShape, the unbroken piece between the ith gap and the next.
+     * The copy can be changed without changing the MultiShape.
+     * 
+     * @param i The index
+     * @return The Shape
+     */
+    public Shape getShape(int i) {
+        return shapes.get(i).clone();
+    }
+    
     public Point getVertex2D(int i) {
         for (Shape s : shapes) {
             if (i >= s.getVertexCount()) {
@@ -210,7 +312,15 @@ public class MultiShape extends Path {
         throw new IndexOutOfBoundsException("Index " + i + " Size " + vertexCount);
     }
     
-    public float getLength() {
+    @Override
+    protected void computeBounds(float[] bounds) {
+        for (Shape s : shapes) {
+            includeBounds(bounds, s);
+        }
+    }
+
+    @Override
+    protected float computeLength() {
         float length = 0;
         for (Shape s : shapes) {
             length += s.getLength();
@@ -230,6 +340,24 @@ public class MultiShape extends Path {
 
     @Override
     public float getGap(int i) {
-        return shapeEndPts1D.get(i);
+        if (i < 0 || i >= shapes.size()) {
+            throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
+        }
+        measureLastShape();
+        return lengths.getLengthBefore(i) / lengths.getTotal();
+    }
+    
+    @Override
+    protected float[] computeGaps() {
+        measureLastShape();
+        int n = lengths.size();
+        float totalLength = lengths.getTotal();
+        float[] gaps = new float[n];
+        float length = 0;
+        for (int i=0; i<n; i++) {
+            gaps[i] = length / totalLength;
+            length += lengths.get(i);
+        }
+        return gaps;
     }
 }
@@ -1,11 +1,16 @@
 package tracer.paths;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
 
 import processing.core.PApplet;
 import processing.core.PGraphics;
+import processing.core.PShape;
 import processing.core.PStyle;
+import processing.data.FloatList;
 import processing.data.JSONObject;
 import tracer.Drawable;
 import tracer.Point;
@@ -42,16 +47,51 @@ import tracer.TStyle;
  * 
  * To display an Path p, use p.display(g) where g is a PGraphics object.
  * 
+ * <br>
+ * <br>
+ * 
+ * Paths keep no scratch state shared between instances, so any number of threads may
+ * trace the same Path concurrently, as long as none of them modifies it.
+ * 
+ * <br>
+ * <br>
+ * 
+ * Every change to a Path's geometry gives it a new version (see getVersion()), which is
+ * how the Path knows to recompute its cached length, bounds and gaps. Changing a Point that
+ * a Path holds by reference (its center, for example) happens behind the Path's back, so
+ * those stay as they were until p.invalidate() is called. Drawing never depends on them, except in
+ * retained and level-of-detail mode, in a Blender with its morph cache on (see Blender.setMorphCached()),
+ * and through Path.drawVisible(), which culls Paths by their bounds.
+ * 
+ * <br>
+ * <br>
+ * 
+ * A Path made from other Paths, such as a MultiPath or a TranslatedPath, is told whenever one of them
+ * changes, and takes a new version itself, so checking its version doesn't mean checking all of theirs.
+ * 
  * @author James Morrow [jamesmorrowdesign.com]
  *
  */
 public abstract class Path implements Drawable {
-    protected final static Point bufferPoint = new Point(0, 0);
     protected boolean reversed;
     protected int sampleCount;
+    protected float tolerance;
     protected TStyle style;
     public final static float ALMOST_ONE = 0.99999f;
     protected static float defaultSamplesPerUnitLength = 0.2f;
+    private static final int FLATTEN_SPLITS = 16; //pieces a whole Path is split into before adaptive subdivision
+    private static final int FLATTEN_MAX_DEPTH = 12;
+    private static final float LEVEL_OF_DETAIL_PIXELS_PER_SAMPLE = 3;
+    private static final AtomicLong versionCounter = new AtomicLong();
+    private long version = versionCounter.incrementAndGet();
+    private ArcLengthTable arcLengthTable;
+    private CachedLength cachedLength;
+    private CachedBounds cachedBounds;
+    private CachedGaps cachedGaps;
+    private boolean retained;
+    private boolean levelOfDetail;
+    private RetainedShape retainedShape;
+    private ArrayList<WeakReference<Path>> parents; //the Paths made from this one, which invalidate() is passed on to
     
     /**************************
      ***** Initialization *****
@@ -82,19 +122,42 @@ public abstract class Path implements Drawable {
     public void draw(PGraphics g) {
         style.apply(g);
         
-        if (getGapCount() == 0) {
+        int samples = sampleCount;
+        if (levelOfDetail) {
+            samples = getLevelOfDetailSampleCount(g);
+            if (samples == 0) {
+                drawAsPoint(g);
+                return;
+            }
+        }
+        
+        if (retained) {
+            drawRetained(g);
+        }
+        else if (getGaps().length == 0 && tolerance > 0) {
+            FloatList xs = new FloatList();
+            FloatList ys = new FloatList();
+            flatten(0, 1, tolerance / getScreenScale(g), xs, ys);
+            g.beginShape();
+            for (int i = 0; i < xs.size(); i++) {
+                g.vertex(xs.get(i), ys.get(i));
+            }
+            g.endShape();
+        }
+        else if (getGaps().length == 0) {
+            Point pt = new Point(0, 0);
             float amt = 0;
-            float dAmt = 1f / sampleCount;
+            float dAmt = 1f / samples;
             g.beginShape();
-            for (int i = 0; i <= sampleCount; i++) {
-                trace(bufferPoint, amt);
-                g.vertex(bufferPoint.x, bufferPoint.y);
+            for (int i = 0; i <= samples; i++) {
+                trace(pt, amt);
+                g.vertex(pt.x, pt.y);
                 amt += dAmt;
             }
             g.endShape();
         }
         else {
-            draw(g, 0, ALMOST_ONE);
+            drawHelper(g, 0, ALMOST_ONE, samples, getGaps());
         }
         
     }
@@ -115,7 +178,7 @@ public abstract class Path implements Drawable {
         if (!disableStyle) {
             style.apply(g);
         }
-        drawHelper(g, u1, u2);
+        drawHelper(g, u1, u2, sampleCount, getGaps());
     }
     
     /**
@@ -130,7 +193,201 @@ public abstract class Path implements Drawable {
         draw(g, u1, u2, false);
     }
     
-    private void drawHelper(PGraphics g, float u1, float u2) {
+    /**
+     * Draws the Path's retained geometry (see setRetained()), tessellating the Path into a PShape
+     * first if the Path or its style has changed since the last time it was drawn to g. The style
+     * must already be applied to g, since the PShape takes its style from g when it's made.
+     * 
+     * @param g A PGraphics object on which to draw the path
+     */
+    protected void drawRetained(PGraphics g) {
+        long version = getVersion();
+        RetainedShape retained = retainedShape;
+        if (retained == null || retained.version != version || retained.g != g || !retained.style.equals(style)) {
+            PShape shape = g.createShape(GROUP);
+            tessellate(g, shape);
+            retained = new RetainedShape(version, g, new TStyle(style), shape);
+            retainedShape = retained;
+        }
+        g.shape(retained.shape);
+    }
+    
+    /**
+     * Tessellates the Path, adding one child to the given group for each unbroken piece of the
+     * Path. By default, each piece is sampled in proportion to its share of the sampleCount,
+     * so subclasses made of vertices or of other Paths should override this.
+     * 
+     * @param g The PGraphics object used to create the children
+     * @param group A PShape of type GROUP
+     */
+    protected void tessellate(PGraphics g, PShape group) {
+        float[] pieces = getPieces();
+        for (int i=0; i<pieces.length; i+=2) {
+            float u1 = pieces[i];
+            float u2 = pieces[i+1];
+            
+            PShape child = g.createShape();
+            child.beginShape();
+            if (tolerance > 0) {
+                FloatList xs = new FloatList();
+                FloatList ys = new FloatList();
+                flatten(u1, u2, tolerance / getScreenScale(g), xs, ys);
+                for (int j=0; j<xs.size(); j++) {
+                    child.vertex(xs.get(j), ys.get(j));
+                }
+            }
+            else {
+                int n = 1 + PApplet.max(1, (int) (sampleCount * (u2 - u1)));
+                float[] us = new float[n];
+                float[] xs = new float[n];
+                float[] ys = new float[n];
+                float du = (u2 - u1) / (n - 1);
+                for (int j=0; j<n; j++) {
+                    us[j] = u1 + j * du;
+                }
+                trace(us, xs, ys, n);
+                for (int j=0; j<n; j++) {
+                    child.vertex(xs[j], ys[j]);
+                }
+            }
+            child.endShape();
+            group.addChild(child);
+        }
+    }
+    
+    /**
+     * Splits the Path at its gaps.
+     * 
+     * @return The 1D coordinates of the start and end of each unbroken piece of the Path, in pairs
+     */
+    protected float[] getPieces() {
+        float[] gaps = getGaps();
+        int gapCount = gaps.length;
+        FloatList pieces = new FloatList();
+        float start = 0;
+        for (int i=0; i<=gapCount; i++) {
+            float end = (i < gapCount) ? gaps[i] : 1;
+            if (end > start) {
+                //stay clear of the gaps themselves, as drawHelper() does
+                pieces.append((start == 0) ? 0 : start + 0.00001f);
+                pieces.append((end == 1) ? ((gapCount == 0) ? 1 : ALMOST_ONE) : end - 0.00001f);
+            }
+            start = end;
+        }
+        return pieces.array();
+    }
+    
+    /**
+     * Flattens the part of the Path from trace(u1) to trace(u2) into a polyline by recursive subdivision.
+     * A stretch of the Path is split in half until the points a quarter, half and three quarters of the way
+     * along it lie within the given tolerance of the straight line between its ends, so straight stretches
+     * get few vertices and tight curves get many.
+     * 
+     * @param u1 The 1D coordinate of the start
+     * @param u2 The 1D coordinate of the end, no less than u1
+     * @param tolerance The greatest distance allowed between the polyline and the Path
+     * @param xs The list to which the x-coordinates of the polyline are added
+     * @param ys The list to which the y-coordinates of the polyline are added
+     */
+    protected void flatten(float u1, float u2, float tolerance, FloatList xs, FloatList ys) {
+        flatten(u1, u2, tolerance, null, xs, ys);
+    }
+    
+    /**
+     * Like flatten(u1, u2, tolerance, xs, ys), but also gives the 1D coordinate of each vertex.
+     * Given us, the polyline is refined until tracing it linearly between those 1D coordinates
+     * stays within the tolerance of tracing the Path itself, which may take more vertices.
+     * 
+     * @param u1 The 1D coordinate of the start
+     * @param u2 The 1D coordinate of the end, no less than u1
+     * @param tolerance The greatest distance allowed between the polyline and the Path
+     * @param us The list to which the 1D coordinates of the polyline are added, or null
+     * @param xs The list to which the x-coordinates of the polyline are added
+     * @param ys The list to which the y-coordinates of the polyline are added
+     */
+    protected void flatten(float u1, float u2, float tolerance, FloatList us, FloatList xs, FloatList ys) {
+        //split the range up front, so that a loop whose midpoint happens to lie near its chord isn't missed
+        int splits = PApplet.max(1, PApplet.ceil(FLATTEN_SPLITS * (u2 - u1)));
+        float du = (u2 - u1) / splits;
+        float toleranceSq = tolerance * tolerance;
+        
+        Point pt = new Point(0, 0);
+        trace(pt, u1);
+        float ua = u1;
+        float ax = pt.x;
+        float ay = pt.y;
+        if (us != null) {
+            us.append(ua);
+        }
+        xs.append(ax);
+        ys.append(ay);
+        
+        for (int i=1; i<=splits; i++) {
+            float ub = (i == splits) ? u2 : u1 + i * du;
+            trace(pt, ub);
+            float bx = pt.x;
+            float by = pt.y;
+            subdivide(ua, ax, ay, ub, bx, by, toleranceSq, 0, pt, us, xs, ys);
+            ua = ub;
+            ax = bx;
+            ay = by;
+        }
+    }
+    
+    private void subdivide(float ua, float ax, float ay, float ub, float bx, float by, float toleranceSq, 
+            int depth, Point pt, FloatList us, FloatList xs, FloatList ys) {
+        float um = 0.5f * (ua + ub);
+        trace(pt, um);
+        float mx = pt.x;
+        float my = pt.y;
+        
+        //the midpoint of an S-bend can lie right on its chord, so the points a quarter of the way
+        //from either end must lie within the tolerance as well
+        boolean flat = depth >= FLATTEN_MAX_DEPTH
+                || (errorSq(mx, my, 0.5f, ax, ay, bx, by, us != null) <= toleranceSq
+                    && isNearChord(ua, ax, ay, ub, bx, by, 0.25f, toleranceSq, us != null, pt)
+                    && isNearChord(ua, ax, ay, ub, bx, by, 0.75f, toleranceSq, us != null, pt));
+        if (!flat) {
+            subdivide(ua, ax, ay, um, mx, my, toleranceSq, depth + 1, pt, us, xs, ys);
+            subdivide(um, mx, my, ub, bx, by, toleranceSq, depth + 1, pt, us, xs, ys);
+        }
+        else {
+            if (us != null) {
+                us.append(ub);
+            }
+            xs.append(bx);
+            ys.append(by);
+        }
+    }
+    
+    private boolean isNearChord(float ua, float ax, float ay, float ub, float bx, float by, float t,
+            float toleranceSq, boolean timed, Point pt) {
+        trace(pt, ua + t * (ub - ua));
+        return errorSq(pt.x, pt.y, t, ax, ay, bx, by, timed) <= toleranceSq;
+    }
+    
+    /**
+     * Gives the squared distance from the point a fraction t of the way along a stretch of the Path to its chord.
+     * When the 1D coordinates are wanted, the polyline must also be traced at the right speed,
+     * so the point is measured against the point the same fraction of the way along the chord instead.
+     */
+    private static float errorSq(float x, float y, float t, float ax, float ay, float bx, float by, boolean timed) {
+        return timed ? PApplet.sq(x - PApplet.lerp(ax, bx, t)) + PApplet.sq(y - PApplet.lerp(ay, by, t))
+                     : distSqToSegment(x, y, ax, ay, bx, by);
+    }
+    
+    private static float distSqToSegment(float x, float y, float ax, float ay, float bx, float by) {
+        float dx = bx - ax;
+        float dy = by - ay;
+        float lengthSq = dx * dx + dy * dy;
+        float t = (lengthSq > 0) ? ((x - ax) * dx + (y - ay) * dy) / lengthSq : 0;
+        t = PApplet.constrain(t, 0, 1);
+        float ex = ax + t * dx - x;
+        float ey = ay + t * dy - y;
+        return ex * ex + ey * ey;
+    }
+    
+    private void drawHelper(PGraphics g, float u1, float u2, int samples, float[] gaps) {
         if (u2 == 1) {
             u2 = ALMOST_ONE;
         }
@@ -142,42 +399,52 @@ public abstract class Path implements Drawable {
         if (u1 > u2) {
             float u12 = PApplet.max(ALMOST_ONE,  0.5f * (u1 + 1.0f));  
             if (u12 != 1) {
-                drawHelper(g, u1, u12); 
+                drawHelper(g, u1, u12, samples, gaps); 
             } 
-            drawHelper(g, 0.0f, u2);
+            drawHelper(g, 0.0f, u2, samples, gaps);
         }
         else {
-            int gapCount = getGapCount();
-            for (int i=0; i<gapCount; i++) {
-                float gap = getGap(i);
-                if (u1 < gap && gap < u2) {
+            for (int i=indexOfGapAfter(gaps, u1); i<gaps.length && gaps[i] < u2; i++) {
+                float gap = gaps[i];
+                if (u1 < gap) {
                     float u12 = PApplet.max(gap - 0.00001f, 0.5f * (gap + u1)); //TODO This isn't the best solution
-                    drawHelper(g, u1, u12);
+                    drawHelper(g, u1, u12, samples, gaps);
                     u1 = gap + 0.00001f; //TODO This isn't the best solution
                 }
             }
             
             float length = u2 - u1;
-            int n = (int) (sampleCount * length);
+            int n = (int) (samples * length);
             
-            if (n > 1) {
+            Point pt = new Point(0, 0);
+            if (tolerance > 0) {
+                FloatList xs = new FloatList();
+                FloatList ys = new FloatList();
+                flatten(u1, u2, tolerance / getScreenScale(g), xs, ys);
+                g.beginShape();
+                for (int i = 0; i < xs.size(); i++) {
+                    g.vertex(xs.get(i), ys.get(i));
+                }
+                g.endShape();
+            }
+            else if (n > 1) {
                 float du = length / n;
                 
                 g.beginShape();
                 float u = u1;
                 for (int i = 0; i <= n; i++) {
-                    trace(bufferPoint, u);
-                    g.vertex(bufferPoint.x, bufferPoint.y);
+                    trace(pt, u);
+                    g.vertex(pt.x, pt.y);
                     u = (u + du) % 1f;
                 }
-                trace(bufferPoint, u2);
-                g.vertex(bufferPoint.x, bufferPoint.y); //TODO is this necessary?
+                trace(pt, u2);
+                g.vertex(pt.x, pt.y); //TODO is this necessary?
                 g.endShape();
             }
             else {
                 Point prevpt = trace(u1);
-                trace(bufferPoint, u2);
-                g.line(prevpt.x, prevpt.y, bufferPoint.x, bufferPoint.y);
+                trace(pt, u2);
+                g.line(prevpt.x, prevpt.y, pt.x, pt.y);
             }
         }
     }
@@ -215,7 +482,83 @@ public abstract class Path implements Drawable {
         this.trace(pt, u);
         return pt;
     }
+
+    /**
+     * Maps each of the given 1D coordinates to a 2D coordinate and stores the results
+     * in the given arrays, so that (xs[i], ys[i]) is trace(us[i]).
+     *
+     * @param us The 1D coordinates, each a number within [0, 1)
+     * @param xs The array in which the x-coordinates are stored
+     * @param ys The array in which the y-coordinates are stored
+     */
+    public void trace(float[] us, float[] xs, float[] ys) {
+        trace(us, xs, ys, us.length);
+    }
+
+    /**
+     * Maps the first n of the given 1D coordinates to 2D coordinates and stores the
+     * results in the given arrays, so that (xs[i], ys[i]) is trace(us[i]).
+     *
+     * <br>
+     * <br>
+     *
+     * Subclasses override this to pay per-call overhead once per batch rather than
+     * once per point.
+     *
+     * @param us The 1D coordinates, each a number within [0, 1)
+     * @param xs The array in which the x-coordinates are stored
+     * @param ys The array in which the y-coordinates are stored
+     * @param n The number of coordinates to trace
+     */
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        Point pt = new Point(0, 0);
+        for (int i=0; i<n; i++) {
+            trace(pt, us[i]);
+            xs[i] = pt.x;
+            ys[i] = pt.y;
+        }
+    }
     
+    /**
+     * Like trace(target, u), except that u is measured in proportion to the length of the Path,
+     * so that evenly spaced values of u give evenly spaced points along the Path.
+     * 
+     * @param target The Point in which the result is stored.
+     * @param u A number within [0, 1)
+     */
+    public void traceArcLength(Point target, float u) {
+        trace(target, mapArcLength(u));
+    }
+    
+    /**
+     * Like trace(u), except that u is measured in proportion to the length of the Path,
+     * so that evenly spaced values of u give evenly spaced points along the Path.
+     * 
+     * @param u A number within [0, 1)
+     * @return The resulting point
+     */
+    public Point traceArcLength(float u) {
+        Point pt = new Point(0, 0);
+        traceArcLength(pt, u);
+        return pt;
+    }
+    
+    /**
+     * Like trace(us, xs, ys, n), except that each u is measured in proportion to the length of the Path.
+     * 
+     * @param us The 1D coordinates, each a number within [0, 1)
+     * @param xs The array in which the x-coordinates are stored
+     * @param ys The array in which the y-coordinates are stored
+     * @param n The number of coordinates to trace
+     */
+    public void traceArcLength(float[] us, float[] xs, float[] ys, int n) {
+        float[] vs = new float[n];
+        for (int i=0; i<n; i++) {
+            vs[i] = mapArcLength(us[i]);
+        }
+        trace(vs, xs, ys, n);
+    }
+
     /******************
      ***** Events *****
      ******************/
@@ -254,6 +597,38 @@ public abstract class Path implements Drawable {
         this.style = style;
     }
     
+    /**
+     * Sets whether the Path is drawn in retained mode. In retained mode, draw(g) tessellates the
+     * Path into a PShape once, and then replays the PShape each frame until the Path changes, which
+     * makes Paths that rarely change much cheaper to draw.
+     * 
+     * <br>
+     * <br>
+     * 
+     * Retained mode applies to Paths drawn from samples or vertices. Arc, Circle, CubicBezier,
+     * Ellipse, Line, Plot and Rect draw themselves with Processing's own primitives, so they ignore it.
+     * 
+     * @param retained True, to draw in retained mode, false otherwise
+     */
+    public void setRetained(boolean retained) {
+        this.retained = retained;
+        if (!retained) {
+            retainedShape = null;
+        }
+    }
+    
+    /**
+     * Sets whether the Path is drawn in level-of-detail mode. In level-of-detail mode, a Path that
+     * would be drawn smaller than a pixel is drawn as a single point instead, and a Path drawn from
+     * samples uses no more samples than its length on screen calls for, so zooming out on a scene
+     * makes it cheaper to draw.
+     * 
+     * @param levelOfDetail True, to draw in level-of-detail mode, false otherwise
+     */
+    public void setLevelOfDetail(boolean levelOfDetail) {
+        this.levelOfDetail = levelOfDetail;
+    }
+    
     /**
      * Sets the style of the Path to the current style of the PApplet.
      * @param pa the PApplet
@@ -261,7 +636,22 @@ public abstract class Path implements Drawable {
     public void setStyle(PApplet pa) {
         this.style = new TStyle(pa.getGraphics().getStyle());
     }
-    
+
+    /**
+     * Gives the Path a copy of the style of the given Path, and the same orientation, for a Path that
+     * is made from another, such as a simplified or optimized one. Only this Path is changed, not any
+     * Paths within it, since those may be shared.
+     *
+     * @param path The Path to take the style and orientation of
+     */
+    protected void copyStyleAndOrientation(Path path) {
+        this.style = new TStyle(path.style);
+        if (reversed != path.reversed) {
+            reversed = path.reversed;
+            invalidate();
+        }
+    }
+
     /**
      * 
      * @param strokeCap
@@ -324,6 +714,26 @@ public abstract class Path implements Drawable {
      */
     public void setSampleCount(int sampleCount) {
         this.sampleCount = sampleCount;
+        invalidate();
+    }
+    
+    /**
+     * Sets the tolerance for adaptive flattening. When the tolerance is greater than 0, the Path is
+     * drawn and measured by recursive subdivision (see flatten()) rather than with sampleCount evenly
+     * spaced samples, so that it gets as many vertices as its curves need to stay within the
+     * tolerance of the true Path, and no more.
+     * 
+     * <br>
+     * <br>
+     * 
+     * When drawing, the tolerance is in pixels, taking into account the scale of the current
+     * transformation matrix. When measuring, it is in the units of the Path itself.
+     * 
+     * @param tolerance The tolerance, or 0 to sample the Path evenly
+     */
+    public void setTolerance(float tolerance) {
+        this.tolerance = tolerance;
+        invalidate();
     }
     
     /**
@@ -335,6 +745,7 @@ public abstract class Path implements Drawable {
         if (sampleCount == 1) {
             sampleCount = 2; //at a minimum, a path needs 2 samples
         }
+        invalidate();
     }
     
     /**
@@ -342,50 +753,91 @@ public abstract class Path implements Drawable {
      */
     public void reverse() {
         reversed = !reversed;
+        invalidate();
     }
     
     /**
+     * Tells the Path that its geometry has changed, so that it discards anything it has cached.
+     * 
+     * <br>
+     * <br>
+     * 
+     * The Path calls this itself whenever one of its own methods changes it. Call it yourself
+     * after changing a Point that the Path holds by reference. Any Path made from this one
+     * (see addParent()) is invalidated along with it.
+     */
+    public void invalidate() {
+        version = versionCounter.incrementAndGet();
+        if (parents != null) {
+            for (Path parent : getParents()) {
+                parent.invalidate();
+            }
+        }
+    }
+    
+    /**
+     * Registers a Path that is made from this one, so that invalidating this Path invalidates the parent too.
+     * A Path made from other Paths calls this on each of them as it takes them on, and removeParent() as it
+     * lets them go, so that it can tell whether it has changed from its own version alone, however many
+     * Paths it is made from. A Path added to the same parent twice is registered twice. The parent
+     * is only weakly referenced, so a parent that is thrown away can still be garbage collected.
+     * 
+     * @param parent The Path made from this one
+     */
+    protected synchronized void addParent(Path parent) {
+        if (parents == null) {
+            parents = new ArrayList<WeakReference<Path>>(1);
+        }
+        parents.add(new WeakReference<Path>(parent));
+    }
+    
+    /**
+     * Undoes one call to addParent() with the given parent.
+     * 
+     * @param parent The Path that is no longer made from this one
+     */
+    protected synchronized void removeParent(Path parent) {
+        if (parents == null) {
+            return;
+        }
+        for (int i=0; i<parents.size(); i++) {
+            if (parents.get(i).get() == parent) {
+                parents.remove(i);
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Gives the registered parents that haven't been garbage collected, dropping those that have.
+     * They are handed back in an array, so that they are invalidated outside of this Path's lock.
+     */
+    private synchronized Path[] getParents() {
+        Path[] live = new Path[parents.size()];
+        int count = 0;
+        for (int i=0; i<parents.size(); i++) {
+            Path parent = parents.get(i).get();
+            if (parent == null) {
+                parents.remove(i--);
+            }
+            else {
+                live[count++] = parent;
+            }
+        }
+        return (count == live.length) ? live : Arrays.copyOf(live, count);
+    }
+    
+    /**
+     * Translates the Path so that the center of its bounding box (see getBounds()) is at (x, y).
      * 
      * @param x
      * @param y
      */
     public void setCenter(float x, float y) {
-        if (sampleCount > 0) {
-            
-            float u = 0;
-            
-            trace(bufferPoint, u);
-            
-            float x1 = bufferPoint.x;
-            float y1 = bufferPoint.y;
-            float x2 = bufferPoint.x;
-            float y2 = bufferPoint.y;
-            
-            float du = 1.0f / sampleCount;
-            u += du;
-            
-            for (int i=1; i<sampleCount; i++) {
-                trace(bufferPoint, u);
-                
-                if (bufferPoint.x < x1) {
-                    x1 = bufferPoint.x;
-                }
-                else if (bufferPoint.x > x2) {
-                    x2 = bufferPoint.x;
-                }
-                
-                if (bufferPoint.y < y1) {
-                    y1 = bufferPoint.y;
-                }
-                else if (bufferPoint.y > y2) {
-                    y2 = bufferPoint.y;
-                }
-                
-                u += du;
-            }
-            
-            float currx = 0.5f * (x1 + x2);
-            float curry = 0.5f * (y1 + y2);
+        CachedBounds bounds = getCachedBounds();
+        if (!bounds.isEmpty()) {
+            float currx = 0.5f * (bounds.x1 + bounds.x2);
+            float curry = 0.5f * (bounds.y1 + bounds.y2);
             
             translate(x - currx, y - curry);
         }
@@ -402,6 +854,10 @@ public abstract class Path implements Drawable {
      * @return
      */
     public float compute2DSegmentLength(float u1, float u2) {
+        return compute2DSegmentLength(u1, u2, getGaps());
+    }
+    
+    private float compute2DSegmentLength(float u1, float u2, float[] gaps) {
         if (u2 == 1) {
             u2 = ALMOST_ONE;
         }
@@ -414,19 +870,18 @@ public abstract class Path implements Drawable {
             float segmentLength = 0;
             float u12 = PApplet.max(ALMOST_ONE,  0.5f * (u1 + 1.0f));  
             if (u12 != 1) {
-                segmentLength += compute2DSegmentLength(u1, u12); 
+                segmentLength += compute2DSegmentLength(u1, u12, gaps); 
             } 
-            segmentLength += compute2DSegmentLength(0.0f, u2);
+            segmentLength += compute2DSegmentLength(0.0f, u2, gaps);
             return segmentLength;
         }
         else {
             float segmentLength = 0;
-            int gapCount = getGapCount();
-            for (int i=0; i<gapCount; i++) {
-                float gap = getGap(i);
-                if (u1 < gap && gap < u2) {
+            for (int i=indexOfGapAfter(gaps, u1); i<gaps.length && gaps[i] < u2; i++) {
+                float gap = gaps[i];
+                if (u1 < gap) {
                     float u12 = PApplet.max(gap - 0.00001f, 0.5f * (gap + u1)); //TODO This isn't the best solution
-                    segmentLength += compute2DSegmentLength(u1, u12);
+                    segmentLength += compute2DSegmentLength(u1, u12, gaps);
                     u1 = gap + 0.00001f; //TODO This isn't the best solution
                 }
             }
@@ -434,16 +889,17 @@ public abstract class Path implements Drawable {
             float length = u2 - u1;
             int n = (int) (sampleCount * length);
             
+            Point pt = new Point(0, 0);
             if (n > 0) {
                 float u = u1;
                 float du = length / n;
-                trace(bufferPoint, u);
-                Point prevpt = new Point(bufferPoint);
+                trace(pt, u);
+                Point prevpt = new Point(pt);
                 for (int i = 1; i <= n; i++) {
                     u = (u + du) % 1f;
-                    trace(bufferPoint, u);         
-                    segmentLength += PApplet.dist(prevpt.x, prevpt.y, bufferPoint.x, bufferPoint.y);
-                    prevpt.set(bufferPoint);
+                    trace(pt, u);         
+                    segmentLength += PApplet.dist(prevpt.x, prevpt.y, pt.x, pt.y);
+                    prevpt.set(pt);
                 }
                 
                 return segmentLength;
@@ -451,8 +907,8 @@ public abstract class Path implements Drawable {
             else {
                Point prevpt = new Point(0, 0);
                trace(prevpt, u1);
-               trace(bufferPoint, u2);
-               return PApplet.dist(prevpt.x, prevpt.y, bufferPoint.x, bufferPoint.y);
+               trace(pt, u2);
+               return PApplet.dist(prevpt.x, prevpt.y, pt.x, pt.y);
             }
         }
     }
@@ -465,58 +921,431 @@ public abstract class Path implements Drawable {
     public boolean isReversed() {
         return reversed;
     }
+    
+    /**
+     * Tells whether the Path is drawn in level-of-detail mode (see setLevelOfDetail()).
+     * 
+     * @return true, if the Path is drawn in level-of-detail mode, false otherwise
+     */
+    public boolean isLevelOfDetail() {
+        return levelOfDetail;
+    }
+    
+    /**
+     * Gives the tolerance for adaptive flattening (see setTolerance()).
+     * 
+     * @return The tolerance, or 0 if the Path is sampled evenly
+     */
+    public float getTolerance() {
+        return tolerance;
+    }
+    
+    /**
+     * Tells whether the Path is drawn in retained mode (see setRetained()).
+     * 
+     * @return true, if the Path is drawn in retained mode, false otherwise
+     */
+    public boolean isRetained() {
+        return retained;
+    }
 
     @Override
     public abstract Path clone();
+    
+    /**
+     * Gives a Path that traces the same points as this one but has fewer layers of Paths wrapped in
+     * other Paths, such as a TranslatedPath of a TranslatedPath, a Segment of a Segment, a Blender
+     * blended all the way to one side or a Composite of Composites. By default, there is nothing
+     * to fold, and the Path itself is returned.
+     * 
+     * <br>
+     * <br>
+     * 
+     * The optimized Path shares the Paths at the bottom of the tree with this one, so changes to them
+     * show in both, but the translations, ranges and blend amounts of the layers folded away are
+     * taken as they are now. A Path made by optimize() is given the style and orientation of this one,
+     * and a layer is only dropped in favor of a shared Path if that Path already has them.
+     * The batch trace() of TranslatedPath, TransformedPath, Segment and Blender
+     * folds their layers in the same way each time it is called, so it needs no call to optimize().
+     * 
+     * @return The optimized Path, or this Path if it can't be made any shallower
+     */
+    public Path optimize() {
+        return this;
+    }
 
     /**
-     * Returns the length of the Path.
+     * Returns the length of the Path. The Path is measured the first time this is called,
+     * and the result is reused until the Path changes.
      * 
      * @return The length of the Path
      */    
     public float getLength() {
-        trace(bufferPoint, 0);
-        float prevx = bufferPoint.x;
-        float prevy = bufferPoint.y;
+        long version = getVersion();
+        CachedLength cached = cachedLength;
+        if (cached == null || cached.version != version) {
+            cached = new CachedLength(version, computeLength());
+            cachedLength = cached;
+        }
+        return cached.length;
+    }
+    
+    /**
+     * Measures the length of the Path. This is called by getLength() only when the Path
+     * has changed since it was last measured, so subclasses that measure themselves by
+     * walking over their vertices should override this rather than getLength().
+     * 
+     * @return The length of the Path
+     */
+    protected float computeLength() {
+        if (tolerance > 0) {
+            return flattenedLength();
+        }
+        return sampleLengths(null);
+    }
+    
+    /**
+     * Measures the Path by flattening each of its unbroken pieces (see flatten()).
+     * 
+     * @return The length of the Path
+     */
+    private float flattenedLength() {
+        float total = 0;
+        float[] pieces = getPieces();
+        FloatList xs = new FloatList();
+        FloatList ys = new FloatList();
+        for (int i=0; i<pieces.length; i+=2) {
+            xs.clear();
+            ys.clear();
+            flatten(pieces[i], pieces[i+1], tolerance, xs, ys);
+            for (int j=1; j<xs.size(); j++) {
+                total += PApplet.dist(xs.get(j-1), ys.get(j-1), xs.get(j), ys.get(j));
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Gives the bounding box of the Path. The bounds are computed the first time this is called,
+     * and reused until the Path changes.
+     * 
+     * <br>
+     * <br>
+     * 
+     * Simple types of Path compute their bounds exactly, or a little larger than exactly in the
+     * case of Lissajous. Other types find their bounds by sampling, so the box may miss the very
+     * tips of sharp curves by a fraction of the distance between samples.
+     * 
+     * @return The bounding box as a Rect, or null if the Path has no points
+     */
+    public Rect getBounds() {
+        CachedBounds bounds = getCachedBounds();
+        if (bounds.isEmpty()) {
+            return null;
+        }
+        return new Rect(bounds.x1, bounds.y1, bounds.x2, bounds.y2, CORNERS);
+    }
+    
+    private CachedBounds getCachedBounds() {
+        long version = getVersion();
+        CachedBounds cached = cachedBounds;
+        if (cached == null || cached.version != version) {
+            float[] bounds = {Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, 
+                    Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+            computeBounds(bounds);
+            cached = new CachedBounds(version, bounds);
+            cachedBounds = cached;
+        }
+        return cached;
+    }
+    
+    /**
+     * Computes the bounding box of the Path by growing the given box to include every point of
+     * the Path (see includePoint()). This is called by getBounds() only when the Path has changed
+     * since its bounds were last computed. By default, the Path is sampled sampleCount times, so
+     * subclasses that know their bounds exactly should override this.
+     * 
+     * @param bounds The box to grow, as {x1, y1, x2, y2}. It starts out empty.
+     */
+    protected void computeBounds(float[] bounds) {
+        int n = PApplet.max(1, sampleCount);
+        float[] us = new float[n];
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        float du = 1.0f / n;
+        for (int i=0; i<n; i++) {
+            us[i] = i * du;
+        }
+        trace(us, xs, ys, n);
+        for (int i=0; i<n; i++) {
+            includePoint(bounds, xs[i], ys[i]);
+        }
+    }
+    
+    /**
+     * Grows the bounding box to include the point (x, y).
+     * 
+     * @param bounds The bounding box, as {x1, y1, x2, y2}
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    protected static void includePoint(float[] bounds, float x, float y) {
+        if (x < bounds[0]) {
+            bounds[0] = x;
+        }
+        if (x > bounds[2]) {
+            bounds[2] = x;
+        }
+        if (y < bounds[1]) {
+            bounds[1] = y;
+        }
+        if (y > bounds[3]) {
+            bounds[3] = y;
+        }
+    }
+    
+    /**
+     * Grows the bounding box to include the bounding box of the given Path, offset by (dx, dy).
+     * 
+     * @param bounds The bounding box, as {x1, y1, x2, y2}
+     * @param path The Path
+     * @param dx The offset in the x direction
+     * @param dy The offset in the y direction
+     */
+    protected static void includeBounds(float[] bounds, Path path, float dx, float dy) {
+        CachedBounds b = path.getCachedBounds();
+        if (!b.isEmpty()) {
+            includePoint(bounds, b.x1 + dx, b.y1 + dy);
+            includePoint(bounds, b.x2 + dx, b.y2 + dy);
+        }
+    }
+    
+    /**
+     * Grows the bounding box to include the bounding box of the given Path, transformed by the given
+     * affine matrix. The corners of the Path's bounding box are transformed rather than the Path itself,
+     * so the result may be larger than the bounding box of the transformed Path, but no samples are taken.
+     * 
+     * @param bounds The bounding box, as {x1, y1, x2, y2}
+     * @param path The Path
+     * @param m00 The first row of the matrix
+     * @param m01 The first row of the matrix
+     * @param m02 The first row of the matrix
+     * @param m10 The second row of the matrix
+     * @param m11 The second row of the matrix
+     * @param m12 The second row of the matrix
+     */
+    protected static void includeBounds(float[] bounds, Path path, 
+            float m00, float m01, float m02, float m10, float m11, float m12) {
+        CachedBounds b = path.getCachedBounds();
+        if (!b.isEmpty()) {
+            includePoint(bounds, m00 * b.x1 + m01 * b.y1 + m02, m10 * b.x1 + m11 * b.y1 + m12);
+            includePoint(bounds, m00 * b.x2 + m01 * b.y1 + m02, m10 * b.x2 + m11 * b.y1 + m12);
+            includePoint(bounds, m00 * b.x2 + m01 * b.y2 + m02, m10 * b.x2 + m11 * b.y2 + m12);
+            includePoint(bounds, m00 * b.x1 + m01 * b.y2 + m02, m10 * b.x1 + m11 * b.y2 + m12);
+        }
+    }
+    
+    /**
+     * Grows the bounding box to include the bounding box of the given Path.
+     * 
+     * @param bounds The bounding box, as {x1, y1, x2, y2}
+     * @param path The Path
+     */
+    protected static void includeBounds(float[] bounds, Path path) {
+        includeBounds(bounds, path, 0, 0);
+    }
+    
+    /**
+     * Gives the size, in pixels, of the Path's bounding box as it would be drawn to the given
+     * PGraphics with its current transformation matrix.
+     * 
+     * @param g The PGraphics instance
+     * @return The larger of the width and height of the projected bounding box, or 0 if the Path has no points
+     */
+    public float getScreenSize(PGraphics g) {
+        float[] screen = getScreenBounds(g);
+        if (screen == null) {
+            return 0;
+        }
+        return PApplet.max(screen[2] - screen[0], screen[3] - screen[1]);
+    }
+    
+    /**
+     * Projects the corners of the Path's bounding box with the current transformation matrix
+     * of the given PGraphics, in case the matrix rotates or scales the Path.
+     * 
+     * @param g The PGraphics instance
+     * @return The bounding box of the projected corners, as {x1, y1, x2, y2}, or null if the Path has no points
+     */
+    private float[] getScreenBounds(PGraphics g) {
+        CachedBounds b = getCachedBounds();
+        if (b.isEmpty()) {
+            return null;
+        }
+        
+        float[] screen = {Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, 
+                Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+        includePoint(screen, g.screenX(b.x1, b.y1), g.screenY(b.x1, b.y1));
+        includePoint(screen, g.screenX(b.x2, b.y1), g.screenY(b.x2, b.y1));
+        includePoint(screen, g.screenX(b.x2, b.y2), g.screenY(b.x2, b.y2));
+        includePoint(screen, g.screenX(b.x1, b.y2), g.screenY(b.x1, b.y2));
+        return screen;
+    }
+    
+    /**
+     * Picks how many samples to draw the Path with in level-of-detail mode (see setLevelOfDetail()),
+     * from the length the Path would have on screen. The result is never more than sampleCount.
+     * 
+     * @param g The PGraphics instance
+     * @return The number of samples, or 0 if the Path would be smaller than a pixel
+     */
+    private int getLevelOfDetailSampleCount(PGraphics g) {
+        if (getScreenSize(g) < 1) {
+            return 0;
+        }
+        float screenLength = getLength() * getScreenScale(g);
+        int samples = PApplet.ceil(screenLength / LEVEL_OF_DETAIL_PIXELS_PER_SAMPLE);
+        return PApplet.constrain(samples, PApplet.min(3, sampleCount), sampleCount);
+    }
+    
+    /**
+     * Draws the Path as a single point at the center of its bounding box, or nothing if the Path
+     * has no stroke, which is all that can be seen of a Path smaller than a pixel.
+     * 
+     * @param g The PGraphics instance
+     */
+    private void drawAsPoint(PGraphics g) {
+        CachedBounds b = getCachedBounds();
+        if (!b.isEmpty() && style.stroke) {
+            g.point(0.5f * (b.x1 + b.x2), 0.5f * (b.y1 + b.y2));
+        }
+    }
+    
+    /**
+     * Tells whether any part of the Path's bounding box would be visible if the Path were drawn to
+     * the given PGraphics with its current transformation matrix. This takes constant time once the
+     * bounds are cached, so it's a cheap way to skip drawing Paths that are off screen. The bounds
+     * are those of the Path as of its last change of version (see invalidate()).
+     * 
+     * @param g The PGraphics instance
+     * @return False, if the Path is certainly off screen, true otherwise
+     */
+    public boolean isOnScreen(PGraphics g) {
+        float[] screen = getScreenBounds(g);
+        if (screen == null) {
+            return false;
+        }
+        
+        //leave room for the stroke
+        float margin = (style != null && style.stroke) ? style.strokeWeight : 0;
+        
+        return screen[2] >= -margin && screen[0] <= g.width + margin &&
+               screen[3] >= -margin && screen[1] <= g.height + margin;
+    }
+    
+    /**
+     * Measures the Path by summing the distances between sampleCount evenly spaced samples,
+     * skipping over gaps.
+     * 
+     * @param lengths If not null, lengths[i] is set to the length of the Path from trace(0) to trace(i / sampleCount)
+     * @return The length of the Path
+     */
+    private float sampleLengths(float[] lengths) {
+        Point pt = new Point(0, 0);
+        trace(pt, 0);
+        float prevx = pt.x;
+        float prevy = pt.y;
         
         float du = 1.0f / sampleCount;
         float u = du;
         
         float total = 0;
         
+        float[] gaps = getGaps();
         int gapIndex = 0;
         
-        if (0 < getGapCount() && getGap(0) == 0) {
+        if (0 < gaps.length && gaps[0] == 0) {
             gapIndex++;
         }
         
         int i=0;
         while (i < sampleCount && u < 1) {
-            float gap = (gapIndex < getGapCount()) ? getGap(gapIndex) : -1;
-            if (gapIndex < getGapCount() && gap != -1 && gap < u) {
-                trace(bufferPoint, gap-0.00001f);
-                total += PApplet.dist(prevx, prevy, bufferPoint.x, bufferPoint.y);
-                trace(bufferPoint, gap+0.00001f);
-                prevx = bufferPoint.x;
-                prevy = bufferPoint.y;
-                trace(bufferPoint, u);
-                total += PApplet.dist(prevx, prevy, bufferPoint.x, bufferPoint.y);
+            float gap = (gapIndex < gaps.length) ? gaps[gapIndex] : -1;
+            if (gapIndex < gaps.length && gap != -1 && gap < u) {
+                trace(pt, gap-0.00001f);
+                total += PApplet.dist(prevx, prevy, pt.x, pt.y);
+                trace(pt, gap+0.00001f);
+                prevx = pt.x;
+                prevy = pt.y;
+                trace(pt, u);
+                total += PApplet.dist(prevx, prevy, pt.x, pt.y);
                 gapIndex++;
             }
             else {
-                trace(bufferPoint, u);
-                total += PApplet.dist(prevx, prevy, bufferPoint.x, bufferPoint.y);
+                trace(pt, u);
+                total += PApplet.dist(prevx, prevy, pt.x, pt.y);
             }
             
-            prevx = bufferPoint.x;
-            prevy = bufferPoint.y;
+            prevx = pt.x;
+            prevy = pt.y;
             u += du;
             i++;
+            
+            if (lengths != null) {
+                lengths[i] = total;
+            }
+        }
+        
+        if (lengths != null) {
+            lengths[0] = 0;
+            while (i < sampleCount) {
+                i++;
+                lengths[i] = total;
+            }
         }
         
         return total;
     }
     
+    /**
+     * Maps a proportion of the length of the Path to the 1D coordinate of the point that
+     * far along the Path, so that trace(mapArcLength(u)) moves at a constant speed as u
+     * increases at a constant rate.
+     * 
+     * <br>
+     * <br>
+     * 
+     * The first call measures the Path and caches a table of lengths. Later calls look
+     * up the table with a binary search until the Path changes.
+     * 
+     * @param u A proportion of the length of the Path, a number within [0, 1)
+     * @return The 1D coordinate, a number within [0, 1)
+     */
+    public float mapArcLength(float u) {
+        u = Path.remainder(u, 1.0f);
+        
+        long version = getVersion();
+        ArcLengthTable table = arcLengthTable;
+        if (table == null || table.version != version) {
+            float[] lengths = new float[sampleCount + 1];
+            sampleLengths(lengths);
+            table = new ArcLengthTable(version, lengths);
+            arcLengthTable = table;
+        }
+        
+        return table.map(u);
+    }
+    
+    /**
+     * Gives the version of the Path, a number that changes whenever the geometry of the Path
+     * (or of any Path it is made from) changes.
+     * 
+     * @return The version
+     */
+    public long getVersion() {
+        return version;
+    }
+    
     /**
      * Returns the slope of the Point on the Path at trace(u).
      * 
@@ -572,12 +1401,8 @@ public abstract class Path implements Drawable {
         float u2 = (u == 0) ? 1
                             : (u == 1) ? 0 
                                        : u;
-        for (int i=0; i<getGapCount(); i++) {
-            if (u == getGap(i) || u2 == getGap(i)) {
-                return true;
-            }
-        }
-        return false;
+        float[] gaps = getGaps();
+        return containsGap(gaps, u) || containsGap(gaps, u2);
     }
     
     /**
@@ -587,15 +1412,165 @@ public abstract class Path implements Drawable {
      * @return True, if there is a gap and false otherwise
      */
     public boolean isGap(float u1, float u2) {
-        for (int i=0; i<getGapCount(); i++) {
-            float gap = getGap(i);
-            if (u1 < gap && gap < u2) {
-                return true;
+        float[] gaps = getGaps();
+        int i = indexOfGapAfter(gaps, u1);
+        return i < gaps.length && gaps[i] < u2;
+    }
+    
+    /**
+     * Gives every gap in the Path (see getGap()), in ascending order. The array is built the first
+     * time it's needed and reused until the Path changes, so it must not be modified.
+     * 
+     * @return The gaps
+     */
+    protected float[] getGaps() {
+        long version = getVersion();
+        CachedGaps cached = cachedGaps;
+        if (cached == null || cached.version != version) {
+            float[] gaps = computeGaps();
+            Arrays.sort(gaps);
+            cached = new CachedGaps(version, gaps);
+            cachedGaps = cached;
+        }
+        return cached.gaps;
+    }
+    
+    /**
+     * Lists every gap in the Path. This is called by getGaps() only when the Path has changed since
+     * the gaps were last listed. By default, it calls getGap() for each index, so subclasses whose
+     * getGap() is slow should override this.
+     * 
+     * @return The gaps, in any order
+     */
+    protected float[] computeGaps() {
+        int gapCount = getGapCount();
+        float[] gaps = new float[gapCount];
+        for (int i=0; i<gapCount; i++) {
+            gaps[i] = getGap(i);
+        }
+        return gaps;
+    }
+    
+    /**
+     * Finds the first gap that is greater than u with a binary search.
+     * 
+     * @param gaps The gaps, in ascending order
+     * @param u The 1D coordinate
+     * @return The index of the first gap greater than u, or gaps.length if there is none
+     */
+    private static int indexOfGapAfter(float[] gaps, float u) {
+        int lo = 0;
+        int hi = gaps.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (gaps[mid] > u) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
             }
         }
-        return false;
+        return lo;
     }
     
+    /**
+     * Tells whether u is one of the given gaps, with a binary search.
+     * 
+     * @param gaps The gaps, in ascending order
+     * @param u The 1D coordinate
+     * @return True, if u is one of the gaps, false otherwise
+     */
+    protected static boolean containsGap(float[] gaps, float u) {
+        //the gap before the first gap greater than u is the only one that could equal u
+        int i = indexOfGapAfter(gaps, u) - 1;
+        return i >= 0 && gaps[i] == u;
+    }
+    
+    /**
+     * Merges two arrays of gaps in one pass, counting a gap that is in both only once.
+     * 
+     * @param gapsA The first gaps, in ascending order
+     * @param gapsB The second gaps, in ascending order
+     * @return Every gap in either array, in ascending order
+     */
+    protected static float[] mergeGaps(float[] gapsA, float[] gapsB) {
+        float[] gaps = new float[gapsA.length + gapsB.length];
+        int j = 0; //loops through the first gaps
+        int k = 0; //loops through the second gaps
+        int count = 0; //loops through all gaps
+        while (j < gapsA.length || k < gapsB.length) {
+            float gap;
+            if (k == gapsB.length || (j < gapsA.length && gapsA[j] < gapsB[k])) {
+                gap = gapsA[j++];
+            }
+            else if (j == gapsA.length || gapsB[k] < gapsA[j]) {
+                gap = gapsB[k++];
+            }
+            else {
+                gap = gapsA[j++];
+                k++;
+            }
+            if (count == 0 || gaps[count-1] != gap) {
+                gaps[count++] = gap;
+            }
+        }
+        return (count == gaps.length) ? gaps : Arrays.copyOf(gaps, count);
+    }
+    
+    /**
+     * Gives where the given gaps fall when the Path they belong to is traced in reverse.
+     * A gap at 1 falls at 0, like a gap at 0 does.
+     * 
+     * @param gaps The gaps
+     * @return The mirrored gaps, in ascending order
+     */
+    protected static float[] mirrorGaps(float[] gaps) {
+        float[] mirrored = new float[gaps.length];
+        for (int i=0; i<gaps.length; i++) {
+            float gap = 1.0f - gaps[i];
+            mirrored[i] = (gap == 1.0f) ? 0 : gap;
+        }
+        Arrays.sort(mirrored);
+        return mirrored;
+    }
+
+    /**
+     * Finds the span of a sequence of ascending 1D coordinates that contains u, that is, the first
+     * index i from 1 on such that u < coords[i]. The hint is checked first, along with the span after it,
+     * so a batch trace that steps along the Path and passes back the last span it found takes constant
+     * time per step. Otherwise, the span is found with a binary search. The hint is meant to be kept in
+     * a local variable, not a field, so that tracing the same Path from many threads stays safe.
+     *
+     * @param coords The 1D coordinates, in ascending order
+     * @param n The number of coordinates to use
+     * @param u The 1D coordinate to look up
+     * @param hint The span to check first, such as the span found by the last call, or 0 for none
+     * @return The span, or n if u is not less than any of the coordinates
+     */
+    protected static int findSpan(float[] coords, int n, float u, int hint) {
+        if (hint >= 1 && hint < n && u >= coords[hint-1]) {
+            if (u < coords[hint]) {
+                return hint;
+            }
+            if (hint+1 < n && u < coords[hint+1]) {
+                return hint+1;
+            }
+        }
+
+        int lo = 1;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (coords[mid] > u) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
 //    /**
 //     * Gives the number of vertices in the Path.
 //     * @return The number of vertices in the Path
@@ -798,24 +1773,83 @@ public abstract class Path implements Drawable {
         paths.add(new MultiShape(0, 0, r));
     }
     
+    /**
+     * Gives the number of pixels that one unit spans under the current transformation matrix
+     * of the given PGraphics, taking the larger of the horizontal and vertical scales.
+     * 
+     * @param g The PGraphics instance
+     * @return The scale, or 1 if g has a degenerate matrix
+     */
+    protected static float getScreenScale(PGraphics g) {
+        float x0 = g.screenX(0, 0);
+        float y0 = g.screenY(0, 0);
+        float sx = PApplet.dist(x0, y0, g.screenX(1, 0), g.screenY(1, 0));
+        float sy = PApplet.dist(x0, y0, g.screenX(0, 1), g.screenY(0, 1));
+        float scale = PApplet.max(sx, sy);
+        return (scale > 0) ? scale : 1;
+    }
+    
     /**
      * Draws every Path in the Collection.
+     * Paths in level-of-detail mode (see setLevelOfDetail()) that are smaller than a pixel are drawn as a point.
      * @param paths The Collection of Paths
      * @param g The PGraphics instance
      */
     public static void draw(Collection<Path> paths, PGraphics g) {
         for (Path p : paths) {
-            p.draw(g);
+            drawPath(p, g);
         }
     }
     
     /**
      * Draws every Path in the array.
+     * Paths in level-of-detail mode (see setLevelOfDetail()) that are smaller than a pixel are drawn as a point.
      * @param paths The array of Paths
      * @param g The PGraphics instace
      */
     public static void draw(Path[] paths, PGraphics g) {
         for (Path p : paths) {
+            drawPath(p, g);
+        }
+    }
+    
+    /**
+     * Draws every Path in the Collection that is on screen (see isOnScreen()), as draw() does.
+     * Whether a Path is on screen is decided from its cached bounding box, so a Path that holds
+     * a Point which has been changed without calling invalidate() may be skipped when it shouldn't be.
+     * @param paths The Collection of Paths
+     * @param g The PGraphics instance
+     */
+    public static void drawVisible(Collection<Path> paths, PGraphics g) {
+        for (Path p : paths) {
+            if (p.isOnScreen(g)) {
+                drawPath(p, g);
+            }
+        }
+    }
+    
+    /**
+     * Draws every Path in the array that is on screen (see isOnScreen()), as draw() does.
+     * Whether a Path is on screen is decided from its cached bounding box, so a Path that holds
+     * a Point which has been changed without calling invalidate() may be skipped when it shouldn't be.
+     * @param paths The array of Paths
+     * @param g The PGraphics instance
+     */
+    public static void drawVisible(Path[] paths, PGraphics g) {
+        for (Path p : paths) {
+            if (p.isOnScreen(g)) {
+                drawPath(p, g);
+            }
+        }
+    }
+    
+    private static void drawPath(Path p, PGraphics g) {
+        if (p.levelOfDetail && p.getScreenSize(g) < 1) {
+            //Paths that draw themselves don't all check their size, so check it here
+            p.style.apply(g);
+            p.drawAsPoint(g);
+        }
+        else {
             p.draw(g);
         }
     }
@@ -840,4 +1874,70 @@ public abstract class Path implements Drawable {
     public static float getDefaultSamplesPerUnitLength() {
         return defaultSamplesPerUnitLength;
     }
+    
+    /**
+     * A length paired with the version of the Path it was measured from. It is never modified
+     * after it's made, so one thread can replace it while another reads it.
+     */
+    private static class CachedLength {
+        final long version;
+        final float length;
+        
+        CachedLength(long version, float length) {
+            this.version = version;
+            this.length = length;
+        }
+    }
+    
+    /**
+     * A bounding box paired with the version of the Path it was computed from. Like CachedLength,
+     * it is never modified after it's made.
+     */
+    private static class CachedBounds {
+        final long version;
+        final float x1, y1, x2, y2;
+        
+        CachedBounds(long version, float[] bounds) {
+            this.version = version;
+            this.x1 = bounds[0];
+            this.y1 = bounds[1];
+            this.x2 = bounds[2];
+            this.y2 = bounds[3];
+        }
+        
+        boolean isEmpty() {
+            return x1 > x2;
+        }
+    }
+    
+    /**
+     * The tessellated geometry of a Path, paired with the version and style of the Path it was
+     * made from and the PGraphics it was made for.
+     */
+    private static class RetainedShape {
+        final long version;
+        final PGraphics g;
+        final TStyle style;
+        final PShape shape;
+        
+        RetainedShape(long version, PGraphics g, TStyle style, PShape shape) {
+            this.version = version;
+            this.g = g;
+            this.style = style;
+            this.shape = shape;
+        }
+    }
+    
+    /**
+     * The gaps of a Path, paired with the version of the Path they were listed from.
+     */
+    private static class CachedGaps {
+        final long version;
+        final float[] gaps;
+        
+        CachedGaps(long version, float[] gaps) {
+            this.version = version;
+            this.gaps = gaps;
+        }
+    }
 }
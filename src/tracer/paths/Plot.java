@@ -59,6 +59,7 @@ public class Plot extends Path {
         else {
             this.rect = new Rect(0, 0, 0, 0, CORNER);
         }
+        rect.addParent(this);
         
         //normalize the points and store them in the xs and ys arrays
         this.xs = new float[pts.size()];
@@ -78,6 +79,7 @@ public class Plot extends Path {
      */
     public Plot(Plot plot) {
         this.rect = (Rect) plot.rect.clone();
+        rect.addParent(this);
         this.xs = plot.xs;
         this.ys = plot.ys;
         setSampleCount(plot.sampleCount);
@@ -91,6 +93,7 @@ public class Plot extends Path {
      */
     public Plot(Rect rect, Easing easing, int n) {
         this.rect = rect;
+        rect.addParent(this);
         
         float du = 1.0f / (n - 1);    
         this.xs = new float[n];
@@ -112,6 +115,7 @@ public class Plot extends Path {
      */
     public Plot(Rect rect, float[] xs, float[] ys) {
         this.rect = rect;
+        rect.addParent(this);
         
         int n = PApplet.min(xs.length, ys.length);
         this.xs = PApplet.sort(Arrays.copyOfRange(xs, 0, n));
@@ -139,6 +143,7 @@ public class Plot extends Path {
      */
     public Plot(Rect rect, float[] ys) {
         this.rect = rect;
+        rect.addParent(this);
         
         float du = 1.0f / (ys.length-1);
         this.xs = new float[ys.length];
@@ -192,13 +197,38 @@ public class Plot extends Path {
             }
         }
         
-        for (int i=1; i<xs.length; i++) {
-            if (u < xs[i]) {
+        int i = findSpan(xs, xs.length, u, 0);
+        if (i < xs.length) {
+            float y = PApplet.map(u, xs[i-1], xs[i], ys[i-1], ys[i]);
+            
+            target.x = PApplet.map(u, 0, 1, rect.getX1(), rect.getX2());
+            target.y = PApplet.map(y, 0, 1, rect.getY2(), rect.getY1());
+        }
+    }
+    
+    @Override
+    public void trace(float[] us, float[] outXs, float[] outYs, int n) {
+        float x1 = rect.getX1();
+        float width = rect.getX2() - x1;
+        float y2 = rect.getY2();
+        float height = y2 - rect.getY1();
+        int i = 1;
+        for (int j=0; j<n; j++) {
+            float u = Path.remainder(us[j], 1.0f);
+            if (reversed) {
+                u = 1.0f - u;
+                if (u == 1.0f) {
+                    u = ALMOST_ONE;
+                }
+            }
+            
+            //check the previous span first, so ascending coordinates rarely need a search
+            int span = findSpan(xs, xs.length, u, i);
+            if (span < xs.length) {
+                i = span;
                 float y = PApplet.map(u, xs[i-1], xs[i], ys[i-1], ys[i]);
-                
-                target.x = PApplet.map(u, 0, 1, rect.getX1(), rect.getX2());
-                target.y = PApplet.map(y, 0, 1, rect.getY2(), rect.getY1());
-                break;
+                outXs[j] = x1 + u * width;
+                outYs[j] = y2 - y * height;
             }
         }
     }
@@ -210,6 +240,7 @@ public class Plot extends Path {
     @Override
     public void translate(float dx, float dy) {
         rect.translate(dx, dy);
+        invalidate();
     }
     
     @Override
@@ -226,6 +257,11 @@ public class Plot extends Path {
         return new Plot(this);
     }
 
+    @Override
+    public long getVersion() {
+        return Math.max(super.getVersion(), rect.getVersion());
+    }
+    
     @Override
     public int getGapCount() {
         return 1;
@@ -242,7 +278,19 @@ public class Plot extends Path {
     }
 
     @Override
-    public float getLength() {
+    protected void computeBounds(float[] bounds) {
+        float x1 = rect.getX1();
+        float y2 = rect.getY2();
+        float w = rect.getWidth();
+        float h = rect.getHeight();
+        
+        for (int i=0; i<xs.length; i++) {
+            includePoint(bounds, x1 + w*xs[i], y2 - h*ys[i]);
+        }
+    }
+
+    @Override
+    protected float computeLength() {
         if (xs.length == 0) {
             return 0;
         }
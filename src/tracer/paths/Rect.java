@@ -121,6 +121,7 @@ public class Rect extends Path {
         this.rectMode = rectMode;
 
         computeHelperFields();
+        invalidate();
     }
 
     /**
@@ -147,6 +148,7 @@ public class Rect extends Path {
             this.rectMode = rectMode;
             computeHelperFields();
         }
+        invalidate();
     }
 
     /**
@@ -176,6 +178,7 @@ public class Rect extends Path {
             this.rectMode = rectMode;
             computeHelperFields();
         }
+        invalidate();
     }
     
     /********************
@@ -200,9 +203,10 @@ public class Rect extends Path {
   
     private void drawHelper(PGraphics g, float u1, float u2) {
         if (u1 < u2) {
+            Point pt = new Point(0, 0);
             g.beginShape();
-            trace(bufferPoint, u1);
-            g.vertex(bufferPoint.x, bufferPoint.y);
+            trace(pt, u1);
+            g.vertex(pt.x, pt.y);
 
             for (int i = 1; i < vertices1D.length; i++) {
                 float vtx1D = vertices1D[i];
@@ -210,14 +214,14 @@ public class Rect extends Path {
                 boolean inSegment = (u1 < vtx1D && vtx1D < u2);
 
                 if (inSegment) {
-                    trace(bufferPoint, vertices1D[i]);
-                    g.vertex(bufferPoint.x, bufferPoint.y);
+                    trace(pt, vertices1D[i]);
+                    g.vertex(pt.x, pt.y);
                 }
             }
 
-            trace(bufferPoint, u2);
-            g.vertex(bufferPoint.x, bufferPoint.y);
-            g.vertex(bufferPoint.x, bufferPoint.y); // writing the last vertex twice, because the
+            trace(pt, u2);
+            g.vertex(pt.x, pt.y);
+            g.vertex(pt.x, pt.y); // writing the last vertex twice, because the
                                   // P2D renderer requires at least 3 vertices
             g.endShape();
         } else {
@@ -270,6 +274,7 @@ public class Rect extends Path {
         if (rectMode == CORNERS) {
             cd.translate(dx, dy);
         }
+        invalidate();
     }
     
     @Override
@@ -282,6 +287,7 @@ public class Rect extends Path {
      */
     public void makeProportional() {
         computeHelperFields();
+        invalidate();
     }
     
     /**
@@ -290,6 +296,7 @@ public class Rect extends Path {
      */
     public void setAB(Point ab) {
         this.ab = ab;
+        invalidate();
     }
     
     /**
@@ -298,6 +305,7 @@ public class Rect extends Path {
      */
     public void setCD(Point cd) {
         this.cd = cd;
+        invalidate();
     }
     
     /**
@@ -307,6 +315,7 @@ public class Rect extends Path {
     public void setRectMode(int rectMode) {
         this.rectMode = rectMode;
         computeHelperFields();
+        invalidate();
     }
 
     /*******************
@@ -498,10 +507,22 @@ public class Rect extends Path {
         }
     }
 
+    @Override
+    protected void computeBounds(float[] bounds) {
+        includePoint(bounds, getX1(), getY1());
+        includePoint(bounds, getX2(), getY2());
+    }
+
     @Override
     public float getLength() {
         return 2f * (getY2() - getY1()) + 2f * (getX2() - getX1());
     }
+
+    @Override
+    public float mapArcLength(float u) {
+        //the 1D coordinates of the corners are already proportional to the perimeter
+        return Path.remainder(u, 1.0f);
+    }
     
     /**
      * 
@@ -113,6 +113,25 @@ public class Rose extends Path {
         target.x = PApplet.lerp(cen.x, x, lerpAmt);
         target.y = PApplet.lerp(cen.y, y, lerpAmt);
     }
+    
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        float cenx = cen.x;
+        float ceny = cen.y;
+        float alphaFactor = PApplet.TWO_PI * freq1;
+        float betaFactor = PApplet.TWO_PI * freq2;
+        for (int i=0; i<n; i++) {
+            float u = Path.remainder(us[i], 1.0f);
+            if (reversed) {
+                u *= -1;
+            }
+            float alpha = u * alphaFactor;
+            //maps sin(beta) from [-1, 1] to [0, 1]
+            float lerpAmt = 0.5f * (PApplet.sin(u * betaFactor) + 1);
+            xs[i] = cenx + lerpAmt * xRadius * PApplet.cos(alpha);
+            ys[i] = ceny + lerpAmt * yRadius * PApplet.sin(alpha);
+        }
+    }
 
     /******************
      ***** Events *****
@@ -121,6 +140,7 @@ public class Rose extends Path {
     @Override
     public void translate(float dx, float dy) {
         cen.translate(dx, dy);
+        invalidate();
     }
     
     /**
@@ -129,6 +149,7 @@ public class Rose extends Path {
      */
     public void setXRadius(float xRadius) {
         this.xRadius = xRadius;
+        invalidate();
     }
     
     /**
@@ -137,6 +158,7 @@ public class Rose extends Path {
      */
     public void setYRadius(float yRadius) {
         this.yRadius = yRadius;
+        invalidate();
     }
 
     /**
@@ -145,6 +167,7 @@ public class Rose extends Path {
      */
     public void setFreq1(float freq1) {
         this.freq1 = freq1;
+        invalidate();
     }
     
     /**
@@ -153,11 +176,13 @@ public class Rose extends Path {
      */
     public void setFreq2(float freq2) {
         this.freq2 = freq2;
+        invalidate();
     }
     
     @Override
     public void setCenter(float x, float y) {
         this.cen.set(x, y);
+        invalidate();
     }
     
     /**
@@ -166,6 +191,7 @@ public class Rose extends Path {
      */
     public void setCenter(Point cen) {
         this.cen = cen;
+        invalidate();
     }
     
     /*******************
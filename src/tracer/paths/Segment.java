@@ -2,6 +2,7 @@ package tracer.paths;
 
 import processing.core.PApplet;
 import processing.core.PGraphics;
+import processing.data.FloatList;
 import tracer.Point;
 
 /**
@@ -28,6 +29,7 @@ public class Segment extends Path {
      */
     public Segment(Path parent, float u1, float u2) {
         this.parent = parent;
+        parent.addParent(this);
         setU1(u1);
         setU2(u2);
         setSamplesPerUnitLength(Path.defaultSamplesPerUnitLength);
@@ -74,6 +76,31 @@ public class Segment extends Path {
         }   
     }
     
+    /**
+     * Composes the ranges of any Segments of Segments below this one into a single range, then
+     * traces the Path at the bottom once for the whole batch.
+     */
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        float start = u1;
+        float span = getSpan();
+        Path inner = parent;
+        //a range that wraps around the end of the Segment within can't be traced as a single range of its parent
+        while (inner instanceof Segment && start + span <= 1) {
+            Segment s = (Segment) inner;
+            start = Path.remainder(s.u1 + start * s.getSpan(), 1.0f);
+            span *= s.getSpan();
+            inner = s.parent;
+        }
+        
+        float[] vs = new float[n];
+        for (int i=0; i<n; i++) {
+            float v = start + Path.remainder(us[i], 1.0f) * span;
+            vs[i] = (v >= 1.0f) ? v - 1.0f : v;
+        }
+        inner.trace(vs, xs, ys, n);
+    }
+    
     /******************
      ***** Events *****
      ******************/
@@ -90,6 +117,7 @@ public class Segment extends Path {
     public void translate(float du) {
         u1 = remainder(u1 + du, 1);
         u2 = remainder(u2 + du, 1);
+        invalidate();
     }
     
     /**
@@ -98,6 +126,7 @@ public class Segment extends Path {
      */
     public void setU1(float u1) {
         this.u1 = remainder(u1, 1);
+        invalidate();
     }
 
     /**
@@ -106,6 +135,7 @@ public class Segment extends Path {
      */
     public void setU2(float u2) {
         this.u2 = remainder(u2, 1);
+        invalidate();
     }
     
     /*******************
@@ -117,53 +147,68 @@ public class Segment extends Path {
         return new Segment(this);
     }
     
+    /**
+     * Composes a Segment of a Segment into a single Segment of the Path at the bottom,
+     * with its range taken as it is now.
+     */
     @Override
-    public int getGapCount() {
-        int count = 0;
-        
-        if (u1 != u2) {
-            count++;
+    public Path optimize() {
+        Path inner = parent.optimize();
+        float start = u1;
+        float span = getSpan();
+        while (inner instanceof Segment && start + span <= 1) {
+            Segment s = (Segment) inner;
+            start = Path.remainder(s.u1 + start * s.getSpan(), 1.0f);
+            span *= s.getSpan();
+            inner = s.parent;
         }
         
-        for (int j=0; j<parent.getGapCount(); j++) {
-            float gap = parent.getGap(j);
-            if ((u1 < gap && gap < u2) || ((u1 > u2) && (u1 < gap || u2 > gap))) {
-                count++;
-            }
-        } 
-      
-        return count;
+        if (inner == parent) {
+            return this;
+        }
+        Segment segment = new Segment(inner, start, start + span);
+        segment.setSampleCount(sampleCount);
+        segment.copyStyleAndOrientation(this);
+        return segment;
+    }
+    
+    @Override
+    public int getGapCount() {
+        return getGaps().length;
     }
     
     @Override
     public float getGap(int i) {
-        int originalIndex = i;
+        float[] gaps = getGaps();
+        if (i < 0 || i >= gaps.length) {
+            throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
+        }
+        return gaps[i];
+    }
+    
+    @Override
+    protected float[] computeGaps() {
+        FloatList gaps = new FloatList();
         
-        if (i == 0) {
-            return 0;
+        if (u1 != u2) {
+            gaps.append(0);
         }
-        else if (i > 0) {
-            i--;
-            for (int j=0; j<parent.getGapCount(); j++) {
-                float gap = parent.getGap(j);
-                if (u1 < gap && gap < u2) {
-                    if (i == 0) {
-                        return PApplet.map(gap, u1, u2, 0.0f, 1.0f);
-                    }
-                    i--;
+        
+        for (float gap : parent.getGaps()) {
+            if (u1 < gap && gap < u2) {
+                gaps.append(PApplet.map(gap, u1, u2, 0.0f, 1.0f));
+            }
+            else if (u1 > u2) {
+                if (u1 < gap) {
+                    gaps.append(PApplet.map(gap, u1, u2+1.0f, 0.0f, 1.0f));
                 }
-                else if (u1 > u2) {
-                    if (u1 < gap) {
-                        return PApplet.map(gap, u1, u2+1.0f, 0.0f, 1.0f);
-                    }
-                    else if (gap < u2) {
-                        return PApplet.map(gap, u1-1.0f, u2, 0.0f, 1.0f);
-                    }
+                else if (gap < u2) {
+                    gaps.append(PApplet.map(gap, u1-1.0f, u2, 0.0f, 1.0f));
                 }
             }
         }
-      
-        throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + originalIndex + ")");
+        
+        return gaps.array();
     }
     
     /**
@@ -182,13 +227,26 @@ public class Segment extends Path {
         return u2;
     }
     
+    /**
+     * Gives how much of its parent the Segment covers, measured in 1D coordinates.
+     * A Segment whose ends coincide covers the whole of its parent, as trace() treats it.
+     * @return The span of the Segment
+     */
+    private float getSpan() {
+        return (u1 < u2) ? u2 - u1 : 1.0f + u2 - u1;
+    }
+    
+    @Override
+    public long getVersion() {
+        return Math.max(super.getVersion(), parent.getVersion());
+    }
+    
     /**
      * Gives the x-coordinate of the first 2D coordinate of the Segment.
      * @return The x-coordinate of the first 2D coordinate
      */
     public float getX1() {
-        parent.trace(bufferPoint, u1);
-        return bufferPoint.x;
+        return parent.trace(u1).x;
     }
     
     /**
@@ -196,8 +254,7 @@ public class Segment extends Path {
      * @return The y-coordinate of the first 2D coordinate
      */
     public float getY1() {
-        parent.trace(bufferPoint, u1);
-        return bufferPoint.y;
+        return parent.trace(u1).y;
     }
     
     /**
@@ -205,8 +262,7 @@ public class Segment extends Path {
      * @return The x-coordinate of the second 2D coordinate
      */
     public float getX2() {
-        parent.trace(bufferPoint, u2);
-        return bufferPoint.x;
+        return parent.trace(u2).x;
     }
     
     /**
@@ -214,8 +270,7 @@ public class Segment extends Path {
      * @return The y-coordinate of the second 2D coordinate
      */
     public float getY2() {
-        parent.trace(bufferPoint, u2);
-        return bufferPoint.y;
+        return parent.trace(u2).y;
     }
 
     @Override
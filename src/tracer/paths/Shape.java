@@ -1,10 +1,11 @@
 package tracer.paths;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import processing.core.PApplet;
 import processing.core.PGraphics;
+import processing.core.PShape;
 import processing.data.JSONObject;
 import tracer.Point;
 
@@ -13,27 +14,87 @@ import tracer.Point;
  * A sequence of vertices attached by lines, analogous to using Processing's
  * beginShape(), vertex(), and endShape() functions.
  * 
+ * <br>
+ * <br>
+ * 
+ * A Shape stores the coordinates of its vertices, not the Points they were given as. Changing a Point
+ * after passing it to a constructor, addVertex() or setVertex() leaves the Shape as it was, and the Point
+ * returned by getVertex2D() is a copy. To move a vertex, call setVertex(), for example once per frame with
+ * a Point that follows the mouse.
+ * 
  * @author James Morrow [jamesmorrowdesign.com]
  *
  */
 public class Shape extends Path {
-    protected List<Point> vertices2D = new ArrayList<Point>();
-    protected List<Float> vertices1D = new ArrayList<Float>();
+    //the vertices are packed into parallel arrays, of which only the first vertexCount entries are used
+    protected float[] vertexXs;
+    protected float[] vertexYs;
+    protected float[] vertexLengths; //the length of the Shape up to each vertex
+    protected int vertexCount;
+    private boolean triangulated;
+    private CachedTriangles cachedTriangles;
+    private static final int DEFAULT_CAPACITY = 8;
     
     /**************************
      ***** Initialization *****
      **************************/
 
     /**
+     * The Shape keeps a copy of the coordinates of each Point, not the Points themselves.
      * 
      * @param vertices The vertices of the Shape
      */
     public Shape(List<Point> vertices) {
-        this.vertices2D = vertices;
+        allocate(vertices.size());
+        for (Point pt : vertices) {
+            vertexXs[vertexCount] = pt.x;
+            vertexYs[vertexCount] = pt.y;
+            vertexCount++;
+        }
+        computeVertices1D();
+        setSamplesPerUnitLength(Path.defaultSamplesPerUnitLength);
+    }
+    
+    /**
+     * 
+     * @param xs The x-coordinates of the vertices of the Shape
+     * @param ys The y-coordinates of the vertices of the Shape
+     */
+    public Shape(float[] xs, float[] ys) {
+        this(xs, ys, xs.length);
+    }
+    
+    /**
+     * 
+     * @param xs The x-coordinates of the vertices of the Shape
+     * @param ys The y-coordinates of the vertices of the Shape
+     * @param n The number of vertices to take from xs and ys
+     */
+    public Shape(float[] xs, float[] ys, int n) {
+        allocate(n);
+        System.arraycopy(xs, 0, vertexXs, 0, n);
+        System.arraycopy(ys, 0, vertexYs, 0, n);
+        vertexCount = n;
         computeVertices1D();
         setSamplesPerUnitLength(Path.defaultSamplesPerUnitLength);
     }
 
+    /**
+     * Takes ownership of arrays that are already filled in, without copying them. Used by ShapeBuilder.
+     *
+     * @param xs The x-coordinates of the vertices
+     * @param ys The y-coordinates of the vertices
+     * @param lengths The length of the Shape up to each vertex
+     * @param n The number of vertices in use
+     */
+    Shape(float[] xs, float[] ys, float[] lengths, int n) {
+        this.vertexXs = xs;
+        this.vertexYs = ys;
+        this.vertexLengths = lengths;
+        this.vertexCount = n;
+        setSamplesPerUnitLength(Path.defaultSamplesPerUnitLength);
+    }
+
     /**
      * Copy constructor
      * 
@@ -41,10 +102,11 @@ public class Shape extends Path {
      */
     public Shape(Shape s) {
         super(s.sampleCount);
-        for (int i = 0; i < s.vertices2D.size(); i++) {
-            this.vertices2D.add(s.vertices2D.get(i).clone());
-            this.vertices1D.add(new Float(s.vertices1D.get(i)));
-        }
+        int n = PApplet.max(s.vertexCount, DEFAULT_CAPACITY);
+        this.vertexXs = Arrays.copyOf(s.vertexXs, n);
+        this.vertexYs = Arrays.copyOf(s.vertexYs, n);
+        this.vertexLengths = Arrays.copyOf(s.vertexLengths, n);
+        this.vertexCount = s.vertexCount;
     }
 
     /**
@@ -56,11 +118,14 @@ public class Shape extends Path {
      */
     public Shape(float x, float y, float r) {
         int n = 5;
+        allocate(n);
         float dTheta = TWO_PI / n;
         for (int i = 0; i < n; i++) {
             float theta = dTheta * i;
-            vertices2D.add(new Point(x + r * PApplet.cos(theta), y + r * PApplet.sin(theta)));
+            vertexXs[i] = x + r * PApplet.cos(theta);
+            vertexYs[i] = y + r * PApplet.sin(theta);
         }
+        vertexCount = n;
         computeVertices1D();
         setSamplesPerUnitLength(Path.defaultSamplesPerUnitLength);
     }
@@ -73,19 +138,34 @@ public class Shape extends Path {
     }
 
     /**
+     * The Shape keeps a copy of the coordinates of each Point, not the Points themselves.
      * 
      * @param vertices The vertices of the Shape
      */
     public Shape(Point[] vertices) {
-        this(listify(vertices));
+        this(Arrays.asList(vertices));
+    }
+    
+    private void allocate(int capacity) {
+        capacity = PApplet.max(capacity, DEFAULT_CAPACITY);
+        vertexXs = new float[capacity];
+        vertexYs = new float[capacity];
+        vertexLengths = new float[capacity];
     }
     
-    private static ArrayList<Point> listify(Point[] xs) {
-        ArrayList<Point> ys = new ArrayList<Point>();
-        for (int i = 0; i < xs.length; i++) {
-            ys.add(xs[i]);
+    /**
+     * Makes room for at least the given number of vertices, growing the arrays by half again
+     * so that adding vertices one at a time doesn't copy them every time.
+     * 
+     * @param capacity The number of vertices
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > vertexXs.length) {
+            int n = PApplet.max(capacity, vertexXs.length + (vertexXs.length >> 1));
+            vertexXs = Arrays.copyOf(vertexXs, n);
+            vertexYs = Arrays.copyOf(vertexYs, n);
+            vertexLengths = Arrays.copyOf(vertexLengths, n);
         }
-        return ys;
     }
     
     /********************
@@ -96,15 +176,68 @@ public class Shape extends Path {
         if (!disableStyle) {
             style.apply(g);
         }
+        
+        if (isRetained()) {
+            drawRetained(g);
+            return;
+        }
+        
+        if (triangulated && g.fill) {
+            drawTriangulated(g);
+            return;
+        }
             
         g.beginShape();
-        for (int i = 0; i < vertices2D.size(); i++) {
-            Point pt = vertices2D.get(i);
-            g.vertex(pt.x, pt.y);
+        for (int i = 0; i < vertexCount; i++) {
+            g.vertex(vertexXs[i], vertexYs[i]);
         }
         g.endShape();
     }
     
+    /**
+     * Draws the Shape's fill as triangles (see setTriangulated()), then its outline, using
+     * whatever style is already applied to g.
+     * 
+     * @param g A PGraphics object on which to draw the Shape
+     */
+    void drawTriangulated(PGraphics g) {
+        int[] triangles = getTriangles();
+        
+        if (g.fill) {
+            g.pushStyle();
+            g.noStroke();
+            g.beginShape(TRIANGLES);
+            for (int i = 0; i < triangles.length; i++) {
+                int j = triangles[i];
+                g.vertex(vertexXs[j], vertexYs[j]);
+            }
+            g.endShape();
+            g.popStyle();
+        }
+        
+        if (g.stroke) {
+            g.pushStyle();
+            g.noFill();
+            g.beginShape();
+            for (int i = 0; i < vertexCount; i++) {
+                g.vertex(vertexXs[i], vertexYs[i]);
+            }
+            g.endShape();
+            g.popStyle();
+        }
+    }
+    
+    @Override
+    protected void tessellate(PGraphics g, PShape group) {
+        PShape child = g.createShape();
+        child.beginShape();
+        for (int i = 0; i < vertexCount; i++) {
+            child.vertex(vertexXs[i], vertexYs[i]);
+        }
+        child.endShape();
+        group.addChild(child);
+    }
+    
     @Override
     public void draw(PGraphics g) {
         draw(g, false);
@@ -121,24 +254,20 @@ public class Shape extends Path {
     
     private void drawHelper(PGraphics g, float u1, float u2) {
         if (u1 < u2) {    
+            Point pt = new Point(0, 0);
             g.beginShape();
-            trace(bufferPoint, u1);
-            g.vertex(bufferPoint.x, bufferPoint.y);
+            trace(pt, u1);
+            g.vertex(pt.x, pt.y);
 
-            for (int i=1; i<vertices1D.size(); i++) {
-                float vtx1D = vertices1D.get(i);
-                
-                boolean inSegment = (u1 < vtx1D && vtx1D < u2);
-                
-                if (inSegment) {
-                    Point vtx2D = vertices2D.get(i);
-                    g.vertex(vtx2D.x, vtx2D.y);
-                }
+            //the vertices within the segment start at the span containing u1
+            float length2 = u2 * getTotalLength();
+            for (int i=indexOfVertexAfter(u1); i<vertexCount && vertexLengths[i] < length2; i++) {
+                g.vertex(vertexXs[i], vertexYs[i]);
             }
             
-            trace(bufferPoint, u2);
-            g.vertex(bufferPoint.x, bufferPoint.y);
-            g.vertex(bufferPoint.x, bufferPoint.y); //writing the last vertex twice, because the P2D renderer requires at least 3 vertices
+            trace(pt, u2);
+            g.vertex(pt.x, pt.y);
+            g.vertex(pt.x, pt.y); //writing the last vertex twice, because the P2D renderer requires at least 3 vertices
             g.endShape();
         }
         else {
@@ -152,17 +281,32 @@ public class Shape extends Path {
     public void trace(Point target, float u) {
         u = Path.remainder(u, 1.0f);
         
-        for (int i = 1; i < vertices1D.size(); i++) {
-            float coord = vertices1D.get(i);
-            if (u < coord) {
-                float prevCoord = vertices1D.get(i - 1);
-                float v = PApplet.map(u, prevCoord, coord, 0, 1);
-
-                Point a = vertices2D.get(i - 1);
-                Point b = vertices2D.get(i);
-
-                Line.trace(target, a, b, v);
-                break;
+        //the 1D coordinates of the vertices are proportional to their lengths, so u is scaled up rather than
+        //the lengths scaled down, which saves normalizing every length each time a vertex is added
+        float length = u * getTotalLength();
+        int i = findSpan(vertexLengths, vertexCount, length, 0);
+        if (i < vertexCount) {
+            float v = PApplet.map(length, vertexLengths[i - 1], vertexLengths[i], 0, 1);
+            Line.trace(target, vertexXs[i - 1], vertexYs[i - 1], vertexXs[i], vertexYs[i], v);
+        }
+    }
+    
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        int size = vertexCount;
+        float totalLength = getTotalLength();
+        int i = 1;
+        for (int j=0; j<n; j++) {
+            float length = Path.remainder(us[j], 1.0f) * totalLength;
+            
+            //check the previous span first, so ascending coordinates rarely need a search
+            int span = findSpan(vertexLengths, size, length, i);
+            if (span < size) {
+                i = span;
+                float prevLength = vertexLengths[i - 1];
+                float v = PApplet.map(length, prevLength, vertexLengths[i], 0, 1);
+                xs[j] = PApplet.lerp(vertexXs[i - 1], vertexXs[i], v);
+                ys[j] = PApplet.lerp(vertexYs[i - 1], vertexYs[i], v);
             }
         }
     }
@@ -172,24 +316,49 @@ public class Shape extends Path {
      ******************/
     
     /**
-     * Adds a vertex to the Shape.
+     * Adds a vertex to the Shape. The Shape keeps a copy of the Point's coordinates, not the Point itself.
      * 
      * @param i The index
      * @param pt The Point to add
      */
     public void addVertex(int i, Point pt) {
-        vertices2D.add(i, pt);
-        computeVertices1D();
+        if (i < 0 || i > vertexCount) {
+            throw new IndexOutOfBoundsException("Index " + i + " Size " + vertexCount);
+        }
+        ensureCapacity(vertexCount + 1);
+        System.arraycopy(vertexXs, i, vertexXs, i + 1, vertexCount - i);
+        System.arraycopy(vertexYs, i, vertexYs, i + 1, vertexCount - i);
+        vertexXs[i] = pt.x;
+        vertexYs[i] = pt.y;
+        vertexCount++;
+        invalidate();
+        computeVertexLengths(i);
     }
 
     /**
-     * Adds a vertex to the Shape.
+     * Adds a vertex to the Shape. The Shape keeps a copy of the Point's coordinates, not the Point itself.
      * 
      * @param pt The Point to add
      */
     public void addVertex(Point pt) {
-        vertices2D.add(pt);
-        computeVertices1D();
+        addVertex(pt.x, pt.y);
+    }
+    
+    /**
+     * Adds a vertex to the end of the Shape. This takes constant time, apart from the occasional
+     * growth of the arrays, so a Shape can be built up a vertex at a time.
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    public void addVertex(float x, float y) {
+        ensureCapacity(vertexCount + 1);
+        int i = vertexCount;
+        vertexXs[i] = x;
+        vertexYs[i] = y;
+        vertexLengths[i] = (i == 0) ? 0 : vertexLengths[i - 1] + PApplet.dist(vertexXs[i - 1], vertexYs[i - 1], x, y);
+        vertexCount++;
+        invalidate();
     }
 
     /**
@@ -198,57 +367,93 @@ public class Shape extends Path {
      * @param i The index
      */
     public void removeVertex(int i) {
-        vertices2D.remove(i);
-        computeVertices1D();
+        checkIndex(i);
+        System.arraycopy(vertexXs, i + 1, vertexXs, i, vertexCount - i - 1);
+        System.arraycopy(vertexYs, i + 1, vertexYs, i, vertexCount - i - 1);
+        vertexCount--;
+        invalidate();
+        computeVertexLengths(i);
     }
 
     /**
-     * Sets the vertex at index i to the given Point.
+     * Sets the vertex at index i to the given Point. The Shape keeps a copy of the Point's coordinates,
+     * not the Point itself.
      * 
      * @param i The index
      * @param pt The new vertex
      */
     public void setVertex(int i, Point pt) {
-        vertices2D.set(i, pt);
-        computeVertices1D();
+        setVertex(i, pt.x, pt.y);
+    }
+    
+    /**
+     * Sets the vertex at index i to the given coordinates.
+     * 
+     * @param i The index
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    public void setVertex(int i, float x, float y) {
+        checkIndex(i);
+        vertexXs[i] = x;
+        vertexYs[i] = y;
+        invalidate();
+        computeVertexLengths(i);
     }
 
+    /**
+     * Sets whether the Shape's fill is drawn from a cached triangulation.
+     * Normally the renderer tessellates a filled Shape every time it's drawn. A triangulated Shape
+     * is split into triangles the first time it's drawn, and the triangles are reused until the Shape
+     * changes, which saves a lot of work for large filled Shapes drawn every frame. This is meant for
+     * Shapes that don't cross themselves (see Triangulate.earClip()).
+     * 
+     * @param triangulated True, to draw the fill from a cached triangulation, false otherwise
+     */
+    public void setTriangulated(boolean triangulated) {
+        this.triangulated = triangulated;
+        if (!triangulated) {
+            cachedTriangles = null;
+        }
+    }
+    
     /**
      * 
      */
     public void makeProportional() {
+        invalidate();
         computeVertices1D();
     }
     
     @Override
     public void translate(float dx, float dy) {
-        for (Point pt : vertices2D) {
-            pt.translate(dx, dy);
+        for (int i = 0; i < vertexCount; i++) {
+            vertexXs[i] += dx;
+            vertexYs[i] += dy;
         }
+        invalidate();
     }
     
     @Override
     public void reverse() {
         super.reverse();
-        reverse(vertices2D);
-        reverse(vertices1D);
+        float totalLength = getTotalLength();
+        reverse(vertexXs, vertexCount);
+        reverse(vertexYs, vertexCount);
+        reverse(vertexLengths, vertexCount);
         
-        int i=0;
-        vertices1D.set(0, 0.0f);
-        i++;
-        while (i<vertices1D.size()-1) {
-            Float f = remainder(1.0f - vertices1D.get(i), 1.0f);
-            vertices1D.set(i, f);
-            i++;
+        //what was the length to the end of the Shape is now the length from its start
+        for (int i=0; i<vertexCount; i++) {
+            vertexLengths[i] = totalLength - vertexLengths[i];
         }
-        vertices1D.set(i, 1.0f);
+        invalidate();
     }
 
-    private static void reverse(List xs) {
-        int i = xs.size() - 1;
-        while (i >= 0) {
-            xs.add(xs.remove(i));
-            i--;
+    private static void reverse(float[] xs, int n) {
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            float temp = xs[i];
+            xs[i] = xs[j];
+            xs[j] = temp;
         }
     }
     
@@ -256,67 +461,76 @@ public class Shape extends Path {
      * Clears the Shape of all its vertices.
      */
     public void clear() {
-        vertices1D.clear();
-        vertices2D.clear();
+        vertexCount = 0;
+        invalidate();
     }
     
-    @Override
-    public void setCenter(float x, float y) {
-        if (vertices2D.size() > 0) {
-            Point pt = vertices2D.get(0);
-            
-            float x1 = pt.x;
-            float y1 = pt.y;
-            float x2 = pt.x;
-            float y2 = pt.y;
-            
-            for (int i=1; i<vertices2D.size(); i++) {
-                pt = vertices2D.get(i);
-                
-                if (pt.x < x1) {
-                    x1 = pt.x;
-                }
-                else if (pt.x > x2) {
-                    x2 = pt.x;
-                }
-                
-                if (pt.y < y1) {
-                    y1 = pt.y;
-                }
-                else if (pt.y > y2) {
-                    y2 = pt.y;
-                }
-            }
-            
-            float currx = 0.5f * (x1 + x2);
-            float curry = 0.5f * (y1 + y2);
-            
-            translate(x - currx, y - curry);
-        }
-    }
     
     /*******************
      ***** Getters *****
      *******************/
 
+    /**
+     * Measures the length of the Shape up to each vertex, from which the 1D coordinates of the
+     * vertices follow.
+     */
     protected void computeVertices1D() {
-        vertices1D.clear();
-
-        if (vertices2D.size() > 0) {
-            float totalLength = getLength();
-    
-            Point a = vertices2D.get(0);
-            float u1 = 0;
-            vertices1D.add(u1);
-            for (int i = 1; i < vertices2D.size(); i++) {
-                Point b = vertices2D.get(i);
-                float du = Line.dist(a, b) / totalLength;
-                float u2 = (u1 + du);
-                vertices1D.add(u2);
-                u1 = u2;
-                a = b;
-            }
+        computeVertexLengths(0);
+    }
+    
+    /**
+     * Measures the length of the Shape up to each vertex from the ith vertex on, assuming the
+     * lengths up to the vertices before it are already known.
+     * 
+     * @param i The index of the first vertex to measure
+     */
+    private void computeVertexLengths(int i) {
+        if (i == 0 && vertexCount > 0) {
+            vertexLengths[0] = 0;
+            i = 1;
+        }
+        for (; i < vertexCount; i++) {
+            vertexLengths[i] = vertexLengths[i - 1] + PApplet.dist(vertexXs[i - 1], vertexYs[i - 1], vertexXs[i], vertexYs[i]);
+        }
+    }
+    
+    /**
+     * Tells whether the Shape's fill is drawn from a cached triangulation.
+     * 
+     * @return True, if the Shape is triangulated, false otherwise
+     */
+    public boolean isTriangulated() {
+        return triangulated;
+    }
+    
+    /**
+     * Gives the triangulation of the Shape, computing it first if the Shape has changed since it was
+     * last computed. The array must not be modified.
+     * 
+     * @return The indices of the vertices of each triangle, three to a triangle
+     */
+    int[] getTriangles() {
+        long version = getVersion();
+        CachedTriangles cached = cachedTriangles;
+        if (cached == null || cached.version != version) {
+            cached = new CachedTriangles(version, Triangulate.earClip(vertexXs, vertexYs, vertexCount));
+            cachedTriangles = cached;
         }
+        return cached.triangles;
+    }
+    
+    float getTotalLength() {
+        return (vertexCount == 0) ? 0 : vertexLengths[vertexCount - 1];
+    }
+    
+    /**
+     * Finds the first vertex whose 1D coordinate is greater than u, with a binary search.
+     * 
+     * @param u The 1D coordinate
+     * @return The index of the vertex, or the number of vertices if there is none
+     */
+    int indexOfVertexAfter(float u) {
+        return findSpan(vertexLengths, vertexCount, u * getTotalLength(), 0);
     }
 
     @Override
@@ -345,21 +559,22 @@ public class Shape extends Path {
     }
 
     @Override
-    public float getLength() {
-        if (vertices2D.size() > 0) {
-            float dist = 0;
-            Point a = vertices2D.get(0);
-            for (int i = 1; i < vertices2D.size(); i++) {
-                Point b = vertices2D.get(i);
-                dist += Line.dist(a, b);
-                a = b;
-            }
-            return dist;
-        }
-        else {
-            return 0;
+    protected void computeBounds(float[] bounds) {
+        for (int i = 0; i < vertexCount; i++) {
+            includePoint(bounds, vertexXs[i], vertexYs[i]);
         }
     }
+
+    @Override
+    protected float computeLength() {
+        return getTotalLength();
+    }
+    
+    @Override
+    public float mapArcLength(float u) {
+        //the 1D coordinates of the vertices are already proportional to the length of the Shape
+        return Path.remainder(u, 1.0f);
+    }
     
     /**
      * 
@@ -368,17 +583,40 @@ public class Shape extends Path {
      * @return A number between 0 (inclusive) and 1 (exclusive)
      */
     public float getVertex1D(int i) {
-        return vertices1D.get(i);
+        checkIndex(i);
+        return vertexLengths[i] / getTotalLength();
     }
 
     /**
      * 
-     * Gives the ith vertex of the Shape as a 2D coordinate.
+     * Gives the ith vertex of the Shape as a 2D coordinate. The Point is a copy, so to move
+     * the vertex, use setVertex().
      * @param i The index of the vertex
      * @return A Point
      */
     public Point getVertex2D(int i) {
-        return vertices2D.get(i);
+        checkIndex(i);
+        return new Point(vertexXs[i], vertexYs[i]);
+    }
+    
+    /**
+     * Gives the x-coordinate of the ith vertex of the Shape.
+     * @param i The index of the vertex
+     * @return The x-coordinate
+     */
+    public float getVertexX(int i) {
+        checkIndex(i);
+        return vertexXs[i];
+    }
+    
+    /**
+     * Gives the y-coordinate of the ith vertex of the Shape.
+     * @param i The index of the vertex
+     * @return The y-coordinate
+     */
+    public float getVertexY(int i) {
+        checkIndex(i);
+        return vertexYs[i];
     }
 
     /**
@@ -387,7 +625,7 @@ public class Shape extends Path {
      * @return The number of vertices in the Shape
      */
     public int getVertexCount() {
-        return vertices2D.size();
+        return vertexCount;
     }
 
     /**
@@ -396,12 +634,27 @@ public class Shape extends Path {
      * @return True if the path is closed, false otherwise
      */
     public boolean isClosed() {
-        return vertices2D.size() == 0 || vertices2D.get(vertices2D.size() - 1).equals(vertices2D.get(0));
+        int last = vertexCount - 1;
+        return vertexCount == 0 || (vertexXs[last] == vertexXs[0] && vertexYs[last] == vertexYs[0]);
+    }
+    
+    private void checkIndex(int i) {
+        if (i < 0 || i >= vertexCount) {
+            throw new IndexOutOfBoundsException("Index " + i + " Size " + vertexCount);
+        }
     }
     
     @Override
     public String toString() {
-        return "Shape [vertices=" + vertices2D + "]";
+        StringBuilder vertices = new StringBuilder("[");
+        for (int i = 0; i < vertexCount; i++) {
+            if (i > 0) {
+                vertices.append(", ");
+            }
+            vertices.append("Point [x=" + vertexXs[i] + ", y=" + vertexYs[i] + "]");
+        }
+        vertices.append("]");
+        return "Shape [vertices=" + vertices + "]";
     }
     
     /******************
@@ -419,18 +672,20 @@ public class Shape extends Path {
      * @return The Shape
      */
     public static Shape blend(Path a, Path b, float amt, int sampleCount) {
-        ArrayList<Point> pts = new ArrayList<Point>();
+        float[] xs = new float[sampleCount];
+        float[] ys = new float[sampleCount];
         float u = 0;
         float du = 1f / sampleCount;
         Point ptA = new Point(0, 0);
         Point ptB = new Point(0, 0);
         for (int i = 0; i < sampleCount; i++) {
-            a.trace(ptA, amt);
-            b.trace(ptB, amt);
-            pts.add(Point.lerp(ptA, ptB, amt));
+            a.trace(ptA, u);
+            b.trace(ptB, u);
+            xs[i] = PApplet.lerp(ptA.x, ptB.x, amt);
+            ys[i] = PApplet.lerp(ptA.y, ptB.y, amt);
             u += du;
         }
-        return new Shape(pts);
+        return new Shape(xs, ys);
     }
     
     /**
@@ -453,14 +708,17 @@ public class Shape extends Path {
      * @return The Shape
      */
     public static Shape toShape(Path path, int sampleCount) {
-        ArrayList<Point> pts = new ArrayList<Point>();
+        float[] us = new float[sampleCount];
+        float[] xs = new float[sampleCount];
+        float[] ys = new float[sampleCount];
         float u = 0;
         float du = 1f / sampleCount;
         for (int i = 0; i < sampleCount; i++) {
-            pts.add(path.trace(u));
+            us[i] = u;
             u += du;
         }
-        return new Shape(pts);
+        path.trace(us, xs, ys);
+        return new Shape(xs, ys);
     }
     
     /**
@@ -474,20 +732,23 @@ public class Shape extends Path {
      */
     public static Shape toShape(Path path, int sampleCount, float offset) {
         offset = Path.remainder(offset, 1);
-        ArrayList<Point> pts = new ArrayList<Point>();
+        float[] us = new float[sampleCount];
+        float[] xs = new float[sampleCount];
+        float[] ys = new float[sampleCount];
         float u = 0;
         float du = 1f / sampleCount;
         for (int i = 0; i < sampleCount; i++) {
-            float v = Path.remainder(u + offset, 1);
-            pts.add(path.trace(v));
+            us[i] = Path.remainder(u + offset, 1);
             u += du;
         }
-        return new Shape(pts);
+        path.trace(us, xs, ys);
+        return new Shape(xs, ys);
     }
     
     /**
      * Creates a segment of the path starting at trace(u1) and ending at
-     * trace(u2);
+     * trace(u2). The segment is a new Shape with copies of the vertices in between,
+     * which takes time in proportion to their number.
      * 
      * @param u1 The 1D coordinate of the segment's start, a value within [0, 1)
      * @param u2 The 1D coordinate of the segment's end, a value within [0, 1)
@@ -502,19 +763,49 @@ public class Shape extends Path {
             u1 = u2;
             u2 = temp;
         }
+        
+        int start = indexOfVertexAfter(u1);
+        float length2 = u2 * getTotalLength();
+        int end = start;
+        while (end < vertexCount && vertexLengths[end] < length2) {
+            end++;
+        }
 
-        Shape shape = new Shape();
-        shape.addVertex(this.trace(u1));
-        for (int i=0; i<this.vertices2D.size(); i++) {
-            float vtx1D = vertices1D.get(i);
-            Point vtx2D = vertices2D.get(i);
-            
-            if (u1 < vtx1D && vtx1D < u2) {
-                shape.addVertex(vtx2D.clone());
-            }
-        }       
-        shape.addVertex(this.trace(u2));
+        ShapeBuilder builder = new ShapeBuilder(end - start + 2);
+        Point pt = new Point(0, 0);
+        trace(pt, u1);
+        builder.vertex(pt.x, pt.y);
+        builder.vertices(vertexXs, vertexYs, start, end - start);
+        trace(pt, u2);
+        builder.vertex(pt.x, pt.y);
+        
+        return builder.build();
+    }
+    
+    /**
+     * Creates a segment of the path starting at trace(u1) and ending at
+     * trace(u2), without copying any vertices. The segment draws and traces
+     * the Shape's own vertices, so it follows any changes to the Shape,
+     * and it can be moved along the Shape with setRange().
+     * 
+     * @param u1 The 1D coordinate of the segment's start, a value within [0, 1)
+     * @param u2 The 1D coordinate of the segment's end, a value within [0, 1)
+     * @return The segment
+     */
+    public ShapeSegment createSegmentView(float u1, float u2) {
+        return new ShapeSegment(this, u1, u2);
+    }
+    
+    /**
+     * The triangulation of a Shape, paired with the version of the Shape it was computed from.
+     */
+    private static class CachedTriangles {
+        final long version;
+        final int[] triangles;
         
-        return shape;
+        CachedTriangles(long version, int[] triangles) {
+            this.version = version;
+            this.triangles = triangles;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,182 @@
+package tracer.paths;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+import processing.core.PApplet;
+
+/**
+ *
+ * Builds a Shape from raw coordinates, such as a polyline loaded from a data file, without making a Point
+ * for each vertex. The length of the Shape is measured as the vertices come in, and build() hands the
+ * arrays over to the Shape without copying them.
+ *
+ * <br>
+ * <br>
+ *
+ * <pre>
+ * Shape shape = new ShapeBuilder(xs.length).vertices(xs, ys).build();
+ * </pre>
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class ShapeBuilder {
+    private float[] xs, ys, lengths;
+    private int vertexCount;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**************************
+     ***** Initialization *****
+     **************************/
+
+    public ShapeBuilder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     *
+     * @param capacity The number of vertices to make room for up front
+     */
+    public ShapeBuilder(int capacity) {
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        capacity = PApplet.max(capacity, 1);
+        xs = new float[capacity];
+        ys = new float[capacity];
+        lengths = new float[capacity];
+        vertexCount = 0;
+    }
+
+    /******************
+     ***** Events *****
+     ******************/
+
+    /**
+     * Adds a vertex to the end of the Shape.
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return This ShapeBuilder
+     */
+    public ShapeBuilder vertex(float x, float y) {
+        ensureCapacity(vertexCount + 1);
+        append(x, y);
+        return this;
+    }
+
+    /**
+     * Adds the given vertices to the end of the Shape.
+     *
+     * @param xs The x-coordinates
+     * @param ys The y-coordinates
+     * @return This ShapeBuilder
+     */
+    public ShapeBuilder vertices(float[] xs, float[] ys) {
+        return vertices(xs, ys, 0, xs.length);
+    }
+
+    /**
+     * Adds n of the given vertices to the end of the Shape, starting from the given offset.
+     *
+     * @param xs The x-coordinates
+     * @param ys The y-coordinates
+     * @param offset The index of the first vertex to add
+     * @param n The number of vertices to add
+     * @return This ShapeBuilder
+     */
+    public ShapeBuilder vertices(float[] xs, float[] ys, int offset, int n) {
+        ensureCapacity(vertexCount + n);
+        for (int i=offset; i<offset+n; i++) {
+            append(xs[i], ys[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the remaining vertices in the given buffers to the end of the Shape. Both buffers are read
+     * up to the end of the shorter one, and their positions are advanced past what was read.
+     *
+     * @param xs The x-coordinates
+     * @param ys The y-coordinates
+     * @return This ShapeBuilder
+     */
+    public ShapeBuilder vertices(FloatBuffer xs, FloatBuffer ys) {
+        int n = PApplet.min(xs.remaining(), ys.remaining());
+        ensureCapacity(vertexCount + n);
+        for (int i=0; i<n; i++) {
+            append(xs.get(), ys.get());
+        }
+        return this;
+    }
+
+    /**
+     * Adds the remaining vertices in the given buffer to the end of the Shape, where the buffer holds
+     * the coordinates interleaved as x0, y0, x1, y1, and so on. The position of the buffer is advanced
+     * past what was read.
+     *
+     * @param xys The interleaved coordinates
+     * @return This ShapeBuilder
+     */
+    public ShapeBuilder vertices(FloatBuffer xys) {
+        int n = xys.remaining() / 2;
+        ensureCapacity(vertexCount + n);
+        for (int i=0; i<n; i++) {
+            append(xys.get(), xys.get());
+        }
+        return this;
+    }
+
+    private void append(float x, float y) {
+        int i = vertexCount;
+        xs[i] = x;
+        ys[i] = y;
+        lengths[i] = (i == 0) ? 0 : lengths[i-1] + PApplet.dist(xs[i-1], ys[i-1], x, y);
+        vertexCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > xs.length) {
+            int n = PApplet.max(capacity, xs.length + (xs.length >> 1));
+            xs = Arrays.copyOf(xs, n);
+            ys = Arrays.copyOf(ys, n);
+            lengths = Arrays.copyOf(lengths, n);
+        }
+    }
+
+    /**
+     * Makes a Shape from the vertices added so far. The Shape takes over the builder's arrays,
+     * so the builder starts over empty afterward.
+     *
+     * @return The Shape
+     */
+    public Shape build() {
+        Shape shape = new Shape(xs, ys, lengths, vertexCount);
+        allocate(DEFAULT_CAPACITY);
+        return shape;
+    }
+
+    /*******************
+     ***** Getters *****
+     *******************/
+
+    /**
+     * Gives the number of vertices added since the last call to build().
+     *
+     * @return The number of vertices
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Gives the length of the polyline made by the vertices added since the last call to build().
+     *
+     * @return The length
+     */
+    public float getLength() {
+        return (vertexCount == 0) ? 0 : lengths[vertexCount-1];
+    }
+}
@@ -0,0 +1,199 @@
+package tracer.paths;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+import processing.core.PShape;
+import tracer.Point;
+
+/**
+ *
+ * A view of the part of a Shape from one 1D coordinate to another (see Shape.createSegmentView()).
+ * Unlike Shape.createSegment(), no vertices are copied: the ShapeSegment draws and traces its parent's
+ * vertices in place, so it can be moved along the parent every frame for little more than the cost
+ * of drawing it. If its parent changes, the ShapeSegment changes accordingly.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class ShapeSegment extends Path {
+    private Shape parent;
+    private float u1, u2;
+
+    /**************************
+     ***** Initialization *****
+     **************************/
+
+    /**
+     *
+     * @param parent The parent Shape
+     * @param u1 The 1D coordinate of the start
+     * @param u2 The 1D coordinate of the end
+     */
+    public ShapeSegment(Shape parent, float u1, float u2) {
+        this.parent = parent;
+        parent.addParent(this);
+        setRange(u1, u2);
+        setSamplesPerUnitLength(Path.defaultSamplesPerUnitLength);
+    }
+
+    /**
+     * Copy constructor. The copy is a view of the same parent Shape.
+     *
+     * @param segment The ShapeSegment to copy
+     */
+    public ShapeSegment(ShapeSegment segment) {
+        this(segment.parent, segment.u1, segment.u2);
+        setSampleCount(segment.sampleCount);
+    }
+
+    /********************
+     ***** Behavior *****
+     ********************/
+
+    @Override
+    public void draw(PGraphics g) {
+        style.apply(g);
+        if (isRetained()) {
+            drawRetained(g);
+            return;
+        }
+
+        Point pt = new Point(0, 0);
+        g.beginShape();
+        parent.trace(pt, u1);
+        g.vertex(pt.x, pt.y);
+        float length2 = u2 * parent.getTotalLength();
+        for (int i=parent.indexOfVertexAfter(u1); i<parent.vertexCount && parent.vertexLengths[i] < length2; i++) {
+            g.vertex(parent.vertexXs[i], parent.vertexYs[i]);
+        }
+        parent.trace(pt, u2);
+        g.vertex(pt.x, pt.y);
+        g.endShape();
+    }
+
+    @Override
+    protected void tessellate(PGraphics g, PShape group) {
+        Point pt = new Point(0, 0);
+        PShape child = g.createShape();
+        child.beginShape();
+        parent.trace(pt, u1);
+        child.vertex(pt.x, pt.y);
+        float length2 = u2 * parent.getTotalLength();
+        for (int i=parent.indexOfVertexAfter(u1); i<parent.vertexCount && parent.vertexLengths[i] < length2; i++) {
+            child.vertex(parent.vertexXs[i], parent.vertexYs[i]);
+        }
+        parent.trace(pt, u2);
+        child.vertex(pt.x, pt.y);
+        child.endShape();
+        group.addChild(child);
+    }
+
+    @Override
+    public void trace(Point target, float u) {
+        u = Path.remainder(u, 1.0f);
+        parent.trace(target, PApplet.lerp(u1, u2, u));
+    }
+
+    /******************
+     ***** Events *****
+     ******************/
+
+    @Override
+    public void translate(float dx, float dy) {
+        parent.translate(dx, dy);
+    }
+
+    /**
+     * Moves the ShapeSegment to another part of its parent. If u2 is less than u1, they are swapped.
+     *
+     * @param u1 The 1D coordinate of the start, a value within [0, 1)
+     * @param u2 The 1D coordinate of the end, a value within [0, 1)
+     */
+    public void setRange(float u1, float u2) {
+        u1 = Path.remainder(u1, 1.0f);
+        u2 = Path.remainder(u2, 1.0f);
+        this.u1 = PApplet.min(u1, u2);
+        this.u2 = PApplet.max(u1, u2);
+        invalidate();
+    }
+
+    /*******************
+     ***** Getters *****
+     *******************/
+
+    @Override
+    public ShapeSegment clone() {
+        return new ShapeSegment(this);
+    }
+
+    @Override
+    protected float computeLength() {
+        //a Shape is traced at a constant speed
+        return (u2 - u1) * parent.getLength();
+    }
+
+    @Override
+    public float mapArcLength(float u) {
+        return Path.remainder(u, 1.0f);
+    }
+
+    @Override
+    protected void computeBounds(float[] bounds) {
+        Point pt = new Point(0, 0);
+        parent.trace(pt, u1);
+        includePoint(bounds, pt.x, pt.y);
+        float length2 = u2 * parent.getTotalLength();
+        for (int i=parent.indexOfVertexAfter(u1); i<parent.vertexCount && parent.vertexLengths[i] < length2; i++) {
+            includePoint(bounds, parent.vertexXs[i], parent.vertexYs[i]);
+        }
+        parent.trace(pt, u2);
+        includePoint(bounds, pt.x, pt.y);
+    }
+
+    @Override
+    public long getVersion() {
+        return Math.max(super.getVersion(), parent.getVersion());
+    }
+
+    @Override
+    public int getGapCount() {
+        return (u1 == u2) ? 0 : 1;
+    }
+
+    @Override
+    public float getGap(int i) {
+        if (i != 0 || u1 == u2) {
+            throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
+        }
+        return 0;
+    }
+
+    /**
+     * Gives the 1D coordinate of the start of the ShapeSegment within its parent.
+     * @return The 1D coordinate
+     */
+    public float getU1() {
+        return u1;
+    }
+
+    /**
+     * Gives the 1D coordinate of the end of the ShapeSegment within its parent.
+     * @return The 1D coordinate
+     */
+    public float getU2() {
+        return u2;
+    }
+
+    /**
+     * Gives the Shape that the ShapeSegment is a view of.
+     * @return The parent Shape
+     */
+    public Shape getParent() {
+        return parent;
+    }
+
+    @Override
+    public String toString() {
+        return "ShapeSegment [u1=" + u1 + ", u2=" + u2 + ", parent=" + parent + "]";
+    }
+}
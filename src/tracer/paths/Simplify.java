@@ -0,0 +1,309 @@
+package tracer.paths;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import processing.core.PApplet;
+import tracer.paths.Gesture.SpaceTimePoint;
+
+/**
+ *
+ * Functions for simplifying polygonal paths, that is, for removing the vertices that make little visible
+ * difference to a Shape, Gesture or MultiShape. Each function returns a new Path, with the style and
+ * orientation of the original, and leaves the original as it is. The first and last vertex of each
+ * unbroken piece are always kept, so gaps and endpoints stay where they are, and a closed Shape stays closed.
+ *
+ * <br>
+ * <br>
+ *
+ * Two algorithms are offered. Ramer-Douglas-Peucker keeps every removed vertex within the tolerance
+ * of the simplified polyline. Visvalingam-Whyatt repeatedly removes the vertex that forms the smallest
+ * triangle with its neighbors, and tends to give smoother results at the same vertex count.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class Simplify {
+
+    //this file is intended to group a bunch of static functions, so this class need never be initialized
+    private Simplify() {}
+
+    /**
+     * Simplifies a Shape with the Ramer-Douglas-Peucker algorithm.
+     *
+     * @param shape The Shape
+     * @param tolerance The greatest distance allowed between a removed vertex and the simplified Shape
+     * @return The simplified Shape
+     */
+    public static Shape douglasPeucker(Shape shape, float tolerance) {
+        int n = shape.vertexCount;
+        return keep(shape, douglasPeucker(shape.vertexXs, shape.vertexYs, null, n, tolerance));
+    }
+
+    /**
+     * Simplifies a Gesture with the Ramer-Douglas-Peucker algorithm. Each vertex is measured against the
+     * point that the simplified Gesture reaches at the same time, rather than against the nearest point,
+     * so the Gesture keeps its timing as well as its form.
+     *
+     * @param gesture The Gesture
+     * @param tolerance The greatest distance allowed between a removed vertex and the simplified Gesture
+     * @return The simplified Gesture
+     */
+    public static Gesture douglasPeucker(Gesture gesture, float tolerance) {
+        int n = gesture.getVertexCount();
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        float[] ts = new float[n];
+        unpack(gesture, xs, ys, ts);
+        return keep(gesture, douglasPeucker(xs, ys, ts, n, tolerance));
+    }
+
+    /**
+     * Simplifies each Shape within a MultiShape with the Ramer-Douglas-Peucker algorithm.
+     *
+     * @param multiShape The MultiShape
+     * @param tolerance The greatest distance allowed between a removed vertex and the simplified MultiShape
+     * @return The simplified MultiShape
+     */
+    public static MultiShape douglasPeucker(MultiShape multiShape, float tolerance) {
+        List<Shape> shapes = new ArrayList<Shape>();
+        for (int i=0; i<multiShape.getShapeCount(); i++) {
+            shapes.add(douglasPeucker(multiShape.getShape(i), tolerance));
+        }
+        MultiShape simplified = new MultiShape(shapes);
+        simplified.copyStyleAndOrientation(multiShape);
+        return simplified;
+    }
+
+    /**
+     * Simplifies a Shape with the Visvalingam-Whyatt algorithm. Vertices are removed until each remaining
+     * vertex forms a triangle with its neighbors whose area is at least the square of the tolerance.
+     *
+     * @param shape The Shape
+     * @param tolerance The square root of the smallest triangle area to keep
+     * @return The simplified Shape
+     */
+    public static Shape visvalingamWhyatt(Shape shape, float tolerance) {
+        int n = shape.vertexCount;
+        return keep(shape, visvalingamWhyatt(shape.vertexXs, shape.vertexYs, n, tolerance));
+    }
+
+    /**
+     * Simplifies a Gesture with the Visvalingam-Whyatt algorithm. The remaining vertices keep their
+     * time coordinates, but the triangle areas are measured in space alone.
+     *
+     * @param gesture The Gesture
+     * @param tolerance The square root of the smallest triangle area to keep
+     * @return The simplified Gesture
+     */
+    public static Gesture visvalingamWhyatt(Gesture gesture, float tolerance) {
+        int n = gesture.getVertexCount();
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        unpack(gesture, xs, ys, null);
+        return keep(gesture, visvalingamWhyatt(xs, ys, n, tolerance));
+    }
+
+    /**
+     * Simplifies each Shape within a MultiShape with the Visvalingam-Whyatt algorithm.
+     *
+     * @param multiShape The MultiShape
+     * @param tolerance The square root of the smallest triangle area to keep
+     * @return The simplified MultiShape
+     */
+    public static MultiShape visvalingamWhyatt(MultiShape multiShape, float tolerance) {
+        List<Shape> shapes = new ArrayList<Shape>();
+        for (int i=0; i<multiShape.getShapeCount(); i++) {
+            shapes.add(visvalingamWhyatt(multiShape.getShape(i), tolerance));
+        }
+        MultiShape simplified = new MultiShape(shapes);
+        simplified.copyStyleAndOrientation(multiShape);
+        return simplified;
+    }
+
+    /**
+     * Marks the vertices to keep with the Ramer-Douglas-Peucker algorithm. The stretches of the polyline
+     * still to be checked are kept on a stack, so a long polyline can't overflow the call stack.
+     *
+     * @param xs The x-coordinates
+     * @param ys The y-coordinates
+     * @param ts The time coordinates, or null to measure distances in space alone
+     * @param n The number of vertices
+     * @param tolerance The greatest distance allowed
+     * @return Whether to keep each vertex
+     */
+    private static boolean[] douglasPeucker(float[] xs, float[] ys, float[] ts, int n, float tolerance) {
+        boolean[] keep = new boolean[n];
+        if (n == 0) {
+            return keep;
+        }
+        keep[0] = true;
+        keep[n-1] = true;
+
+        float toleranceSq = tolerance * tolerance;
+        int[] stack = new int[2 * n];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n-1;
+        while (top > 0) {
+            int b = stack[--top];
+            int a = stack[--top];
+
+            float maxDistSq = -1;
+            int farthest = -1;
+            for (int i=a+1; i<b; i++) {
+                float distSq = (ts == null) ? distSqToSegment(xs, ys, i, a, b) : distSqAtTime(xs, ys, ts, i, a, b);
+                if (distSq > maxDistSq) {
+                    maxDistSq = distSq;
+                    farthest = i;
+                }
+            }
+
+            if (farthest != -1 && maxDistSq > toleranceSq) {
+                keep[farthest] = true;
+                stack[top++] = a;
+                stack[top++] = farthest;
+                stack[top++] = farthest;
+                stack[top++] = b;
+            }
+        }
+        return keep;
+    }
+
+    /**
+     * Marks the vertices to keep with the Visvalingam-Whyatt algorithm, using a priority queue
+     * of triangle areas and linking the remaining vertices to their neighbors as vertices are removed.
+     *
+     * @param xs The x-coordinates
+     * @param ys The y-coordinates
+     * @param n The number of vertices
+     * @param tolerance The square root of the smallest triangle area to keep
+     * @return Whether to keep each vertex
+     */
+    private static boolean[] visvalingamWhyatt(float[] xs, float[] ys, int n, float tolerance) {
+        boolean[] keep = new boolean[n];
+        int[] prev = new int[n];
+        int[] next = new int[n];
+        float[] areas = new float[n];
+        PriorityQueue<Triangle> queue = new PriorityQueue<Triangle>(PApplet.max(1, n));
+        for (int i=0; i<n; i++) {
+            keep[i] = true;
+            prev[i] = i-1;
+            next[i] = i+1;
+            if (i > 0 && i < n-1) {
+                areas[i] = area(xs, ys, i-1, i, i+1);
+                queue.add(new Triangle(i, areas[i]));
+            }
+        }
+
+        float minArea = tolerance * tolerance;
+        float lastArea = 0;
+        while (!queue.isEmpty()) {
+            Triangle triangle = queue.poll();
+            int i = triangle.index;
+            if (!keep[i] || triangle.area != areas[i]) {
+                continue; //the vertex is gone, or its triangle has changed since this entry was queued
+            }
+            if (triangle.area >= minArea) {
+                break;
+            }
+
+            //a triangle is never counted as smaller than one already removed, so that removing a vertex
+            //can't make its neighbors any easier to remove
+            lastArea = PApplet.max(lastArea, triangle.area);
+            keep[i] = false;
+            int a = prev[i];
+            int b = next[i];
+            next[a] = b;
+            prev[b] = a;
+            if (a > 0) {
+                areas[a] = PApplet.max(lastArea, area(xs, ys, prev[a], a, b));
+                queue.add(new Triangle(a, areas[a]));
+            }
+            if (b < n-1) {
+                areas[b] = PApplet.max(lastArea, area(xs, ys, a, b, next[b]));
+                queue.add(new Triangle(b, areas[b]));
+            }
+        }
+        return keep;
+    }
+
+    private static class Triangle implements Comparable<Triangle> {
+        private final int index;
+        private final float area;
+
+        private Triangle(int index, float area) {
+            this.index = index;
+            this.area = area;
+        }
+
+        @Override
+        public int compareTo(Triangle t) {
+            return Float.compare(area, t.area);
+        }
+    }
+
+    /*******************
+     ***** Helpers *****
+     *******************/
+
+    private static float area(float[] xs, float[] ys, int a, int b, int c) {
+        return 0.5f * PApplet.abs((xs[b] - xs[a]) * (ys[c] - ys[a]) - (xs[c] - xs[a]) * (ys[b] - ys[a]));
+    }
+
+    private static float distSqToSegment(float[] xs, float[] ys, int i, int a, int b) {
+        float dx = xs[b] - xs[a];
+        float dy = ys[b] - ys[a];
+        float lengthSq = dx * dx + dy * dy;
+        float t = (lengthSq > 0) ? ((xs[i] - xs[a]) * dx + (ys[i] - ys[a]) * dy) / lengthSq : 0;
+        t = PApplet.constrain(t, 0, 1);
+        float ex = xs[a] + t * dx - xs[i];
+        float ey = ys[a] + t * dy - ys[i];
+        return ex * ex + ey * ey;
+    }
+
+    private static float distSqAtTime(float[] xs, float[] ys, float[] ts, int i, int a, int b) {
+        float dt = ts[b] - ts[a];
+        float t = (dt > 0) ? (ts[i] - ts[a]) / dt : 0;
+        float ex = PApplet.lerp(xs[a], xs[b], t) - xs[i];
+        float ey = PApplet.lerp(ys[a], ys[b], t) - ys[i];
+        return ex * ex + ey * ey;
+    }
+
+    private static void unpack(Gesture gesture, float[] xs, float[] ys, float[] ts) {
+        for (int i=0; i<xs.length; i++) {
+            SpaceTimePoint vertex = gesture.getVertex(i);
+            xs[i] = vertex.pt.x;
+            ys[i] = vertex.pt.y;
+            if (ts != null) {
+                ts[i] = vertex.t;
+            }
+        }
+    }
+
+    private static Shape keep(Shape shape, boolean[] keep) {
+        ShapeBuilder builder = new ShapeBuilder();
+        for (int i=0; i<keep.length; i++) {
+            if (keep[i]) {
+                builder.vertex(shape.vertexXs[i], shape.vertexYs[i]);
+            }
+        }
+        Shape simplified = builder.build();
+        simplified.copyStyleAndOrientation(shape);
+        return simplified;
+    }
+
+    private static Gesture keep(Gesture gesture, boolean[] keep) {
+        List<SpaceTimePoint> vertices = new ArrayList<SpaceTimePoint>();
+        for (int i=0; i<keep.length; i++) {
+            if (keep[i]) {
+                vertices.add(gesture.getVertex(i).clone());
+            }
+        }
+        Gesture simplified = new Gesture(vertices);
+        simplified.setSampleCount(gesture.getSampleCount());
+        simplified.copyStyleAndOrientation(gesture);
+        return simplified;
+    }
+}
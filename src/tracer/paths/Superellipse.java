@@ -125,6 +125,7 @@ public class Superellipse extends Path {
     @Override
     public void translate(float dx, float dy) {
         cen.translate(dx, dy);
+        invalidate();
     }
     
     /**
@@ -133,6 +134,7 @@ public class Superellipse extends Path {
      */
     public void setCenter(Point cen) {
         this.cen = cen;
+        invalidate();
     }
 
     /**
@@ -141,6 +143,7 @@ public class Superellipse extends Path {
      */
     public void setCenx(float cenx) {
         this.cen.x = cenx;
+        invalidate();
     }
     
     /**
@@ -149,11 +152,13 @@ public class Superellipse extends Path {
      */
     public void setCeny(float ceny) {
         this.cen.y = ceny;
+        invalidate();
     }
     
     @Override
     public void setCenter(float x, float y) {
         this.cen.set(x, y);
+        invalidate();
     }
     
     /**
@@ -162,6 +167,7 @@ public class Superellipse extends Path {
      */
     public void setXRadius(float xRadius) {
         this.xRadius = xRadius;
+        invalidate();
     }
     
     /**
@@ -170,6 +176,7 @@ public class Superellipse extends Path {
      */
     public void setYRadius(float yRadius) {
         this.yRadius = yRadius;
+        invalidate();
     }
 
     /**
@@ -179,6 +186,7 @@ public class Superellipse extends Path {
     public void setN(float n) {
         this.n = n;
         this.twoOverN = 2f / n;
+        invalidate();
     }
 
     /*******************
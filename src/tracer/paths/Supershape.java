@@ -164,6 +164,7 @@ public class Supershape extends Path {
     @Override
     public void translate(float dx, float dy) {
         cen.translate(dx, dy);
+        invalidate();
     }
     
     /**
@@ -172,11 +173,13 @@ public class Supershape extends Path {
      */
     public void setCenter(Point cen) {
         this.cen = cen;
+        invalidate();
     }
     
     @Override
     public void setCenter(float x, float y) {
         this.cen.set(x, y);
+        invalidate();
     }
     
     /**
@@ -185,6 +188,7 @@ public class Supershape extends Path {
      */
     public void setCenx(float cenx) {
         this.cen.x = cenx;
+        invalidate();
     }
     
     /**
@@ -193,6 +197,7 @@ public class Supershape extends Path {
      */
     public void setCeny(float ceny) {
         this.cen.y = ceny;
+        invalidate();
     }
     
     /**
@@ -202,6 +207,7 @@ public class Supershape extends Path {
     public void setM(float m) {
         this.m = m;
         this.mOver4 = m / 4f;
+        invalidate();
     }
     
     /**
@@ -210,6 +216,7 @@ public class Supershape extends Path {
      */
     public void setN2(float n2) {
         this.n2 = n2;
+        invalidate();
     }
     
     /**
@@ -218,6 +225,7 @@ public class Supershape extends Path {
      */
     public void setN3(float n3) {
         this.n3 = n3;
+        invalidate();
     }
     
     /*******************
@@ -273,6 +281,7 @@ public class Supershape extends Path {
     public void setN1(float n1) {
         this.n1 = n1;
         this.n1Inverted = 1f / n1;
+        invalidate();
     }
 
     /**
@@ -0,0 +1,387 @@
+package tracer.paths;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+import tracer.Point;
+import tracer.TStyle;
+
+/**
+ *
+ * A TransformedPath is a Path that wraps another Path, transforming it by a 2D affine matrix,
+ * so it can be translated, rotated, scaled and sheared without changing the Path it wraps.
+ * Any number of TransformedPaths can share one Path, each drawing and tracing it in its own place.
+ *
+ * <br>
+ * <br>
+ *
+ * The matrix maps (x, y) to (m00 * x + m01 * y + m02, m10 * x + m11 * y + m12). TransformedPaths
+ * and TranslatedPaths wrapped directly in a TransformedPath are folded into its matrix when it is traced in a batch.
+ * 
+ * <br>
+ * <br>
+ * 
+ * A TransformedPath is drawn from its own transformed samples, in its own style, which starts out as a copy of
+ * the style of the Path it wraps. It doesn't touch the matrix of the PGraphics it is drawn to, so drawing a
+ * TransformedPath costs no more than drawing any other Path with as many samples, its stroke weight isn't
+ * scaled along with it, and what it draws always lies on what it traces.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ * @param <T> The type of Path wrapped by the TransformedPath
+ */
+public class TransformedPath<T extends Path> extends Path {
+    private float m00, m01, m02;
+    private float m10, m11, m12;
+    protected T path;
+
+    /**************************
+     ***** Initialization *****
+     **************************/
+
+    /**
+     *
+     * Constructs a Path that is the given Path, untransformed.
+     *
+     * @param path The Path
+     */
+    public TransformedPath(T path) {
+        this(1, 0, 0, 0, 1, 0, path);
+    }
+
+    /**
+     *
+     * Constructs a Path that is the given Path transformed by the given matrix.
+     *
+     * @param m00 The first row of the matrix
+     * @param m01 The first row of the matrix
+     * @param m02 The first row of the matrix
+     * @param m10 The second row of the matrix
+     * @param m11 The second row of the matrix
+     * @param m12 The second row of the matrix
+     * @param path The Path
+     */
+    public TransformedPath(float m00, float m01, float m02, float m10, float m11, float m12, T path) {
+        super(path.sampleCount);
+        this.style = new TStyle(path.style);
+        this.path = path;
+        path.addParent(this);
+        setMatrix(m00, m01, m02, m10, m11, m12);
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param tpath The TransformedPath to copy
+     */
+    @SuppressWarnings("unchecked") //clone() gives a Path of the same class
+    public TransformedPath(TransformedPath<T> tpath) {
+        this(tpath.m00, tpath.m01, tpath.m02, tpath.m10, tpath.m11, tpath.m12, (T) tpath.path.clone());
+        setSampleCount(tpath.sampleCount);
+        copyStyleAndOrientation(tpath);
+    }
+
+    /********************
+     ***** Behavior *****
+     ********************/
+
+    @Override
+    public void trace(Point target, float u) {
+        if (reversed) {
+            u = 1.0f - Path.remainder(u, 1.0f);
+            if (u == 1.0f) {
+                u = ALMOST_ONE;
+            }
+        }
+        path.trace(target, u);
+        float x = target.x;
+        float y = target.y;
+        target.x = m00 * x + m01 * y + m02;
+        target.y = m10 * x + m11 * y + m12;
+    }
+
+    /**
+     * Multiplies together the matrices of any TransformedPaths and TranslatedPaths wrapped directly
+     * in this one, then traces the Path within them all at once and transforms the results a single time.
+     * Reversing two of the TransformedPaths cancels out, so the batch is traced backward only if an
+     * odd number of them are reversed.
+     */
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        float a00 = m00, a01 = m01, a02 = m02;
+        float a10 = m10, a11 = m11, a12 = m12;
+        boolean backward = reversed;
+        Path inner = path;
+        while (true) {
+            if (inner instanceof TransformedPath) {
+                TransformedPath<?> t = (TransformedPath<?>) inner;
+                float b00 = a00 * t.m00 + a01 * t.m10;
+                float b01 = a00 * t.m01 + a01 * t.m11;
+                float b10 = a10 * t.m00 + a11 * t.m10;
+                float b11 = a10 * t.m01 + a11 * t.m11;
+                a02 += a00 * t.m02 + a01 * t.m12;
+                a12 += a10 * t.m02 + a11 * t.m12;
+                a00 = b00;
+                a01 = b01;
+                a10 = b10;
+                a11 = b11;
+                backward ^= t.reversed;
+                inner = t.path;
+            }
+            else if (inner instanceof TranslatedPath) {
+                TranslatedPath<?> t = (TranslatedPath<?>) inner;
+                Point translation = t.getPoint();
+                a02 += a00 * translation.x + a01 * translation.y;
+                a12 += a10 * translation.x + a11 * translation.y;
+                inner = t.path;
+            }
+            else {
+                break;
+            }
+        }
+
+        if (backward) {
+            float[] reversedUs = new float[n];
+            for (int i=0; i<n; i++) {
+                float u = 1.0f - Path.remainder(us[i], 1.0f);
+                reversedUs[i] = (u == 1.0f) ? ALMOST_ONE : u;
+            }
+            us = reversedUs;
+        }
+        inner.trace(us, xs, ys, n);
+        for (int i=0; i<n; i++) {
+            float x = xs[i];
+            float y = ys[i];
+            xs[i] = a00 * x + a01 * y + a02;
+            ys[i] = a10 * x + a11 * y + a12;
+        }
+    }
+
+    /**
+     * Draws the TransformedPath from samples traced in a batch for each unbroken piece of it, so the matrix
+     * is applied to the samples rather than to g.
+     *
+     * @param g A PGraphics object on which to draw the path
+     */
+    @Override
+    public void draw(PGraphics g) {
+        if (isRetained() || isLevelOfDetail() || tolerance > 0) {
+            super.draw(g);
+            return;
+        }
+
+        style.apply(g);
+        float[] pieces = getPieces();
+        for (int i=0; i<pieces.length; i+=2) {
+            float u1 = pieces[i];
+            float u2 = pieces[i+1];
+            int n = 1 + PApplet.max(1, (int) (sampleCount * (u2 - u1)));
+            float[] us = new float[n];
+            float[] xs = new float[n];
+            float[] ys = new float[n];
+            float du = (u2 - u1) / (n - 1);
+            for (int j=0; j<n; j++) {
+                us[j] = u1 + j * du;
+            }
+            trace(us, xs, ys, n);
+            g.beginShape();
+            for (int j=0; j<n; j++) {
+                g.vertex(xs[j], ys[j]);
+            }
+            g.endShape();
+        }
+    }
+
+    /******************
+     ***** Events *****
+     ******************/
+
+    @Override
+    public void translate(float dx, float dy) {
+        m02 += dx;
+        m12 += dy;
+        invalidate();
+    }
+
+    /**
+     * Rotates the Path within the TransformedPath, about the point that its origin is mapped to,
+     * as PGraphics.rotate() rotates the coordinate system.
+     *
+     * @param angle The angle of rotation, in radians
+     */
+    public void rotate(float angle) {
+        float cos = PApplet.cos(angle);
+        float sin = PApplet.sin(angle);
+        float a00 = m00 * cos + m01 * sin;
+        float a01 = m01 * cos - m00 * sin;
+        float a10 = m10 * cos + m11 * sin;
+        float a11 = m11 * cos - m10 * sin;
+        m00 = a00;
+        m01 = a01;
+        m10 = a10;
+        m11 = a11;
+        invalidate();
+    }
+
+    /**
+     * Scales the Path within the TransformedPath, about the point that its origin is mapped to,
+     * as PGraphics.scale() scales the coordinate system.
+     *
+     * @param s The scale factor
+     */
+    public void scale(float s) {
+        scale(s, s);
+    }
+
+    /**
+     * Scales the Path within the TransformedPath, about the point that its origin is mapped to,
+     * as PGraphics.scale() scales the coordinate system.
+     *
+     * @param sx The scale factor in the x direction
+     * @param sy The scale factor in the y direction
+     */
+    public void scale(float sx, float sy) {
+        m00 *= sx;
+        m10 *= sx;
+        m01 *= sy;
+        m11 *= sy;
+        invalidate();
+    }
+
+    /**
+     * Sets the matrix.
+     *
+     * @param m00 The first row of the matrix
+     * @param m01 The first row of the matrix
+     * @param m02 The first row of the matrix
+     * @param m10 The second row of the matrix
+     * @param m11 The second row of the matrix
+     * @param m12 The second row of the matrix
+     */
+    public void setMatrix(float m00, float m01, float m02, float m10, float m11, float m12) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        invalidate();
+    }
+
+    /**
+     * Sets the matrix to the identity, so the Path within the TransformedPath is traced as it is.
+     */
+    public void resetMatrix() {
+        setMatrix(1, 0, 0, 0, 1, 0);
+    }
+
+    /**
+     * Sets the Path wrapped by this TransformedPath.
+     * @param path The Path wrapped by this TransformedPath
+     */
+    public void setPath(T path) {
+        this.path.removeParent(this);
+        this.path = path;
+        path.addParent(this);
+        invalidate();
+    }
+
+    /*******************
+     ***** Getters *****
+     *******************/
+
+    /**
+     * Transforms the bounding box of the Path within the TransformedPath, without sampling it.
+     */
+    @Override
+    protected void computeBounds(float[] bounds) {
+        includeBounds(bounds, path, m00, m01, m02, m10, m11, m12);
+    }
+
+    @Override
+    public TransformedPath<T> clone() {
+        return new TransformedPath<T>(this);
+    }
+
+    /**
+     * Multiplies a TransformedPath or TranslatedPath wrapped in this one into a single TransformedPath,
+     * with the matrices taken as they are now.
+     */
+    @Override
+    public Path optimize() {
+        Path inner = path.optimize();
+        TransformedPath<Path> transformed;
+        if (inner instanceof TransformedPath) {
+            TransformedPath<?> t = (TransformedPath<?>) inner;
+            transformed = new TransformedPath<Path>(
+                    m00 * t.m00 + m01 * t.m10, m00 * t.m01 + m01 * t.m11, m00 * t.m02 + m01 * t.m12 + m02,
+                    m10 * t.m00 + m11 * t.m10, m10 * t.m01 + m11 * t.m11, m10 * t.m02 + m11 * t.m12 + m12,
+                    t.path);
+        }
+        else if (inner instanceof TranslatedPath) {
+            TranslatedPath<?> t = (TranslatedPath<?>) inner;
+            Point translation = t.getPoint();
+            transformed = new TransformedPath<Path>(
+                    m00, m01, m00 * translation.x + m01 * translation.y + m02,
+                    m10, m11, m10 * translation.x + m11 * translation.y + m12,
+                    t.path);
+        }
+        else if (inner != path) {
+            transformed = new TransformedPath<Path>(m00, m01, m02, m10, m11, m12, inner);
+        }
+        else {
+            return this;
+        }
+        transformed.copyStyleAndOrientation(this);
+        if (inner instanceof TransformedPath && inner.reversed) {
+            transformed.reverse(); //carry over the reversal of the TransformedPath folded into this one
+        }
+        transformed.setSampleCount(sampleCount);
+        return transformed;
+    }
+
+    @Override
+    public int getGapCount() {
+        return path.getGapCount();
+    }
+
+    @Override
+    public float getGap(int i) {
+        float[] gaps = getGaps();
+        if (i < 0 || i >= gaps.length) {
+            throw new IndexOutOfBoundsException(this.getClass().toString() + ".getGap(" + i + ")");
+        }
+        return gaps[i];
+    }
+
+    @Override
+    protected float[] computeGaps() {
+        return reversed ? mirrorGaps(path.getGaps()) : path.getGaps().clone();
+    }
+
+    /**
+     * Gives the Path wrapped by this TransformedPath.
+     * @return The Path wrapped by this TransformedPath
+     */
+    public T getPath() {
+        return path;
+    }
+
+    /**
+     * Gives the matrix, as {m00, m01, m02, m10, m11, m12}.
+     * @return The matrix
+     */
+    public float[] getMatrix() {
+        return new float[] {m00, m01, m02, m10, m11, m12};
+    }
+
+    @Override
+    public long getVersion() {
+        return Math.max(super.getVersion(), path.getVersion());
+    }
+
+    @Override
+    public String toString() {
+        return "TransformedPath [m00=" + m00 + ", m01=" + m01 + ", m02=" + m02
+                + ", m10=" + m10 + ", m11=" + m11 + ", m12=" + m12 + ", path=" + path + "]";
+    }
+}
@@ -32,6 +32,7 @@ public class TranslatedPath<T extends Path> extends Path {
     public TranslatedPath(Point translation, T path) {
         this.translation = translation;
         this.path = path;
+        path.addParent(this);
     }
     
     /**
@@ -64,6 +65,29 @@ public class TranslatedPath<T extends Path> extends Path {
         target.translate(translation);
     }
     
+    /**
+     * Adds up the translations of any TranslatedPaths wrapped directly in this one, then traces
+     * the Path within them all at once and translates the results a single time.
+     */
+    @Override
+    public void trace(float[] us, float[] xs, float[] ys, int n) {
+        float dx = translation.x;
+        float dy = translation.y;
+        Path inner = path;
+        while (inner instanceof TranslatedPath) {
+            TranslatedPath<?> t = (TranslatedPath<?>) inner;
+            dx += t.translation.x;
+            dy += t.translation.y;
+            inner = t.path;
+        }
+        
+        inner.trace(us, xs, ys, n);
+        for (int i=0; i<n; i++) {
+            xs[i] += dx;
+            ys[i] += dy;
+        }
+    }
+    
     @Override
     public void draw(PGraphics g) {
         g.pushMatrix();
@@ -79,17 +103,53 @@ public class TranslatedPath<T extends Path> extends Path {
     @Override
     public void translate(float dx, float dy) {
         translation.translate(dx, dy);
+        invalidate();
     }
     
     /*******************
      ***** Getters *****
      *******************/
     
+    @Override
+    protected void computeBounds(float[] bounds) {
+        includeBounds(bounds, path, translation.x, translation.y);
+    }
+
     @Override
     public TranslatedPath<T> clone() {
         return new TranslatedPath(this);
     }
     
+    /**
+     * Folds a TranslatedPath or TransformedPath wrapped in this one into a single Path of the same kind
+     * as the one wrapped, with the translation added as it is now.
+     */
+    @Override
+    public Path optimize() {
+        Path inner = path.optimize();
+        if (inner instanceof TranslatedPath) {
+            TranslatedPath<?> t = (TranslatedPath<?>) inner;
+            TranslatedPath<Path> translated = new TranslatedPath<Path>(
+                    translation.x + t.translation.x, translation.y + t.translation.y, t.path);
+            translated.copyStyleAndOrientation(this);
+            return translated;
+        }
+        if (inner instanceof TransformedPath) {
+            TransformedPath<?> t = (TransformedPath<?>) inner;
+            float[] m = t.getMatrix();
+            TransformedPath<Path> transformed = new TransformedPath<Path>(
+                    m[0], m[1], m[2] + translation.x, m[3], m[4], m[5] + translation.y, t.getPath());
+            transformed.copyStyleAndOrientation(this);
+            return transformed;
+        }
+        if (inner == path) {
+            return this;
+        }
+        TranslatedPath<Path> translated = new TranslatedPath<Path>(translation.x, translation.y, inner);
+        translated.copyStyleAndOrientation(this);
+        return translated;
+    }
+    
     @Override
     public int getGapCount() {
         return path.getGapCount();
@@ -118,7 +178,10 @@ public class TranslatedPath<T extends Path> extends Path {
      * @param path The Path wrapped by this TranslatedPath
      */
     public void setPath(T path) {
+        this.path.removeParent(this);
         this.path = path;
+        path.addParent(this);
+        invalidate();
     }
     
     /**
@@ -127,6 +190,7 @@ public class TranslatedPath<T extends Path> extends Path {
      */
     public void setTranslation(Point translation) {
         this.translation = translation;
+        invalidate();
     }
     
     /**
@@ -136,4 +200,9 @@ public class TranslatedPath<T extends Path> extends Path {
     public Point getPoint() {
         return translation;
     }
+    
+    @Override
+    public long getVersion() {
+        return Math.max(super.getVersion(), path.getVersion());
+    }
 }
@@ -0,0 +1,128 @@
+package tracer.paths;
+
+/**
+ *
+ * Functions for splitting polygons into triangles, so that a filled polygon can be drawn with
+ * beginShape(TRIANGLES) instead of being tessellated by the renderer every frame.
+ *
+ * @author James Morrow [jamesmorrowdesign.com]
+ *
+ */
+public class Triangulate {
+
+    //this file is intended to group a bunch of static functions, so this class need never be initialized
+    private Triangulate() {}
+
+    /**
+     * Triangulates the polygon made by the first n vertices by ear clipping. A polygon whose last vertex
+     * repeats its first is treated as though the last vertex weren't there. The polygon may wind either way.
+     *
+     * <br>
+     * <br>
+     *
+     * Ear clipping is exact for simple polygons. If the polygon crosses itself, there may come a point
+     * where no ear can be found, in which case a vertex is clipped anyway, so the result always covers
+     * the polygon with n-2 triangles but may differ from what the renderer would fill.
+     *
+     * @param xs The x-coordinates of the vertices
+     * @param ys The y-coordinates of the vertices
+     * @param n The number of vertices
+     * @return The indices of the vertices of each triangle, three to a triangle
+     */
+    public static int[] earClip(float[] xs, float[] ys, int n) {
+        if (n > 1 && xs[n-1] == xs[0] && ys[n-1] == ys[0]) {
+            n--;
+        }
+        if (n < 3) {
+            return new int[0];
+        }
+
+        //link the vertices into a ring, from which ears are cut one at a time
+        int[] prev = new int[n];
+        int[] next = new int[n];
+        float area = 0;
+        for (int i=0; i<n; i++) {
+            prev[i] = (i == 0) ? n-1 : i-1;
+            next[i] = (i == n-1) ? 0 : i+1;
+            area += xs[prev[i]] * ys[i] - xs[i] * ys[prev[i]];
+        }
+        float winding = (area < 0) ? -1 : 1;
+
+        boolean[] reflex = new boolean[n];
+        for (int i=0; i<n; i++) {
+            reflex[i] = isReflex(xs, ys, prev[i], i, next[i], winding);
+        }
+
+        int[] triangles = new int[3 * (n-2)];
+        int t = 0;
+        int remaining = n;
+        int i = 0;
+        int misses = 0;
+        while (remaining > 3) {
+            int a = prev[i];
+            int c = next[i];
+            boolean ear = !reflex[i] && isEmpty(xs, ys, a, i, c, next, reflex);
+            if (!ear && ++misses < remaining) {
+                i = c;
+                continue;
+            }
+
+            //clip the ear at i, or clip i anyway if a full lap turned up no ears
+            triangles[t++] = a;
+            triangles[t++] = i;
+            triangles[t++] = c;
+            next[a] = c;
+            prev[c] = a;
+            remaining--;
+            misses = 0;
+            reflex[a] = isReflex(xs, ys, prev[a], a, c, winding);
+            reflex[c] = isReflex(xs, ys, a, c, next[c], winding);
+            i = a;
+        }
+        triangles[t++] = prev[i];
+        triangles[t++] = i;
+        triangles[t++] = next[i];
+
+        return triangles;
+    }
+
+    /*******************
+     ***** Helpers *****
+     *******************/
+
+    private static float cross(float[] xs, float[] ys, int a, int b, int c) {
+        return (xs[b] - xs[a]) * (ys[c] - ys[b]) - (ys[b] - ys[a]) * (xs[c] - xs[b]);
+    }
+
+    private static boolean isReflex(float[] xs, float[] ys, int a, int b, int c, float winding) {
+        return winding * cross(xs, ys, a, b, c) <= 0;
+    }
+
+    /**
+     * Tells whether no reflex vertex of the ring lies within the triangle abc. Only reflex vertices
+     * need to be checked, since a convex vertex can't be inside an ear without a reflex vertex being inside too.
+     */
+    private static boolean isEmpty(float[] xs, float[] ys, int a, int b, int c, int[] next, boolean[] reflex) {
+        for (int p=next[c]; p!=a; p=next[p]) {
+            if (reflex[p] && !coincides(xs, ys, p, a, b, c) && isInTriangle(xs, ys, p, a, b, c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean coincides(float[] xs, float[] ys, int p, int a, int b, int c) {
+        return (xs[p] == xs[a] && ys[p] == ys[a])
+                || (xs[p] == xs[b] && ys[p] == ys[b])
+                || (xs[p] == xs[c] && ys[p] == ys[c]);
+    }
+
+    private static boolean isInTriangle(float[] xs, float[] ys, int p, int a, int b, int c) {
+        float d1 = cross(xs, ys, a, b, p);
+        float d2 = cross(xs, ys, b, c, p);
+        float d3 = cross(xs, ys, c, a, p);
+        boolean hasNegative = (d1 < 0) || (d2 < 0) || (d3 < 0);
+        boolean hasPositive = (d1 > 0) || (d2 > 0) || (d3 > 0);
+        return !(hasNegative && hasPositive);
+    }
+}